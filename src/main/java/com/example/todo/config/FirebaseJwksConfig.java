@@ -0,0 +1,28 @@
+package com.example.todo.config;
+
+import com.example.todo.security.RefreshingJwkSource;
+import com.example.todo.security.ResourceJwkSetSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Clock;
+import java.time.Duration;
+
+/**
+ * Firebase signing keys, kept in memory and refreshed in the background, so /auth/google never
+ * waits on Google's JWKS endpoint. {@code firebase.jwks-uri} may point to a file: or classpath:
+ * JWK set instead (tests, air-gapped environments).
+ */
+@Configuration
+public class FirebaseJwksConfig {
+
+    @Bean(initMethod = "start", destroyMethod = "close")
+    public RefreshingJwkSource firebaseJwkSource(
+            @Value("${firebase.jwks-uri}") String jwksUri,
+            @Value("${firebase.jwks-default-ttl:PT1H}") Duration defaultTtl,
+            @Value("${firebase.jwks-retry-delay:PT30S}") Duration retryDelay,
+            @Value("${firebase.jwks-timeout:PT5S}") Duration timeout) {
+        return new RefreshingJwkSource(new ResourceJwkSetSource(jwksUri, timeout), defaultTtl, retryDelay, Clock.systemUTC());
+    }
+}
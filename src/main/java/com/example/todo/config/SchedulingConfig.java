@@ -0,0 +1,10 @@
+package com.example.todo.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/** Background jobs (tombstone purge, see TaskSyncService); cron expressions live in application.yml. */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -66,7 +66,7 @@ public class SecurityConfig {
         ));
         config.addAllowedMethod("*");
         config.addAllowedHeader("*");
-        config.setExposedHeaders(List.of("ETag"));
+        config.setExposedHeaders(List.of("ETag", "X-Next-Cursor"));
         config.setAllowCredentials(true);
         UrlBasedCorsConfigurationSource src = new UrlBasedCorsConfigurationSource();
         src.registerCorsConfiguration("/**", config);
@@ -80,6 +80,8 @@ public class SecurityConfig {
             .authorizeHttpRequests(auth -> auth
                     .requestMatchers(HttpMethod.POST, "/auth/google", "/auth/logout").permitAll()
                     .requestMatchers("/auth/**", "/swagger-ui/**", "/v3/api-docs/**", "/actuator/health", "/actuator/health", "/actuator/health/**", "/actuator/health/readiness", "/actuator/health/liveness", "/readyz", "/livez").permitAll()
+                    // JVM, pool, cache and per-URI meters are for operators, not for every signed-in user
+                    .requestMatchers("/actuator/metrics", "/actuator/metrics/**").hasRole("ADMIN")
 
                     .anyRequest().authenticated()
             )
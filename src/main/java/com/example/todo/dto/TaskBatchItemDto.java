@@ -0,0 +1,16 @@
+// src/main/java/com/example/todo/dto/TaskBatchItemDto.java
+package com.example.todo.dto;
+
+import java.util.UUID;
+
+public class TaskBatchItemDto {
+    public int index;              // position in the request array
+    public UUID id;
+    public Integer version;
+    public String etag;
+
+    public TaskBatchItemDto() {}
+    public TaskBatchItemDto(int index, UUID id, Integer version, String etag) {
+        this.index = index; this.id = id; this.version = version; this.etag = etag;
+    }
+}
@@ -0,0 +1,19 @@
+// src/main/java/com/example/todo/dto/TaskBatchPatchDto.java
+package com.example.todo.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+
+import java.util.UUID;
+
+/** One item of PATCH /api/tasks:batch: the patch applies only while the task is still at ifMatchVersion. */
+public class TaskBatchPatchDto {
+    @NotNull public UUID id;
+    @NotNull public Integer ifMatchVersion;   // same role as the If-Match header of PATCH /api/tasks/{id}
+    @NotNull @Valid public TaskPatchDto patch;
+
+    public TaskBatchPatchDto() {}
+    public TaskBatchPatchDto(UUID id, Integer ifMatchVersion, TaskPatchDto patch) {
+        this.id = id; this.ifMatchVersion = ifMatchVersion; this.patch = patch;
+    }
+}
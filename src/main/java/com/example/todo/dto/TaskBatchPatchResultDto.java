@@ -0,0 +1,22 @@
+// src/main/java/com/example/todo/dto/TaskBatchPatchResultDto.java
+package com.example.todo.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.UUID;
+
+/** Outcome of one PATCH /api/tasks:batch item, with the status the single-task PATCH would have answered. */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TaskBatchPatchResultDto {
+    public int index;              // position in the request array
+    public UUID id;
+    public int status;             // 200 | 400 | 403 | 404 | 412
+    public Integer version;        // new version (200 only)
+    public String etag;
+    public String message;         // why the item was not applied
+
+    public TaskBatchPatchResultDto() {}
+    public TaskBatchPatchResultDto(int index, UUID id, int status, Integer version, String message) {
+        this.index = index; this.id = id; this.status = status; this.version = version; this.message = message;
+    }
+}
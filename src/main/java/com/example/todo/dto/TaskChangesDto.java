@@ -0,0 +1,22 @@
+package com.example.todo.dto;
+
+import java.util.List;
+import java.util.UUID;
+
+public class TaskChangesDto {
+    public List<TaskDto> changed;  // created, updated or newly shared since the watermark (full state)
+    public List<UUID> removed;     // deleted or no longer shared with the caller
+    public String watermark;       // opaque; pass as ?since= on the next poll
+    public boolean more;           // page cut: call again with the watermark right away for the rest
+
+    public TaskChangesDto() {}
+    public TaskChangesDto(List<TaskDto> changed, List<UUID> removed, String watermark) {
+        this(changed, removed, watermark, false);
+    }
+    public TaskChangesDto(List<TaskDto> changed, List<UUID> removed, String watermark, boolean more) {
+        this.changed = changed;
+        this.removed = removed;
+        this.watermark = watermark;
+        this.more = more;
+    }
+}
@@ -2,9 +2,9 @@
 package com.example.todo.dto;
 
 import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonRawValue;
 import java.time.OffsetDateTime;
 import java.util.List;
-import java.util.Map;
 import java.util.UUID;
 
 @JsonInclude(JsonInclude.Include.NON_NULL)
@@ -19,10 +19,12 @@ public class TaskDto {
     public String status;          // "TODO"  | "DONE"
     public List<String> tags;
     public String source;
-    public Map<String,Object> metadata;
+    @JsonRawValue
+    public String metadata;        // JSON object, written to the response as stored
     public UUID ownerId;
     public String ownerEmail;
     public Integer version;
     public OffsetDateTime createdAt;
     public OffsetDateTime updatedAt;
+    public Float score;            // search relevance, only when listing with q
 }
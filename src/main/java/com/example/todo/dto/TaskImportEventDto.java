@@ -0,0 +1,22 @@
+// src/main/java/com/example/todo/dto/TaskImportEventDto.java
+package com.example.todo.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/** One NDJSON line of the import response: a row error, progress after a committed batch, or the final summary. */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TaskImportEventDto {
+    public String type;            // "error" | "progress" | "done"
+    public Long line;              // source line of the failed row (error only)
+    public String message;
+    public long processed;         // rows read so far
+    public long imported;          // rows committed so far
+    public long failed;            // rows rejected so far
+
+    public TaskImportEventDto() {}
+
+    public TaskImportEventDto(String type, Long line, String message, long processed, long imported, long failed) {
+        this.type = type; this.line = line; this.message = message;
+        this.processed = processed; this.imported = imported; this.failed = failed;
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.todo.dto;
+
+import java.util.List;
+
+public class TaskPageDto {
+    public List<TaskDto> items;
+    public String next;            // opaque cursor of the next page, null on the last page
+
+    public TaskPageDto() {}
+    public TaskPageDto(List<TaskDto> items, String next) { this.items = items; this.next = next; }
+}
@@ -2,13 +2,15 @@
 package com.example.todo.dto;
 
 import com.fasterxml.jackson.annotation.JsonInclude;
+import jakarta.validation.constraints.Pattern;
 import java.time.OffsetDateTime;
 import java.util.List;
 import java.util.Map;
 
 @JsonInclude(JsonInclude.Include.NON_NULL)
 public class TaskPatchDto {
-    public String title;
+    @Pattern(regexp = "(?s).*\\S.*", message = "must not be blank")
+    public String title;              // absent keeps the title; present must not be blank (as on create)
     public String description;
     public String category;
     public String priority;           // "High" | "Medium" | "Low"
@@ -16,5 +18,6 @@ public class TaskPatchDto {
     public Boolean completed;
     public List<String> tags;
     public String source;
-    public Map<String,Object> metadata;
+    public Map<String,Object> metadata;       // replaces the whole document
+    public Map<String,Object> metadataPatch;  // JSON Merge Patch (RFC 7396): null removes a key
 }
@@ -0,0 +1,35 @@
+// src/main/java/com/example/todo/dto/TaskShareBatchDto.java
+package com.example.todo.dto;
+
+import com.example.todo.entity.enums.ShareRole;
+import com.example.todo.service.TaskService;
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Body of POST /api/tasks:share: every task is shared with every email at the same role. The service
+ * also caps tasks x emails at {@link TaskService#MAX_BATCH_SIZE}.
+ */
+public class TaskShareBatchDto {
+    @NotEmpty
+    @Size(max = TaskService.MAX_BATCH_SIZE)
+    public List<@NotNull UUID> taskIds;
+
+    @NotEmpty
+    @Size(max = TaskService.MAX_BATCH_SIZE)
+    public List<@Email @NotBlank String> userEmails;
+
+    @NotNull
+    public ShareRole role;
+
+    public TaskShareBatchDto() {}
+    public TaskShareBatchDto(List<UUID> taskIds, List<String> userEmails, ShareRole role) {
+        this.taskIds = taskIds; this.userEmails = userEmails; this.role = role;
+    }
+}
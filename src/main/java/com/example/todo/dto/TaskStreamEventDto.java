@@ -0,0 +1,6 @@
+package com.example.todo.dto;
+
+import java.util.UUID;
+
+// data of a GET /api/tasks/stream event; the event name is the change type
+public record TaskStreamEventDto(UUID taskId, String type, Integer version) {}
@@ -0,0 +1,27 @@
+// src/main/java/com/example/todo/dto/TaskUnshareBatchDto.java
+package com.example.todo.dto;
+
+import com.example.todo.service.TaskService;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+import java.util.UUID;
+
+/** Body of POST /api/tasks:unshare: the shares of every email on every task are revoked (tasks x emails capped like :share). */
+public class TaskUnshareBatchDto {
+    @NotEmpty
+    @Size(max = TaskService.MAX_BATCH_SIZE)
+    public List<@NotNull UUID> taskIds;
+
+    @NotEmpty
+    @Size(max = TaskService.MAX_BATCH_SIZE)
+    public List<@NotBlank String> userEmails;
+
+    public TaskUnshareBatchDto() {}
+    public TaskUnshareBatchDto(List<UUID> taskIds, List<String> userEmails) {
+        this.taskIds = taskIds; this.userEmails = userEmails;
+    }
+}
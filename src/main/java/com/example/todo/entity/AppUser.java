@@ -4,10 +4,12 @@ import jakarta.persistence.*;
 import java.time.OffsetDateTime;
 import java.util.Objects;
 import java.util.UUID;
+import org.hibernate.annotations.BatchSize;
 import org.hibernate.annotations.UuidGenerator;
 
 @Entity
 @Table(name = "app_user")
+@BatchSize(size = 100) // owner proxies of a listing page are loaded together
 public class AppUser {
 
     @Id
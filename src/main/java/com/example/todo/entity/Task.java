@@ -3,6 +3,8 @@ package com.example.todo.entity;
 import com.example.todo.entity.enums.TaskPriority;
 import com.example.todo.entity.enums.TaskStatus;
 
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.DynamicUpdate;
 import org.hibernate.annotations.JdbcTypeCode;
 import org.hibernate.type.SqlTypes;
 
@@ -15,6 +17,8 @@ import java.util.UUID;
 
 @Entity
 @Table(name = "task")
+// UPDATE lists only the changed columns (+ version), not all of them
+@DynamicUpdate
 public class Task {
 
     @Id
@@ -48,15 +52,20 @@ public class Task {
     private TaskStatus status;
 
     // вместо text[] → отдельная таблица task_tags
+    // a listing page initializes all tags in one "task_id = any(?)" query instead of one per task;
+    // a set (task_id, tag is the key) lets Hibernate write only added / removed rows instead of
+    // deleting and re-inserting the whole collection like it does for a bag
     @ElementCollection(fetch = FetchType.LAZY)
+    @BatchSize(size = 100)
     @CollectionTable(name = "task_tags", joinColumns = @JoinColumn(name = "task_id"))
     @Column(name = "tag")
-    private List<String> tags = new ArrayList<>();
+    @OrderBy
+    private Set<String> tags = new LinkedHashSet<>();
 
-    // вместо jsonb с кастомным типом → LOB TEXT
-    @Lob
-    @Column(name = "metadata", columnDefinition = "TEXT")
-    private String metadata; // JSON как строка (можно сериализовать вручную через Jackson)
+    // jsonb; kept as the raw JSON string, Hibernate passes it through unparsed
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(name = "metadata", columnDefinition = "jsonb")
+    private String metadata;
 
     private String source;
 
@@ -113,8 +122,8 @@ public class Task {
     public TaskStatus getStatus() { return status; }
     public void setStatus(TaskStatus status) { this.status = status; }
 
-    public List<String> getTags() { return tags; }
-    public void setTags(List<String> tags) { this.tags = tags; }
+    public Set<String> getTags() { return tags; }
+    public void setTags(Set<String> tags) { this.tags = tags; }
 
     public String getMetadata() { return metadata; }
     public void setMetadata(String metadata) { this.metadata = metadata; }
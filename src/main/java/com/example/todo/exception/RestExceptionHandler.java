@@ -1,8 +1,13 @@
 package com.example.todo.exception;
 
 import com.example.todo.security.FirebaseIdTokenVerifier;
+import com.example.todo.service.DbAdmissionLimiter.OverloadedException;
 import com.example.todo.service.TaskService.PreconditionFailedException;
+import com.example.todo.service.TaskSyncService.ResyncRequiredException;
 import jakarta.persistence.EntityNotFoundException;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ConstraintViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
@@ -38,6 +43,18 @@ public class RestExceptionHandler {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(body);
     }
 
+    // @Validated controllers: constraints on collection elements (e.g. List<@Valid TaskCreateDto>)
+    @ExceptionHandler(ConstraintViolationException.class)
+    public ResponseEntity<Object> handleConstraintViolation(ConstraintViolationException ex) {
+        Map<String, Object> body = basic(HttpStatus.BAD_REQUEST, "Validation failed", "Request validation error");
+        Map<String, String> errors = new HashMap<>();
+        for (ConstraintViolation<?> v : ex.getConstraintViolations()) {
+            errors.put(v.getPropertyPath().toString(), v.getMessage());
+        }
+        body.put("errors", errors);
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(body);
+    }
+
     @ExceptionHandler(EntityNotFoundException.class)
     public ResponseEntity<Object> handleNotFound(EntityNotFoundException ex) {
         return ResponseEntity.status(HttpStatus.NOT_FOUND)
@@ -74,6 +91,20 @@ public class RestExceptionHandler {
                 .body(basic(HttpStatus.PRECONDITION_FAILED, "Precondition Failed", ex.getMessage()));
     }
 
+    // the tombstones the watermark would need are gone: client drops its copy and syncs from scratch
+    @ExceptionHandler(ResyncRequiredException.class)
+    public ResponseEntity<Object> handleResyncRequired(ResyncRequiredException ex) {
+        return ResponseEntity.status(HttpStatus.GONE)
+                .body(basic(HttpStatus.GONE, "Gone", ex.getMessage()));
+    }
+
+    @ExceptionHandler(OverloadedException.class)
+    public ResponseEntity<Object> handleOverloaded(OverloadedException ex) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfter().toSeconds()))
+                .body(basic(HttpStatus.SERVICE_UNAVAILABLE, "Service Unavailable", ex.getMessage()));
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<Object> handleAll(Exception ex) {
         return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
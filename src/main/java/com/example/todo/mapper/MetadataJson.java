@@ -0,0 +1,60 @@
+package com.example.todo.mapper;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Pre-built, thread-safe reader/writer for task metadata. Building an ObjectMapper per task
+ * threw away Jackson's serializer/deserializer caches on every call.
+ * Static on purpose: TaskMapper is also used outside Spring (Mappers.getMapper).
+ */
+public final class MetadataJson {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    static final ObjectReader READER = MAPPER.readerFor(new TypeReference<Map<String, Object>>() {});
+    static final ObjectWriter WRITER = MAPPER.writerFor(new TypeReference<Map<String, Object>>() {});
+
+    private MetadataJson() {}
+
+    /**
+     * Stored metadata as it goes into {@code TaskDto.metadata} (written verbatim, see @JsonRawValue).
+     * Only the object envelope is checked here: every write goes through {@link TaskMapper#mapToJson},
+     * so a full parse per row would just repeat that work.
+     */
+    public static String raw(String json) {
+        if (json == null || json.isBlank()) return null;
+        String trimmed = json.strip();
+        if (trimmed.charAt(0) != '{' || trimmed.charAt(trimmed.length() - 1) != '}') {
+            throw new IllegalStateException("Stored metadata is not a JSON object");
+        }
+        return trimmed;
+    }
+
+    /** Serializes a metadata map (or a containment/merge-patch document built from one). */
+    public static String toJson(Map<String, ?> map) {
+        try {
+            return MAPPER.writeValueAsString(map);
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to serialize metadata map", e);
+        }
+    }
+
+    /** Keeps only the given top-level keys; the one place metadata is parsed on reads. */
+    public static String retainKeys(String json, Collection<String> keys) {
+        if (json == null) return null;
+        try {
+            ObjectNode node = (ObjectNode) MAPPER.readTree(json);
+            node.retain(keys);
+            return MAPPER.writeValueAsString(node);
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to filter metadata JSON", e);
+        }
+    }
+}
@@ -6,11 +6,13 @@ import com.example.todo.dto.TaskPatchDto;
 import com.example.todo.entity.Task;
 import com.example.todo.entity.enums.TaskPriority;
 import com.example.todo.entity.enums.TaskStatus;
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.example.todo.repository.TaskUpdate;
+import com.example.todo.util.TagUtil;
 import org.mapstruct.*;
 
 import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
 
 @Mapper(componentModel = "spring")
 public interface TaskMapper {
@@ -22,7 +24,8 @@ public interface TaskMapper {
     @Mapping(target = "ownerId", source = "owner.id")
     @Mapping(target = "ownerEmail", source = "owner.email")
     @Mapping(target = "status", expression = "java(entity.getStatus() == null ? null : entity.getStatus().name())")
-    @Mapping(target = "metadata", source = "metadata", qualifiedByName = "jsonToMap")
+    @Mapping(target = "metadata", source = "metadata", qualifiedByName = "rawJson")
+    @Mapping(target = "score", ignore = true)
     TaskDto toDto(Task entity);
 
     // ===== Create DTO → Entity =====
@@ -46,8 +49,8 @@ public interface TaskMapper {
             expression = "java(patch.priority == null ? entity.getPriority() : toDbPriority(patch.priority))")
     @Mapping(target = "status",
             expression = "java(patch.completed == null ? entity.getStatus() : toDbStatus(patch.completed))")
-    @Mapping(target = "metadata",
-            expression = "java(patch.metadata == null ? entity.getMetadata() : mapToJson(patch.metadata))")
+    @Mapping(target = "metadata", expression = "java(patchedMetadata(patch, entity))")
+    @Mapping(target = "tags", ignore = true)
 
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "owner", ignore = true)
@@ -56,6 +59,31 @@ public interface TaskMapper {
     @Mapping(target = "updatedAt", ignore = true)
     void updateFromPatch(TaskPatchDto patch, @MappingTarget Task entity);
 
+    // an equal document keeps the stored text: re-serializing it would still make the entity dirty
+    default String patchedMetadata(TaskPatchDto patch, Task entity) {
+        if (patch.metadata == null || patch.metadata.equals(jsonToMap(entity.getMetadata()))) return entity.getMetadata();
+        return mapToJson(patch.metadata);
+    }
+
+    // tags are diffed into the managed set: Hibernate then inserts / deletes only the changed rows,
+    // and an unchanged set stays clean (no UPDATE, no version bump)
+    @AfterMapping
+    default void patchTags(TaskPatchDto patch, @MappingTarget Task entity) {
+        if (patch.tags == null) return;
+        Set<String> wanted = TagUtil.distinct(patch.tags);
+        if (wanted.equals(entity.getTags())) return;
+        entity.getTags().retainAll(wanted);
+        entity.getTags().addAll(wanted);
+    }
+
+    // ===== Patch DTO → column update (written without loading the entity) =====
+    default TaskUpdate toUpdate(UUID id, int expectedVersion, TaskPatchDto patch, Set<String> tags) {
+        return new TaskUpdate(id, expectedVersion, patch.title, patch.description, patch.category,
+                patch.priority == null ? null : toDbPriority(patch.priority), patch.dueDate,
+                patch.completed == null ? null : toDbStatus(patch.completed), patch.source,
+                mapToJson(patch.metadata), mapToJson(patch.metadataPatch), tags);
+    }
+
 
     default String toUiPriority(TaskPriority p) {
         if (p == null) return "Medium";
@@ -71,11 +99,16 @@ public interface TaskMapper {
     default TaskStatus toDbStatus(Boolean completed) { return completed != null && completed ? TaskStatus.DONE : TaskStatus.TODO; }
 
     // ===== metadata JSON ↔ Map =====
+    @Named("rawJson")
+    default String rawJson(String json) {
+        return MetadataJson.raw(json);
+    }
+
     @Named("jsonToMap")
     default Map<String, Object> jsonToMap(String json) {
         if (json == null) return null;
         try {
-            return new ObjectMapper().readValue(json, new TypeReference<Map<String, Object>>() {});
+            return MetadataJson.READER.readValue(json);
         } catch (Exception e) {
             throw new RuntimeException("Failed to parse metadata JSON", e);
         }
@@ -85,7 +118,7 @@ public interface TaskMapper {
     default String mapToJson(Map<String, Object> map) {
         if (map == null) return null;
         try {
-            return new ObjectMapper().writeValueAsString(map);
+            return MetadataJson.WRITER.writeValueAsString(map);
         } catch (Exception e) {
             throw new RuntimeException("Failed to serialize metadata map", e);
         }
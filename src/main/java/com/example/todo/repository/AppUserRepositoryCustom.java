@@ -0,0 +1,25 @@
+package com.example.todo.repository;
+
+import com.example.todo.entity.AppUser;
+import org.springframework.lang.Nullable;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.UUID;
+
+public interface AppUserRepositoryCustom {
+
+    /**
+     * Ids of the users with these emails, creating stub users (email only) for the unknown ones.
+     * One {@code INSERT ... ON CONFLICT (email) DO NOTHING} statement, so concurrent callers never
+     * fail on the unique email.
+     */
+    Map<String, UUID> resolveOrCreate(Collection<String> emails);
+
+    /**
+     * Creates the user or brings its display name up to date, in one round trip. The row is only
+     * rewritten when a non-null name differs; a {@code null} name keeps the stored one. Returns the
+     * stored user, detached.
+     */
+    AppUser upsert(String email, @Nullable String displayName);
+}
@@ -0,0 +1,10 @@
+package com.example.todo.repository;
+
+/** What one user may do with one existing task: the owner, a share role, or nothing. */
+public enum TaskAccess {
+    owner, editor, viewer, none;
+
+    public boolean canRead() { return this != none; }
+
+    public boolean canEdit() { return this == owner || this == editor; }
+}
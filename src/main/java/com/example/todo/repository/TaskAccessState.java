@@ -0,0 +1,6 @@
+package com.example.todo.repository;
+
+import java.util.UUID;
+
+/** A user's access to one task together with what a conditional write needs: owner and current version. */
+public record TaskAccessState(UUID id, UUID ownerId, int version, TaskAccess access) {}
@@ -0,0 +1,51 @@
+package com.example.todo.repository;
+
+import com.example.todo.dto.TaskDto;
+import com.example.todo.entity.Task;
+import com.example.todo.entity.TaskShare.TaskShareId;
+import com.example.todo.entity.enums.ShareRole;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Task writes over plain JDBC, for volumes where a growing persistence context and per-entity
+ * lifecycle handling would dominate (imports, batch patches, bulk sharing), and for single-statement patches.
+ */
+public interface TaskBulkRepository {
+
+    /**
+     * Inserts the tasks and their tags for one owner as JDBC batches. Ids, defaults and
+     * timestamps must already be set (see {@link Task#prePersist()}).
+     */
+    void insertAll(UUID ownerId, List<Task> tasks);
+
+    /**
+     * Applies the updates as one JDBC batch of {@code UPDATE ... WHERE id = ? AND version = ?}, bumping the
+     * version of every written row. Returns, in input order, whether each row was written; {@code false} means
+     * its version had moved on. Tags of written rows are brought to the new set by deleting the removed
+     * and inserting the added ones; tags in both sets stay as they are.
+     */
+    boolean[] updateAll(List<TaskUpdate> updates);
+
+    /**
+     * One {@code UPDATE ... RETURNING} that sets only the non-null columns of {@code update} and bumps the
+     * version, provided the row is still at {@code expectedVersion} and {@code userId} owns it or holds an
+     * editor share. If every given value (tags included) already matches the row, nothing is written and the
+     * task is returned at {@code expectedVersion}. Returns empty when the task is missing, not editable or
+     * stale. Given tags are diffed in after the row was written; {@code update} must set a column or tags.
+     */
+    Optional<TaskDto> updateIfEditable(UUID userId, TaskUpdate update);
+
+    /**
+     * Shares every task with every user at {@code role} in one {@code INSERT ... ON CONFLICT (task_id, user_id)
+     * DO UPDATE SET role} statement. Returns the shares that were created or changed role; shares already at
+     * {@code role} are not written.
+     */
+    List<TaskShareId> shareAll(Collection<UUID> taskIds, Collection<UUID> userIds, ShareRole role);
+
+    /** Deletes the shares of the users with these emails on these tasks in one statement; returns the deleted ones. */
+    List<TaskShareId> revokeAll(Collection<UUID> taskIds, Collection<String> emails);
+}
@@ -0,0 +1,6 @@
+package com.example.todo.repository;
+
+import com.example.todo.dto.TaskDto;
+
+/** A task in the delta sync together with the transaction id it is ordered (and resumed) by. */
+public record TaskChange(TaskDto task, long changeXid) {}
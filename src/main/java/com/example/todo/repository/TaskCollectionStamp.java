@@ -0,0 +1,13 @@
+package com.example.todo.repository;
+
+import org.springframework.lang.Nullable;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+
+/**
+ * Cheap summary of the tasks a user can see under one filter: changes whenever a matching
+ * task is created, updated, deleted, shared or unshared. Basis of the listing's collection ETag.
+ * The fingerprint sums a hash of each member's id and version.
+ */
+public record TaskCollectionStamp(long count, @Nullable OffsetDateTime lastUpdated, BigDecimal fingerprint) {}
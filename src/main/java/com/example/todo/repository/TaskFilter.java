@@ -0,0 +1,43 @@
+package com.example.todo.repository;
+
+import com.example.todo.entity.enums.TaskPriority;
+import com.example.todo.entity.enums.TaskStatus;
+import org.springframework.lang.Nullable;
+
+import java.util.Map;
+
+/**
+ * Filters of the task listing. {@code q} is interpreted according to {@code mode}:
+ * a web-search style full-text query by default, or a plain substring. Blank means "no search".
+ * {@code metadata} maps a (dot-separated) metadata path to the string value it must equal.
+ */
+public record TaskFilter(@Nullable String q, @Nullable TaskSearchMode mode,
+                         @Nullable TaskStatus status, @Nullable TaskPriority priority,
+                         Map<String, String> metadata) {
+
+    public TaskFilter {
+        metadata = metadata == null ? Map.of() : Map.copyOf(metadata);
+    }
+
+    public TaskFilter(@Nullable String q, @Nullable TaskSearchMode mode,
+                      @Nullable TaskStatus status, @Nullable TaskPriority priority) {
+        this(q, mode, status, priority, Map.of());
+    }
+
+    public TaskFilter(@Nullable String q, @Nullable TaskStatus status, @Nullable TaskPriority priority) {
+        this(q, null, status, priority);
+    }
+
+    public boolean hasQuery() {
+        return q != null && !q.isBlank();
+    }
+
+    /** only full-text matches carry a relevance score and are ordered by it */
+    public boolean isRanked() {
+        return hasQuery() && searchMode() == TaskSearchMode.FULLTEXT;
+    }
+
+    public TaskSearchMode searchMode() {
+        return mode == null ? TaskSearchMode.FULLTEXT : mode;
+    }
+}
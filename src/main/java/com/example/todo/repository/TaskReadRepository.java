@@ -0,0 +1,67 @@
+package com.example.todo.repository;
+
+import com.example.todo.dto.TaskDto;
+import com.example.todo.util.PageCursor;
+import org.springframework.lang.Nullable;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Read-only task queries that build {@link TaskDto}s straight from the result set
+ * (owner email joined, tags aggregated), without managed entities or dirty-checking snapshots.
+ * Writes keep going through {@link TaskRepository}.
+ */
+public interface TaskReadRepository {
+
+    /**
+     * One keyset page of tasks owned by or shared with the user, continuing after {@code after}.
+     * Ordered by (updated_at, id) descending, or by relevance first ({@link TaskDto#score}) when the
+     * filter has a search query.
+     */
+    List<TaskDto> findAccessiblePage(UUID userId, TaskFilter filter, @Nullable PageCursor after, int limit);
+
+    /** Task owned by or shared with the user; empty when it does not exist or is not accessible. */
+    Optional<TaskDto> findAuthorizedById(UUID id, UUID userId);
+
+    /** Count / newest update / id fingerprint of everything {@link #findAccessiblePage} could page through. */
+    TaskCollectionStamp findCollectionStamp(UUID userId, TaskFilter filter);
+
+    /**
+     * The user's access to the task (owner, share role or none); empty when the task does not exist.
+     * Two primary-key lookups: task by id, task_share by (task_id, user_id).
+     */
+    Optional<TaskAccess> findAccess(UUID id, UUID userId);
+
+    /** {@link #findAccess} plus owner and version for many tasks in one query; ids of missing tasks are absent. */
+    Map<UUID, TaskAccessState> findAccessStates(Collection<UUID> ids, UUID userId);
+
+    /** Just the version of an accessible task (conditional GET): no owner join, tags or metadata. */
+    Optional<Integer> findAuthorizedVersion(UUID id, UUID userId);
+
+    /**
+     * Hands every accessible task matching the filter to {@code sink}, one row at a time, in listing order.
+     * Rows are read through a server-side cursor, so this must run inside a transaction.
+     */
+    void streamAccessible(UUID userId, TaskFilter filter, Consumer<TaskDto> sink);
+
+    /**
+     * Snapshot horizon of the current transaction: every transaction with a lower id has finished.
+     * Read it before {@link #findChangedSince} / {@link #findRemovedSince} and hand it out as the next watermark.
+     */
+    long currentSnapshotXmin();
+
+    /**
+     * Accessible tasks written, or newly shared with the user, by transactions at or after {@code sinceXid}:
+     * at most {@code limit} of them, in (change xid, id) order, starting after {@code (afterXid, afterId)}
+     * when {@code afterId} is given.
+     */
+    List<TaskChange> findChangedSince(UUID userId, long sinceXid, long afterXid, @Nullable UUID afterId, int limit);
+
+    /** Tasks the user lost (deleted or unshared) since {@code sinceXid} and still cannot access. */
+    List<UUID> findRemovedSince(UUID userId, long sinceXid);
+}
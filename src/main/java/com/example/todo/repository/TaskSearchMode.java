@@ -0,0 +1,8 @@
+package com.example.todo.repository;
+
+public enum TaskSearchMode {
+    /** ranked full-text match on whole words (search_vector, GIN) */
+    FULLTEXT,
+    /** case-insensitive infix match like ILIKE '%q%' (pg_trgm GIN indexes) */
+    SUBSTRING
+}
@@ -3,7 +3,9 @@ package com.example.todo.repository;
 import com.example.todo.entity.TaskShare;
 import com.example.todo.entity.TaskShare.TaskShareId;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -11,5 +13,10 @@ import java.util.UUID;
 public interface TaskShareRepository extends JpaRepository<TaskShare, TaskShareId> {
     Optional<TaskShare> findByTask_IdAndUser_Id(UUID taskId, UUID userId);
     List<TaskShare> findByTask_Id(UUID taskId);
-    void deleteByTask_IdAndUser_Id(UUID taskId, UUID userId);
+    @Query("select s.id.userId from TaskShare s where s.id.taskId = :taskId")
+    List<UUID> findUserIdsByTaskId(UUID taskId);
+    // findUserIdsByTaskId for many tasks at once
+    @Query("select s.id from TaskShare s where s.id.taskId in :taskIds")
+    List<TaskShareId> findIdsByTaskIds(Collection<UUID> taskIds);
+    long deleteByTask_IdAndUser_Id(UUID taskId, UUID userId);
 }
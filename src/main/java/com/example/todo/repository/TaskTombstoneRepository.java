@@ -0,0 +1,26 @@
+package com.example.todo.repository;
+
+import com.example.todo.entity.TaskShare.TaskShareId;
+
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.UUID;
+
+/**
+ * Records of lost access (deleted tasks, revoked shares) for delta sync: the rows themselves
+ * are hard-deleted, so {@link TaskReadRepository#findRemovedSince} reads these instead.
+ */
+public interface TaskTombstoneRepository {
+
+    /** One "deleted" tombstone for the owner and for every user the task is shared with; call before deleting. */
+    void recordDeleted(UUID taskId);
+
+    /** One "unshared" tombstone for the user whose share was revoked. */
+    void recordUnshared(UUID taskId, UUID userId);
+
+    /** {@link #recordUnshared} for many revoked shares, in one statement. */
+    void recordUnshared(Collection<TaskShareId> shares);
+
+    /** Drops tombstones older than the cutoff; returns how many were removed. */
+    int purgeRemovedBefore(OffsetDateTime cutoff);
+}
@@ -0,0 +1,20 @@
+package com.example.todo.repository;
+
+import com.example.todo.entity.enums.TaskPriority;
+import com.example.todo.entity.enums.TaskStatus;
+import org.springframework.lang.Nullable;
+
+import java.time.OffsetDateTime;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * One task patch in column form, written only if the row is still at {@code expectedVersion}.
+ * A {@code null} value leaves its column as it is. {@code metadata} replaces the document,
+ * {@code metadataPatch} is merged into it (RFC 7396); {@code tags}, if given, replace all tags.
+ */
+public record TaskUpdate(UUID id, int expectedVersion,
+                         @Nullable String title, @Nullable String description, @Nullable String category,
+                         @Nullable TaskPriority priority, @Nullable OffsetDateTime dueAt, @Nullable TaskStatus status,
+                         @Nullable String source, @Nullable String metadata, @Nullable String metadataPatch,
+                         @Nullable Set<String> tags) {}
@@ -0,0 +1,97 @@
+package com.example.todo.repository.impl;
+
+import com.example.todo.entity.AppUser;
+import com.example.todo.repository.AppUserRepositoryCustom;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+@Repository
+public class AppUserRepositoryCustomImpl implements AppUserRepositoryCustom {
+
+    // the outer SELECT runs on the statement's snapshot: it sees the users that existed before,
+    // "created" returns the ones inserted here, so every email comes back exactly once
+    static final String RESOLVE_OR_CREATE = """
+            WITH wanted AS (
+              SELECT DISTINCT email FROM unnest(CAST(? AS text[])) AS e(email)
+            ), created AS (
+              INSERT INTO app_user (email)
+              SELECT email FROM wanted
+              ON CONFLICT (email) DO NOTHING
+              RETURNING id, email
+            )
+            SELECT id, email FROM created
+            UNION ALL
+            SELECT u.id, u.email FROM app_user u JOIN wanted w ON w.email = u.email""";
+
+    static final String FIND_IDS = "SELECT id, email FROM app_user WHERE email = ANY(CAST(? AS text[]))";
+
+    // RETURNING yields no row when the WHERE skips the update (name unchanged): the second branch
+    // then reads the existing row, still in the same statement
+    static final String UPSERT = """
+            WITH upserted AS (
+              INSERT INTO app_user (email, display_name) VALUES (?, ?)
+              ON CONFLICT (email) DO UPDATE SET display_name = EXCLUDED.display_name
+              WHERE EXCLUDED.display_name IS NOT NULL
+                AND app_user.display_name IS DISTINCT FROM EXCLUDED.display_name
+              RETURNING *
+            )
+            SELECT id, email, display_name, created_at FROM upserted
+            UNION ALL
+            SELECT id, email, display_name, created_at FROM app_user
+            WHERE email = ? AND NOT EXISTS (SELECT 1 FROM upserted)""";
+
+    static final String FIND_BY_EMAIL = "SELECT id, email, display_name, created_at FROM app_user WHERE email = ?";
+
+    private static final RowMapper<AppUser> USER = (rs, i) -> {
+        AppUser u = new AppUser();
+        u.setId(rs.getObject("id", UUID.class));
+        u.setEmail(rs.getString("email"));
+        u.setDisplayName(rs.getString("display_name"));
+        u.setCreatedAt(rs.getObject("created_at", OffsetDateTime.class));
+        return u;
+    };
+
+    private final JdbcTemplate jdbc;
+
+    public AppUserRepositoryCustomImpl(JdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+    }
+
+    @Override
+    public Map<String, UUID> resolveOrCreate(Collection<String> emails) {
+        Map<String, UUID> ids = new HashMap<>();
+        if (emails.isEmpty()) return ids;
+        query(RESOLVE_OR_CREATE, emails, ids);
+        if (ids.size() < emails.stream().distinct().count()) {
+            // inserted by a transaction that committed after our snapshot: DO NOTHING skipped them
+            // and the snapshot does not show them, a new statement does
+            List<String> missing = emails.stream().filter(e -> !ids.containsKey(e)).distinct().toList();
+            query(FIND_IDS, missing, ids);
+        }
+        return ids;
+    }
+
+    @Override
+    public AppUser upsert(String email, String displayName) {
+        List<AppUser> users = jdbc.query(UPSERT, USER, email, displayName, email);
+        if (users.isEmpty()) {
+            // unchanged row committed by a concurrent login after our snapshot: visible to a new statement
+            users = jdbc.query(FIND_BY_EMAIL, USER, email);
+        }
+        return users.get(0);
+    }
+
+    private void query(String sql, Collection<String> emails, Map<String, UUID> into) {
+        RowCallbackHandler collect = rs -> into.put(rs.getString("email"), rs.getObject("id", UUID.class));
+        jdbc.query(sql, ps -> ps.setArray(1, ps.getConnection().createArrayOf("text", emails.toArray())), collect);
+    }
+}
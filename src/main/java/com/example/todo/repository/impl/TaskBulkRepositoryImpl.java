@@ -0,0 +1,262 @@
+package com.example.todo.repository.impl;
+
+import com.example.todo.dto.TaskDto;
+import com.example.todo.entity.Task;
+import com.example.todo.entity.TaskShare.TaskShareId;
+import com.example.todo.entity.enums.ShareRole;
+import com.example.todo.mapper.TaskMapper;
+import com.example.todo.repository.TaskBulkRepository;
+import com.example.todo.repository.TaskUpdate;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.SqlParameterValue;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.support.SqlArrayValue;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+@Repository
+public class TaskBulkRepositoryImpl implements TaskBulkRepository {
+
+    static final String INSERT_TASK = """
+            INSERT INTO task (id, owner_id, title, description, category, priority, due_at, status,
+                              source, metadata, version, created_at, updated_at)
+            VALUES (?, ?, ?, ?, ?, CAST(? AS task_priority), ?, CAST(? AS task_status),
+                    ?, CAST(? AS jsonb), ?, ?, ?)""";
+
+    static final String INSERT_TAG = "INSERT INTO task_tags (task_id, tag) VALUES (?, ?)";
+
+    // one statement text for every patch, so the whole batch shares a prepared statement: a NULL parameter
+    // keeps the column. metadata: full replacement first, else the merge patch (NULL when absent), else as is
+    static final String UPDATE_TASK = """
+            UPDATE task
+            SET title       = COALESCE(?, title),
+                description = COALESCE(?, description),
+                category    = COALESCE(?, category),
+                priority    = COALESCE(CAST(? AS task_priority), priority),
+                due_at      = COALESCE(?, due_at),
+                status      = COALESCE(CAST(? AS task_status), status),
+                source      = COALESCE(?, source),
+                metadata    = COALESCE(CAST(? AS jsonb), jsonb_merge_patch(metadata, CAST(? AS jsonb)), metadata),
+                version     = version + 1
+            WHERE id = ? AND version = ?""";
+
+    // tag diff of a written row: drop what is no longer wanted, add what is missing; unchanged tags are
+    // not touched, so an unchanged set writes no task_tags rows (and fires no search_tags update)
+    static final String DELETE_OTHER_TAGS = "DELETE FROM task_tags WHERE task_id = ? AND tag <> ALL(CAST(? AS text[]))";
+
+    static final String ADD_TAGS = """
+            INSERT INTO task_tags (task_id, tag)
+            SELECT ?, unnest(CAST(? AS text[]))
+            ON CONFLICT (task_id, tag) DO NOTHING""";
+
+    // read-modify-write in one round trip: version check, edit right and the written row with owner
+    // email and tags. %1$s is the SET list of the patched columns, %2$s whether any of them differs from
+    // the stored value: a patch that changes nothing is not written (no new row version, no version bump)
+    // and the row is returned as it is
+    static final String UPDATE_IF_EDITABLE = """
+            WITH updated AS (
+              UPDATE task t
+              SET %1$s
+              WHERE t.id = :id AND t.version = :version AND (%2$s) AND %3$s
+              RETURNING %4$s
+            ), unchanged AS (
+              SELECT %4$s
+              FROM task t
+              WHERE t.id = :id AND t.version = :version AND NOT (%2$s) AND %3$s
+            )
+            SELECT page.*, %5$s
+            FROM (SELECT t.*, CAST(NULL AS real) AS score FROM (TABLE updated UNION ALL TABLE unchanged) t) page
+            JOIN app_user u ON u.id = page.owner_id""";
+
+    static final String EDITABLE = """
+            (t.owner_id = :userId
+                   OR EXISTS (SELECT 1 FROM task_share s
+                              WHERE s.task_id = t.id AND s.user_id = :userId AND s.role = 'editor'))""";
+
+    // the stored tag set differs from :tags (order does not count)
+    static final String TAGS_DIFFER = """
+            NOT (ARRAY(SELECT g.tag FROM task_tags g WHERE g.task_id = t.id) @> CAST(:tags AS text[])
+                     AND ARRAY(SELECT g.tag FROM task_tags g WHERE g.task_id = t.id) <@ CAST(:tags AS text[]))""";
+
+    // tasks x users; the WHERE skips rows already at the role, so they keep their change_xid and are not returned
+    static final String SHARE_ALL = """
+            INSERT INTO task_share (task_id, user_id, role)
+            SELECT t.id, u.id, CAST(? AS share_role)
+            FROM unnest(CAST(? AS uuid[])) AS t(id) CROSS JOIN unnest(CAST(? AS uuid[])) AS u(id)
+            ON CONFLICT (task_id, user_id) DO UPDATE SET role = EXCLUDED.role
+            WHERE task_share.role IS DISTINCT FROM EXCLUDED.role
+            RETURNING task_id, user_id""";
+
+    static final String REVOKE_ALL = """
+            DELETE FROM task_share s
+            USING app_user u
+            WHERE s.user_id = u.id
+              AND s.task_id = ANY(CAST(? AS uuid[]))
+              AND u.email = ANY(CAST(? AS text[]))
+            RETURNING s.task_id, s.user_id""";
+
+    private static final RowMapper<TaskShareId> SHARE_ID =
+            (rs, i) -> new TaskShareId(rs.getObject("task_id", UUID.class), rs.getObject("user_id", UUID.class));
+
+    private final JdbcTemplate jdbc;
+    private final NamedParameterJdbcTemplate namedJdbc;
+    private final TaskDtoRowMapper rowMapper;
+
+    public TaskBulkRepositoryImpl(JdbcTemplate jdbc, TaskMapper mapper) {
+        this.jdbc = jdbc;
+        this.namedJdbc = new NamedParameterJdbcTemplate(jdbc);
+        this.rowMapper = new TaskDtoRowMapper(mapper);
+    }
+
+    // one executeBatch per table; reWriteBatchedInserts turns each into multi-row INSERTs
+    @Override
+    public void insertAll(UUID ownerId, List<Task> tasks) {
+        if (tasks.isEmpty()) return;
+        jdbc.batchUpdate(INSERT_TASK, tasks, tasks.size(), (ps, t) -> {
+            ps.setObject(1, t.getId());
+            ps.setObject(2, ownerId);
+            ps.setString(3, t.getTitle());
+            ps.setString(4, t.getDescription());
+            ps.setString(5, t.getCategory());
+            ps.setString(6, t.getPriority().name());
+            ps.setObject(7, t.getDueAt(), Types.TIMESTAMP_WITH_TIMEZONE);
+            ps.setString(8, t.getStatus().name());
+            ps.setString(9, t.getSource());
+            ps.setString(10, t.getMetadata());
+            ps.setInt(11, t.getVersion());
+            ps.setObject(12, t.getCreatedAt(), Types.TIMESTAMP_WITH_TIMEZONE);
+            ps.setObject(13, t.getUpdatedAt(), Types.TIMESTAMP_WITH_TIMEZONE);
+        });
+
+        List<Object[]> tags = new ArrayList<>();
+        for (Task t : tasks) {
+            for (String tag : t.getTags()) tags.add(new Object[]{t.getId(), tag});
+        }
+        if (!tags.isEmpty()) {
+            jdbc.batchUpdate(INSERT_TAG, tags);
+        }
+    }
+
+    @Override
+    public boolean[] updateAll(List<TaskUpdate> updates) {
+        boolean[] written = new boolean[updates.size()];
+        if (updates.isEmpty()) return written;
+        int[][] counts = jdbc.batchUpdate(UPDATE_TASK, updates, updates.size(), (ps, u) -> {
+            ps.setString(1, u.title());
+            ps.setString(2, u.description());
+            ps.setString(3, u.category());
+            ps.setString(4, u.priority() == null ? null : u.priority().name());
+            ps.setObject(5, u.dueAt(), Types.TIMESTAMP_WITH_TIMEZONE);
+            ps.setString(6, u.status() == null ? null : u.status().name());
+            ps.setString(7, u.source());
+            ps.setString(8, u.metadata());
+            ps.setString(9, u.metadataPatch());
+            ps.setObject(10, u.id());
+            ps.setInt(11, u.expectedVersion());
+        });
+        // one chunk: counts[0][i] belongs to updates.get(i)
+        List<TaskUpdate> retagged = new ArrayList<>();
+        for (int i = 0; i < written.length; i++) {
+            written[i] = counts[0][i] > 0;
+            TaskUpdate u = updates.get(i);
+            if (written[i] && u.tags() != null) retagged.add(u);
+        }
+        if (!retagged.isEmpty()) {
+            jdbc.batchUpdate(DELETE_OTHER_TAGS, retagged, retagged.size(), TaskBulkRepositoryImpl::setTags);
+            jdbc.batchUpdate(ADD_TAGS, retagged, retagged.size(), TaskBulkRepositoryImpl::setTags);
+        }
+        return written;
+    }
+
+    @Override
+    public Optional<TaskDto> updateIfEditable(UUID userId, TaskUpdate u) {
+        List<String> set = new ArrayList<>();
+        List<String> changed = new ArrayList<>();
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("id", u.id())
+                .addValue("version", u.expectedVersion())
+                .addValue("userId", userId);
+        if (u.title() != null) set(set, changed, params, "title", ":title", "title", u.title());
+        if (u.description() != null) {
+            set(set, changed, params, "description", ":description", "description", u.description());
+        }
+        if (u.category() != null) set(set, changed, params, "category", ":category", "category", u.category());
+        if (u.priority() != null) {
+            set(set, changed, params, "priority", "CAST(:priority AS task_priority)", "priority", u.priority().name());
+        }
+        if (u.dueAt() != null) {
+            set(set, changed, params, "due_at", ":dueAt", "dueAt",
+                    new SqlParameterValue(Types.TIMESTAMP_WITH_TIMEZONE, u.dueAt()));
+        }
+        if (u.status() != null) {
+            set(set, changed, params, "status", "CAST(:status AS task_status)", "status", u.status().name());
+        }
+        if (u.source() != null) set(set, changed, params, "source", ":source", "source", u.source());
+        if (u.metadata() != null) {
+            set(set, changed, params, "metadata", "CAST(:metadata AS jsonb)", "metadata", u.metadata());
+        } else if (u.metadataPatch() != null) {
+            set(set, changed, params, "metadata", "jsonb_merge_patch(t.metadata, CAST(:metadataPatch AS jsonb))",
+                    "metadataPatch", u.metadataPatch());
+        }
+        if (u.tags() != null) {
+            changed.add(TAGS_DIFFER);
+            params.addValue("tags", new SqlArrayValue("text", u.tags().toArray()));
+        }
+        if (changed.isEmpty()) throw new IllegalArgumentException("Update has no columns");
+        set.add("version = t.version + 1");
+        String sql = UPDATE_IF_EDITABLE.formatted(String.join(", ", set), String.join(" OR ", changed), EDITABLE,
+                TaskListingQuery.TASK_COLUMNS, TaskReadRepositoryImpl.OWNER_AND_TAGS);
+        TaskDto dto = namedJdbc.query(sql, params, rowMapper).stream().findFirst().orElse(null);
+        if (dto == null) return Optional.empty();
+        if (u.tags() != null && dto.version != u.expectedVersion()) {
+            // same diff as updateAll; the returned row still shows the tags as they were before,
+            // so the new ones are filled in, sorted like OWNER_AND_TAGS returns them
+            jdbc.update(DELETE_OTHER_TAGS, ps -> setTags(ps, u));
+            jdbc.update(ADD_TAGS, ps -> setTags(ps, u));
+            dto.tags = u.tags().stream().sorted().collect(Collectors.toCollection(ArrayList::new));
+        }
+        return Optional.of(dto);
+    }
+
+    @Override
+    public List<TaskShareId> shareAll(Collection<UUID> taskIds, Collection<UUID> userIds, ShareRole role) {
+        if (taskIds.isEmpty() || userIds.isEmpty()) return List.of();
+        return jdbc.query(SHARE_ALL, ps -> {
+            ps.setString(1, role.name());
+            ps.setArray(2, ps.getConnection().createArrayOf("uuid", taskIds.toArray()));
+            ps.setArray(3, ps.getConnection().createArrayOf("uuid", userIds.toArray()));
+        }, SHARE_ID);
+    }
+
+    @Override
+    public List<TaskShareId> revokeAll(Collection<UUID> taskIds, Collection<String> emails) {
+        if (taskIds.isEmpty() || emails.isEmpty()) return List.of();
+        return jdbc.query(REVOKE_ALL, ps -> {
+            ps.setArray(1, ps.getConnection().createArrayOf("uuid", taskIds.toArray()));
+            ps.setArray(2, ps.getConnection().createArrayOf("text", emails.toArray()));
+        }, SHARE_ID);
+    }
+
+    private static void setTags(PreparedStatement ps, TaskUpdate u) throws SQLException {
+        ps.setObject(1, u.id());
+        ps.setArray(2, ps.getConnection().createArrayOf("text", u.tags().toArray()));
+    }
+
+    private static void set(List<String> set, List<String> changed, MapSqlParameterSource params,
+                            String column, String value, String name, Object param) {
+        set.add(column + " = " + value);
+        changed.add("t." + column + " IS DISTINCT FROM " + value);
+        params.addValue(name, param);
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.todo.repository.impl;
+
+import com.example.todo.dto.TaskDto;
+import com.example.todo.entity.enums.TaskPriority;
+import com.example.todo.entity.enums.TaskStatus;
+import com.example.todo.mapper.TaskMapper;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.Array;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Maps a task row (task columns + {@code owner_email}, {@code tags} text[] and optional {@code score})
+ * to {@link TaskDto}, using the same UI conversions as {@link TaskMapper#toDto}.
+ */
+public class TaskDtoRowMapper implements RowMapper<TaskDto> {
+
+    private final TaskMapper mapper;
+
+    public TaskDtoRowMapper(TaskMapper mapper) {
+        this.mapper = mapper;
+    }
+
+    @Override
+    public TaskDto mapRow(ResultSet rs, int rowNum) throws SQLException {
+        TaskDto dto = new TaskDto();
+        dto.id = rs.getObject("id", UUID.class);
+        dto.title = rs.getString("title");
+        dto.description = rs.getString("description");
+        dto.category = rs.getString("category");
+        String priority = rs.getString("priority");
+        dto.priority = mapper.toUiPriority(priority == null ? null : TaskPriority.valueOf(priority));
+        dto.dueDate = rs.getObject("due_at", OffsetDateTime.class);
+        String status = rs.getString("status");
+        TaskStatus taskStatus = status == null ? null : TaskStatus.valueOf(status);
+        dto.completed = mapper.toUiCompleted(taskStatus);
+        dto.status = status;
+        dto.tags = tags(rs.getArray("tags"));
+        dto.source = rs.getString("source");
+        dto.metadata = mapper.rawJson(rs.getString("metadata"));
+        dto.ownerId = rs.getObject("owner_id", UUID.class);
+        dto.ownerEmail = rs.getString("owner_email");
+        dto.version = rs.getObject("version", Integer.class);
+        dto.createdAt = rs.getObject("created_at", OffsetDateTime.class);
+        dto.updatedAt = rs.getObject("updated_at", OffsetDateTime.class);
+        dto.score = rs.getObject("score", Float.class);
+        return dto;
+    }
+
+    private static List<String> tags(Array array) throws SQLException {
+        if (array == null) return new ArrayList<>();
+        try {
+            return new ArrayList<>(Arrays.asList((String[]) array.getArray()));
+        } finally {
+            array.free();
+        }
+    }
+}
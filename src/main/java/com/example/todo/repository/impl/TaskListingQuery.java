@@ -0,0 +1,173 @@
+package com.example.todo.repository.impl;
+
+import com.example.todo.mapper.MetadataJson;
+import com.example.todo.repository.TaskFilter;
+import com.example.todo.repository.TaskSearchMode;
+import com.example.todo.util.PageCursor;
+import org.springframework.lang.Nullable;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Native SQL + named parameters of one listing page ({@code score} column included).
+ * <p>
+ * Owned and shared tasks are fetched by two index-driven branches (task by owner_id,
+ * task_share by user_id), each already sorted and cut to {@code limit}, and merged
+ * with UNION ALL into the final top-N. No DISTINCT over whole rows (metadata included)
+ * is needed: the shared branch skips tasks the user owns, so branches never overlap.
+ * Predicates are only added when used, so the planner never sees "(:x IS NULL OR ...)".
+ */
+public record TaskListingQuery(String sql, Map<String, Object> params) {
+
+    // explicit list: keeps the search_* helper columns out of the result rows
+    static final String TASK_COLUMNS = """
+            t.id, t.owner_id, t.title, t.description, t.category, t.priority, t.due_at,
+            t.status, t.source, t.metadata, t.version, t.created_at, t.updated_at""";
+
+    static final String RANK = "ts_rank(t.search_vector, websearch_to_tsquery('simple', :q))";
+
+    // one index scan per column (pg_trgm GIN) instead of an OR the planner can only seq-scan
+    static final String SUBSTRING_MATCH = """
+            t.id IN (
+                    SELECT id FROM task WHERE title ILIKE :pattern
+                    UNION SELECT id FROM task WHERE description ILIKE :pattern
+                    UNION SELECT id FROM task WHERE category ILIKE :pattern
+                    UNION SELECT task_id FROM task_tags WHERE tag ILIKE :pattern
+              )""";
+
+    public static TaskListingQuery of(UUID userId, TaskFilter filter, @Nullable PageCursor after, int limit) {
+        return build(userId, filter, after, limit);
+    }
+
+    /** Every accessible task matching the filter, in listing order (export: no page cut, no cursor). */
+    public static TaskListingQuery all(UUID userId, TaskFilter filter) {
+        return build(userId, filter, null, null);
+    }
+
+    /**
+     * Collection stamp of the same filter: count, newest updated_at and a fingerprint of every member's
+     * (id, version). The fingerprint moves on any write to any member, on sharing, unsharing and deleting,
+     * even when count and updated_at happen not to (an older task edited within the same timestamp, one
+     * task swapped for another).
+     */
+    public static TaskListingQuery stamp(UUID userId, TaskFilter filter) {
+        Map<String, Object> params = new HashMap<>();
+        params.put("userId", userId);
+        String where = predicates(filter, null, params);
+        String sql = "SELECT count(*) AS n, max(updated_at) AS last_updated,\n"
+                + "       COALESCE(sum(hashtextextended(CAST(id AS text) || ':' || version, 0)), 0) AS fingerprint\n"
+                + "FROM (\n"
+                + "SELECT t.id, t.version, t.updated_at\n"
+                + "FROM task t\n"
+                + "WHERE t.owner_id = :userId\n" + where
+                + "UNION ALL\n"
+                + "SELECT t.id, t.version, t.updated_at\n"
+                + "FROM task_share s\n"
+                + "JOIN task t ON t.id = s.task_id\n"
+                + "WHERE s.user_id = :userId AND t.owner_id <> :userId\n" + where
+                + ") accessible";
+        return new TaskListingQuery(sql, params);
+    }
+
+    private static TaskListingQuery build(UUID userId, TaskFilter filter, @Nullable PageCursor after, @Nullable Integer limit) {
+        boolean ranked = filter.isRanked();
+        Map<String, Object> params = new HashMap<>();
+        params.put("userId", userId);
+        String cut = "";
+        if (limit != null) {
+            params.put("limit", limit);
+            cut = "\nLIMIT :limit";
+        }
+
+        String where = predicates(filter, after, params);
+
+        String select = "SELECT " + TASK_COLUMNS + ", " + (ranked ? RANK : "CAST(NULL AS real)") + " AS score\n";
+        String order = orderBy(ranked);
+        String sql = "SELECT * FROM (\n"
+                + "(" + select
+                + "FROM task t\n"
+                + "WHERE t.owner_id = :userId\n" + where
+                + "ORDER BY " + order
+                + cut + ")\n"
+                + "UNION ALL\n"
+                + "(" + select
+                + "FROM task_share s\n"
+                + "JOIN task t ON t.id = s.task_id\n"
+                + "WHERE s.user_id = :userId AND t.owner_id <> :userId\n" + where
+                + "ORDER BY " + order
+                + cut + ")\n"
+                + ") page\n"
+                + "ORDER BY " + order
+                + cut;
+        return new TaskListingQuery(sql, params);
+    }
+
+    // "  AND ..." lines shared by both branches (and by the collection stamp)
+    private static String predicates(TaskFilter filter, @Nullable PageCursor after, Map<String, Object> params) {
+        boolean ranked = filter.isRanked();
+        StringBuilder where = new StringBuilder();
+        if (filter.status() != null) {
+            where.append("  AND t.status = CAST(:status AS task_status)\n");
+            params.put("status", filter.status().name());
+        }
+        if (filter.priority() != null) {
+            where.append("  AND t.priority = CAST(:priority AS task_priority)\n");
+            params.put("priority", filter.priority().name());
+        }
+        if (!filter.metadata().isEmpty()) {
+            // containment, so it is answered by the jsonb_path_ops GIN index (V6)
+            where.append("  AND t.metadata @> CAST(:metadata AS jsonb)\n");
+            params.put("metadata", MetadataJson.toJson(containment(filter.metadata())));
+        }
+        if (filter.hasQuery()) {
+            if (filter.searchMode() == TaskSearchMode.SUBSTRING) {
+                where.append("  AND ").append(SUBSTRING_MATCH).append("\n");
+                params.put("pattern", "%" + filter.q() + "%");
+            } else {
+                where.append("  AND t.search_vector @@ websearch_to_tsquery('simple', :q)\n");
+                params.put("q", filter.q());
+            }
+        }
+        if (after != null) {
+            if (ranked) {
+                where.append("  AND (").append(RANK)
+                        .append(", t.updated_at, t.id) < (CAST(:cursorScore AS real), :cursorUpdatedAt, :cursorId)\n");
+                params.put("cursorScore", after.score());
+            } else {
+                where.append("  AND (t.updated_at, t.id) < (:cursorUpdatedAt, :cursorId)\n");
+            }
+            params.put("cursorUpdatedAt", after.updatedAt());
+            params.put("cursorId", after.id());
+        }
+        return where.toString();
+    }
+
+    // {"a.b": "x"} → {"a": {"b": "x"}}
+    static Map<String, Object> containment(Map<String, String> paths) {
+        Map<String, Object> doc = new LinkedHashMap<>();
+        paths.forEach((path, value) -> {
+            String[] keys = path.split("\\.");
+            Map<String, Object> node = doc;
+            for (int i = 0; i < keys.length - 1; i++) {
+                Object child = node.get(keys[i]);
+                if (!(child instanceof Map)) {
+                    child = new LinkedHashMap<String, Object>();
+                    node.put(keys[i], child);
+                }
+                @SuppressWarnings("unchecked")
+                Map<String, Object> next = (Map<String, Object>) child;
+                node = next;
+            }
+            node.put(keys[keys.length - 1], value);
+        });
+        return doc;
+    }
+
+    // ORDER BY names resolve to output columns, so it can be reused by queries wrapping this one
+    static String orderBy(boolean ranked) {
+        return ranked ? "score DESC, updated_at DESC, id DESC" : "updated_at DESC, id DESC";
+    }
+}
@@ -0,0 +1,216 @@
+package com.example.todo.repository.impl;
+
+import com.example.todo.dto.TaskDto;
+import com.example.todo.mapper.TaskMapper;
+import com.example.todo.repository.TaskAccess;
+import com.example.todo.repository.TaskAccessState;
+import com.example.todo.repository.TaskChange;
+import com.example.todo.repository.TaskCollectionStamp;
+import com.example.todo.repository.TaskFilter;
+import com.example.todo.repository.TaskReadRepository;
+import com.example.todo.util.PageCursor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Repository;
+
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+@Repository
+public class TaskReadRepositoryImpl implements TaskReadRepository {
+
+    // owner email + tags of a task row aliased "page"; tags stay in one round trip via array_agg.
+    // Tags come sorted, in code point order (COLLATE "C", same as String.compareTo)
+    static final String OWNER_AND_TAGS = """
+            u.email AS owner_email,
+            COALESCE((SELECT array_agg(tt.tag ORDER BY tt.tag COLLATE "C") FROM task_tags tt WHERE tt.task_id = page.id), '{}') AS tags""";
+
+    static final String BY_ID_SQL = """
+            SELECT page.*, %s
+            FROM (SELECT %s, CAST(NULL AS real) AS score
+                  FROM task t
+                  WHERE t.id = :id
+                    AND (t.owner_id = :userId
+                         OR EXISTS (SELECT 1 FROM task_share s WHERE s.task_id = t.id AND s.user_id = :userId))) page
+            JOIN app_user u ON u.id = page.owner_id""".formatted(OWNER_AND_TAGS, TaskListingQuery.TASK_COLUMNS);
+
+    // primary key lookup + the (task_id, user_id) share PK; only the version column is read
+    static final String VERSION_BY_ID_SQL = """
+            SELECT t.version
+            FROM task t
+            WHERE t.id = :id
+              AND (t.owner_id = :userId
+                   OR EXISTS (SELECT 1 FROM task_share s WHERE s.task_id = t.id AND s.user_id = :userId))""";
+
+    // one row per existing task; the share is joined by its PK, so the role comes with the task lookup
+    static final String ACCESS_SQL = """
+            SELECT CASE WHEN t.owner_id = :userId THEN 'owner'
+                        ELSE COALESCE(CAST(s.role AS text), 'none') END
+            FROM task t
+            LEFT JOIN task_share s ON s.task_id = t.id AND s.user_id = :userId
+            WHERE t.id = :id""";
+
+    // ACCESS_SQL for a whole batch: one index scan over the task PK, share PK probes per row
+    static final String ACCESS_STATES_SQL = """
+            SELECT t.id, t.owner_id, t.version,
+                   CASE WHEN t.owner_id = :userId THEN 'owner'
+                        ELSE COALESCE(CAST(s.role AS text), 'none') END AS access
+            FROM task t
+            LEFT JOIN task_share s ON s.task_id = t.id AND s.user_id = :userId
+            WHERE t.id IN (:ids)""";
+
+    // delta sync: ids of own tasks written since the watermark, tasks newly shared with the user and
+    // shared tasks written since; each branch has its own index (V7), so the cost follows the change volume.
+    // A task is ordered by its latest change (task or share row); pages are cut on (change_xid, id)
+    static final String CHANGED_SINCE_SQL = changedSince("");
+    static final String CHANGED_AFTER_SQL = changedSince(
+            "\n  HAVING (max(c.xid), c.id) > (CAST(:afterXid AS xid8), :afterId)");
+
+    private static String changedSince(String after) {
+        return """
+                WITH changed AS (
+                  SELECT c.id, max(c.xid) AS change_xid
+                  FROM (
+                    SELECT t.id, t.change_xid AS xid FROM task t
+                    WHERE t.owner_id = :userId AND t.change_xid >= CAST(:since AS xid8)
+                    UNION ALL
+                    SELECT s.task_id, s.change_xid FROM task_share s
+                    WHERE s.user_id = :userId AND s.change_xid >= CAST(:since AS xid8)
+                    UNION ALL
+                    SELECT t.id, t.change_xid FROM task t
+                    WHERE t.change_xid >= CAST(:since AS xid8) AND t.owner_id <> :userId
+                      AND EXISTS (SELECT 1 FROM task_share s WHERE s.task_id = t.id AND s.user_id = :userId)
+                  ) c
+                  GROUP BY c.id%s
+                  ORDER BY change_xid, c.id
+                  LIMIT :limit
+                )
+                SELECT page.*, %s
+                FROM (SELECT %s, CAST(NULL AS real) AS score,
+                             CAST(CAST(c.change_xid AS text) AS bigint) AS change_seq
+                      FROM task t JOIN changed c ON c.id = t.id) page
+                JOIN app_user u ON u.id = page.owner_id
+                ORDER BY page.change_seq, page.id""".formatted(after, OWNER_AND_TAGS, TaskListingQuery.TASK_COLUMNS);
+    }
+
+    // tombstones since the watermark, minus tasks the user can see again (re-shared in the same window)
+    static final String REMOVED_SINCE_SQL = """
+            SELECT DISTINCT tb.task_id
+            FROM task_tombstone tb
+            WHERE tb.user_id = :userId AND tb.change_xid >= CAST(:since AS xid8)
+              AND NOT EXISTS (SELECT 1 FROM task t
+                              WHERE t.id = tb.task_id
+                                AND (t.owner_id = :userId
+                                     OR EXISTS (SELECT 1 FROM task_share s WHERE s.task_id = t.id AND s.user_id = :userId)))""";
+
+    // every transaction below this id has finished; later ones may still commit rows "in the past"
+    static final String SNAPSHOT_XMIN_SQL = "SELECT CAST(CAST(pg_snapshot_xmin(pg_current_snapshot()) AS text) AS bigint)";
+
+    // rows per round trip of the export cursor; pgjdbc only uses a cursor when autocommit is off
+    static final int STREAM_FETCH_SIZE = 500;
+
+    private final NamedParameterJdbcTemplate jdbc;
+    private final NamedParameterJdbcTemplate streamingJdbc;
+    private final TaskDtoRowMapper rowMapper;
+
+    public TaskReadRepositoryImpl(NamedParameterJdbcTemplate jdbc, TaskMapper mapper) {
+        this.jdbc = jdbc;
+        // own template: the fetch size must not leak into the shared one
+        JdbcTemplate streaming = new JdbcTemplate(jdbc.getJdbcTemplate().getDataSource());
+        streaming.setFetchSize(STREAM_FETCH_SIZE);
+        this.streamingJdbc = new NamedParameterJdbcTemplate(streaming);
+        this.rowMapper = new TaskDtoRowMapper(mapper);
+    }
+
+    @Override
+    public List<TaskDto> findAccessiblePage(UUID userId, TaskFilter filter, PageCursor after, int limit) {
+        TaskListingQuery listing = TaskListingQuery.of(userId, filter, after, limit);
+        // the page is cut first, owner/tags are only looked up for the rows that made it
+        String sql = "SELECT page.*, " + OWNER_AND_TAGS + "\n"
+                + "FROM (\n" + listing.sql() + "\n) page\n"
+                + "JOIN app_user u ON u.id = page.owner_id\n"
+                + "ORDER BY " + TaskListingQuery.orderBy(filter.isRanked());
+        return jdbc.query(sql, listing.params(), rowMapper);
+    }
+
+    @Override
+    public TaskCollectionStamp findCollectionStamp(UUID userId, TaskFilter filter) {
+        TaskListingQuery stamp = TaskListingQuery.stamp(userId, filter);
+        return jdbc.queryForObject(stamp.sql(), stamp.params(), (rs, i) -> new TaskCollectionStamp(
+                rs.getLong("n"),
+                rs.getObject("last_updated", OffsetDateTime.class),
+                rs.getBigDecimal("fingerprint")));
+    }
+
+    @Override
+    public Optional<Integer> findAuthorizedVersion(UUID id, UUID userId) {
+        return jdbc.queryForList(VERSION_BY_ID_SQL, Map.of("id", id, "userId", userId), Integer.class).stream().findFirst();
+    }
+
+    @Override
+    public Optional<TaskAccess> findAccess(UUID id, UUID userId) {
+        return jdbc.queryForList(ACCESS_SQL, Map.of("id", id, "userId", userId), String.class).stream()
+                .findFirst()
+                .map(TaskAccess::valueOf);
+    }
+
+    @Override
+    public Map<UUID, TaskAccessState> findAccessStates(Collection<UUID> ids, UUID userId) {
+        Map<UUID, TaskAccessState> states = new HashMap<>();
+        if (ids.isEmpty()) return states;
+        jdbc.query(ACCESS_STATES_SQL, Map.of("ids", ids, "userId", userId), (RowCallbackHandler) rs -> {
+            UUID id = rs.getObject("id", UUID.class);
+            states.put(id, new TaskAccessState(id, rs.getObject("owner_id", UUID.class), rs.getInt("version"),
+                    TaskAccess.valueOf(rs.getString("access"))));
+        });
+        return states;
+    }
+
+    @Override
+    public void streamAccessible(UUID userId, TaskFilter filter, Consumer<TaskDto> sink) {
+        TaskListingQuery listing = TaskListingQuery.all(userId, filter);
+        String sql = "SELECT page.*, " + OWNER_AND_TAGS + "\n"
+                + "FROM (\n" + listing.sql() + "\n) page\n"
+                + "JOIN app_user u ON u.id = page.owner_id\n"
+                + "ORDER BY " + TaskListingQuery.orderBy(filter.isRanked());
+        // one DTO alive at a time: nothing is collected, nothing enters a persistence context
+        streamingJdbc.query(sql, listing.params(), (RowCallbackHandler) rs -> sink.accept(rowMapper.mapRow(rs, rs.getRow())));
+    }
+
+    @Override
+    public long currentSnapshotXmin() {
+        return jdbc.getJdbcTemplate().queryForObject(SNAPSHOT_XMIN_SQL, Long.class);
+    }
+
+    @Override
+    public List<TaskChange> findChangedSince(UUID userId, long sinceXid, long afterXid, @Nullable UUID afterId, int limit) {
+        Map<String, Object> params = new HashMap<>();
+        params.put("userId", userId);
+        params.put("since", Long.toString(sinceXid));
+        params.put("limit", limit);
+        if (afterId != null) {
+            params.put("afterXid", Long.toString(afterXid));
+            params.put("afterId", afterId);
+        }
+        return jdbc.query(afterId == null ? CHANGED_SINCE_SQL : CHANGED_AFTER_SQL, params,
+                (rs, i) -> new TaskChange(rowMapper.mapRow(rs, i), rs.getLong("change_seq")));
+    }
+
+    @Override
+    public List<UUID> findRemovedSince(UUID userId, long sinceXid) {
+        return jdbc.queryForList(REMOVED_SINCE_SQL, Map.of("userId", userId, "since", Long.toString(sinceXid)), UUID.class);
+    }
+
+    @Override
+    public Optional<TaskDto> findAuthorizedById(UUID id, UUID userId) {
+        return jdbc.query(BY_ID_SQL, Map.of("id", id, "userId", userId), rowMapper).stream().findFirst();
+    }
+}
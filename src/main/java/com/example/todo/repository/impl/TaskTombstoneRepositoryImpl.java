@@ -0,0 +1,62 @@
+package com.example.todo.repository.impl;
+
+import com.example.todo.entity.TaskShare.TaskShareId;
+import com.example.todo.repository.TaskTombstoneRepository;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Types;
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.UUID;
+
+@Repository
+public class TaskTombstoneRepositoryImpl implements TaskTombstoneRepository {
+
+    static final String RECORD_DELETED = """
+            INSERT INTO task_tombstone (task_id, user_id, reason)
+            SELECT t.id, t.owner_id, 'deleted' FROM task t WHERE t.id = ?
+            UNION ALL
+            SELECT s.task_id, s.user_id, 'deleted' FROM task_share s WHERE s.task_id = ?""";
+
+    static final String RECORD_UNSHARED = "INSERT INTO task_tombstone (task_id, user_id, reason) VALUES (?, ?, 'unshared')";
+
+    static final String RECORD_UNSHARED_ALL = """
+            INSERT INTO task_tombstone (task_id, user_id, reason)
+            SELECT s.task_id, s.user_id, 'unshared'
+            FROM unnest(CAST(? AS uuid[]), CAST(? AS uuid[])) AS s(task_id, user_id)""";
+
+    static final String PURGE = "DELETE FROM task_tombstone WHERE removed_at < ?";
+
+    private final JdbcTemplate jdbc;
+
+    public TaskTombstoneRepositoryImpl(JdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+    }
+
+    @Override
+    public void recordDeleted(UUID taskId) {
+        jdbc.update(RECORD_DELETED, taskId, taskId);
+    }
+
+    @Override
+    public void recordUnshared(UUID taskId, UUID userId) {
+        jdbc.update(RECORD_UNSHARED, taskId, userId);
+    }
+
+    @Override
+    public void recordUnshared(Collection<TaskShareId> shares) {
+        if (shares.isEmpty()) return;
+        UUID[] taskIds = shares.stream().map(TaskShareId::getTaskId).toArray(UUID[]::new);
+        UUID[] userIds = shares.stream().map(TaskShareId::getUserId).toArray(UUID[]::new);
+        jdbc.update(RECORD_UNSHARED_ALL, ps -> {
+            ps.setArray(1, ps.getConnection().createArrayOf("uuid", taskIds));
+            ps.setArray(2, ps.getConnection().createArrayOf("uuid", userIds));
+        });
+    }
+
+    @Override
+    public int purgeRemovedBefore(OffsetDateTime cutoff) {
+        return jdbc.update(PURGE, ps -> ps.setObject(1, cutoff, Types.TIMESTAMP_WITH_TIMEZONE));
+    }
+}
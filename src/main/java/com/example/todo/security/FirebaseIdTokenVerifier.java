@@ -3,7 +3,6 @@ package com.example.todo.security;
 
 import com.nimbusds.jose.JWSAlgorithm;
 import com.nimbusds.jose.jwk.source.JWKSource;
-import com.nimbusds.jose.jwk.source.RemoteJWKSet;
 import com.nimbusds.jose.proc.JWSAlgorithmFamilyJWSKeySelector;
 import com.nimbusds.jwt.JWTClaimsSet;
 import com.nimbusds.jwt.proc.ConfigurableJWTProcessor;
@@ -13,26 +12,22 @@ import com.nimbusds.jose.proc.SecurityContext;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import java.net.URL;
 import java.time.Instant;
 import java.util.List;
 
 @Service
 public class FirebaseIdTokenVerifier {
 
-    private static final String FIREBASE_JWK_URL =
-            "https://www.googleapis.com/robot/v1/metadata/jwk/securetoken@system.gserviceaccount.com";
-
     private final String projectId;
     private final String expectedIssuer;
     private final ConfigurableJWTProcessor<SecurityContext> jwtProcessor;
 
-    public FirebaseIdTokenVerifier(@Value("${firebase.project-id}") String projectId) throws Exception {
+    public FirebaseIdTokenVerifier(@Value("${firebase.project-id}") String projectId,
+                                   JWKSource<SecurityContext> jwkSource) {
         this.projectId = projectId;
         this.expectedIssuer = "https://securetoken.google.com/" + projectId;
 
-        // JWK source з кешем усередині Nimbus
-        JWKSource<SecurityContext> jwkSource = new RemoteJWKSet<>(new URL(FIREBASE_JWK_URL));
+        // ключі з пам'яті, оновлюються у фоні (RefreshingJwkSource)
         var keySelector = new JWSAlgorithmFamilyJWSKeySelector<SecurityContext>(
                 JWSAlgorithm.Family.RSA, jwkSource);
 
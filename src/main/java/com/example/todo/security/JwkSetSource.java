@@ -0,0 +1,17 @@
+package com.example.todo.security;
+
+import com.nimbusds.jose.jwk.JWKSet;
+import org.springframework.lang.Nullable;
+
+import java.time.Duration;
+
+/** Where the Firebase signing keys come from: Google's JWKS endpoint, or a local file/classpath stand-in. */
+@FunctionalInterface
+public interface JwkSetSource {
+
+    /** Fetches the current key set; blocking, only ever called from the refresh thread. */
+    Fetched fetch() throws Exception;
+
+    /** {@code maxAge} is how long the source says the keys stay valid (HTTP Cache-Control), null if unknown. */
+    record Fetched(JWKSet keys, @Nullable Duration maxAge) {}
+}
@@ -1,6 +1,5 @@
 package com.example.todo.security;
 
-import com.nimbusds.jwt.JWTClaimsSet;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -13,7 +12,6 @@ import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
 import java.util.List;
-import java.util.UUID;
 
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
@@ -49,14 +47,8 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         if (token != null) {
             try {
-                JWTClaimsSet claims = jwtService.verifyToken(token);
-                String sub = claims.getSubject();
-                if (sub == null) throw new RuntimeException("Missing sub claim");
-                UUID userId = UUID.fromString(sub);
-                String email = claims.getStringClaim("email");
-                String name = claims.getStringClaim("name");
-
-                UserPrincipal principal = new UserPrincipal(userId, email, name);
+                // cached per token digest; only a miss parses and verifies the JWT
+                UserPrincipal principal = jwtService.authenticate(token);
                 var authentication =
                         new UsernamePasswordAuthenticationToken(principal, null, List.of(() -> "ROLE_USER"));
                 SecurityContextHolder.getContext().setAuthentication(authentication);
@@ -1,22 +1,45 @@
 package com.example.todo.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import com.nimbusds.jose.*;
 import com.nimbusds.jose.crypto.MACSigner;
 import com.nimbusds.jose.crypto.MACVerifier;
 import com.nimbusds.jwt.*;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.text.ParseException;
+import java.time.Duration;
 import java.time.Instant;
 import java.util.Date;
+import java.util.HexFormat;
 import java.util.UUID;
 
 @Service
-public class JwtService {
+public class JwtService implements MeterBinder {
+
+    static final int VERIFIED_CACHE_MAX_SIZE = 10_000;
 
     private final String issuer;
     private final byte[] secret;
+    private final JWSVerifier verifier;
+
+    // SHA-256(token) → principal of an already verified token, dropped at the token's exp.
+    // Only tokens that passed verifyToken are put, and the digest covers the signature,
+    // so a forged or altered token can never hit an entry.
+    private final Cache<String, VerifiedToken> verified = Caffeine.newBuilder()
+            .maximumSize(VERIFIED_CACHE_MAX_SIZE)
+            .expireAfter(new UntilTokenExpiry())
+            .recordStats()
+            .build();
 
     public JwtService(@Value("${jwt.issuer}") String issuer,
                       @Value("${jwt.secret}") String secret) {
@@ -26,6 +49,11 @@ public class JwtService {
         }
 
         this.secret = secret.getBytes(StandardCharsets.UTF_8);
+        try {
+            this.verifier = new MACVerifier(this.secret);
+        } catch (JOSEException e) {
+            throw new IllegalArgumentException("Invalid JWT secret", e);
+        }
     }
 
     public String issueToken(UUID userId, String email, String displayName) {
@@ -50,12 +78,11 @@ public class JwtService {
 
     public JWTClaimsSet verifyToken(String token) throws Exception {
         SignedJWT jwt = SignedJWT.parse(token);
-        JWSVerifier verifier = new MACVerifier(secret);
         if (!jwt.verify(verifier)) {
             throw new IllegalArgumentException("Invalid JWT signature");
         }
         JWTClaimsSet claims = jwt.getJWTClaimsSet();
-        if (claims.getExpirationTime() == null || claims.getExpirationTime().before(new java.util.Date())) {
+        if (claims.getExpirationTime() == null || claims.getExpirationTime().before(new Date())) {
             throw new IllegalArgumentException("JWT expired");
         }
         if (!issuer.equals(claims.getIssuer())) {
@@ -63,4 +90,59 @@ public class JwtService {
         }
         return claims;
     }
+
+    /**
+     * Principal of a valid token. Repeated calls with the same token (the SPA resends its cookie
+     * on every request) are answered from the cache without parsing or recomputing the HMAC.
+     */
+    public UserPrincipal authenticate(String token) throws Exception {
+        String key = digest(token);
+        VerifiedToken hit = verified.getIfPresent(key);
+        if (hit != null && hit.expiresAt().isAfter(Instant.now())) {
+            return hit.principal();
+        }
+        JWTClaimsSet claims = verifyToken(token);
+        UserPrincipal principal = toPrincipal(claims);
+        verified.put(key, new VerifiedToken(principal, claims.getExpirationTime().toInstant()));
+        return principal;
+    }
+
+    static UserPrincipal toPrincipal(JWTClaimsSet claims) throws ParseException {
+        String sub = claims.getSubject();
+        if (sub == null) throw new IllegalArgumentException("Missing sub claim");
+        return new UserPrincipal(UUID.fromString(sub), claims.getStringClaim("email"), claims.getStringClaim("name"));
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, verified, "jwt.verified");
+    }
+
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    record VerifiedToken(UserPrincipal principal, Instant expiresAt) {}
+
+    private static final class UntilTokenExpiry implements Expiry<String, VerifiedToken> {
+        @Override
+        public long expireAfterCreate(String key, VerifiedToken value, long currentTime) {
+            return Math.max(0, Duration.between(Instant.now(), value.expiresAt()).toNanos());
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, VerifiedToken value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, VerifiedToken value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
 }
@@ -0,0 +1,159 @@
+package com.example.todo.security;
+
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKSelector;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.source.JWKSource;
+import com.nimbusds.jose.proc.SecurityContext;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * In-memory JWK set that is refreshed in the background, ahead of its expiry.
+ * <p>
+ * Request threads only ever read the current snapshot: once the keys are past their max-age
+ * they are still served (stale-while-revalidate) while a refresh runs on the refresh thread,
+ * and a failed refresh keeps the previous keys and is retried later. An unknown key id also
+ * triggers a refresh (key rotation), rate-limited so bogus tokens cannot hammer the source.
+ */
+public class RefreshingJwkSource implements JWKSource<SecurityContext>, MeterBinder, AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(RefreshingJwkSource.class);
+
+    static final String REFRESH_TIMER = "firebase.jwks.refresh";
+
+    // refresh at 80% of max-age, so the keys are renewed well before they go stale
+    private static final double REFRESH_AHEAD = 0.8;
+
+    private final JwkSetSource source;
+    private final Duration defaultTtl;
+    private final Duration retryDelay;
+    private final Clock clock;
+    private final ScheduledExecutorService scheduler;
+
+    private final AtomicReference<Snapshot> current = new AtomicReference<>();
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+    private volatile Instant lastAttempt = Instant.EPOCH;
+    private volatile ScheduledFuture<?> next;
+    private volatile MeterRegistry registry;
+
+    public RefreshingJwkSource(JwkSetSource source, Duration defaultTtl, Duration retryDelay, Clock clock) {
+        this.source = source;
+        this.defaultTtl = defaultTtl;
+        this.retryDelay = retryDelay;
+        this.clock = clock;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "jwks-refresh");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /** Initial load at startup (not on a request thread); on failure the app still starts and retries. */
+    public void start() {
+        refreshNow();
+    }
+
+    @Override
+    public List<JWK> get(JWKSelector selector, SecurityContext context) {
+        Snapshot snapshot = current.get();
+        if (snapshot == null) {
+            refreshAsync();
+            return List.of();
+        }
+        if (!clock.instant().isBefore(snapshot.expiresAt())) {
+            refreshAsync(); // serve stale, revalidate in the background
+        }
+        List<JWK> keys = selector.select(snapshot.keys());
+        if (keys.isEmpty()) {
+            refreshAsync();
+        }
+        return keys;
+    }
+
+    /** Loads the key set and schedules the next refresh; returns false if the source failed. */
+    boolean refreshNow() {
+        lastAttempt = clock.instant();
+        Timer.Sample sample = Timer.start();
+        boolean ok = false;
+        try {
+            JwkSetSource.Fetched fetched = source.fetch();
+            Duration ttl = fetched.maxAge() != null ? fetched.maxAge() : defaultTtl;
+            Instant now = clock.instant();
+            current.set(new Snapshot(fetched.keys(), now, now.plus(ttl)));
+            schedule(Duration.ofMillis((long) (ttl.toMillis() * REFRESH_AHEAD)));
+            ok = true;
+        } catch (Exception e) {
+            log.warn("JWKS refresh from {} failed, keeping {} and retrying in {}",
+                    source, current.get() == null ? "no keys" : "previous keys", retryDelay, e);
+            schedule(retryDelay);
+        } finally {
+            MeterRegistry r = registry;
+            if (r != null) {
+                sample.stop(Timer.builder(REFRESH_TIMER)
+                        .description("Fetching the Firebase signing keys")
+                        .tag("outcome", ok ? "success" : "failure")
+                        .register(r));
+            }
+        }
+        return ok;
+    }
+
+    private void refreshAsync() {
+        if (Duration.between(lastAttempt, clock.instant()).compareTo(retryDelay) < 0) return;
+        if (!refreshing.compareAndSet(false, true)) return;
+        try {
+            scheduler.execute(() -> {
+                try {
+                    refreshNow();
+                } finally {
+                    refreshing.set(false);
+                }
+            });
+        } catch (RuntimeException e) {
+            refreshing.set(false); // executor already shut down
+        }
+    }
+
+    private void schedule(Duration delay) {
+        ScheduledFuture<?> previous = next;
+        if (previous != null) previous.cancel(false);
+        if (scheduler.isShutdown()) return;
+        next = scheduler.schedule(this::refreshNow, Math.max(delay.toMillis(), 0), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        this.registry = registry;
+        Gauge.builder("firebase.jwks.age", this, s -> {
+                    Snapshot snapshot = s.current.get();
+                    return snapshot == null ? Double.NaN
+                            : Duration.between(snapshot.fetchedAt(), s.clock.instant()).toSeconds();
+                })
+                .description("Seconds since the signing keys were last fetched")
+                .baseUnit("seconds")
+                .register(registry);
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+
+    record Snapshot(JWKSet keys, Instant fetchedAt, Instant expiresAt) {}
+}
@@ -0,0 +1,76 @@
+package com.example.todo.security;
+
+import com.nimbusds.jose.jwk.JWKSet;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.core.io.Resource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.time.Duration;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * JWK set from a Spring resource location: {@code https://...} (Cache-Control max-age is honoured),
+ * {@code file:...} or {@code classpath:...} for tests and air-gapped environments.
+ */
+public class ResourceJwkSetSource implements JwkSetSource {
+
+    private static final Pattern MAX_AGE = Pattern.compile("max-age=(\\d+)");
+
+    private final Resource resource;
+    private final Duration timeout;
+
+    public ResourceJwkSetSource(String location, Duration timeout) {
+        this.resource = new DefaultResourceLoader().getResource(location);
+        this.timeout = timeout;
+    }
+
+    @Override
+    public Fetched fetch() throws Exception {
+        if (isHttp()) {
+            return fetchHttp(resource.getURL());
+        }
+        try (InputStream in = resource.getInputStream()) {
+            return new Fetched(JWKSet.load(in), null);
+        }
+    }
+
+    private boolean isHttp() {
+        try {
+            String protocol = resource.getURL().getProtocol();
+            return "http".equals(protocol) || "https".equals(protocol);
+        } catch (IOException e) {
+            return false; // classpath resource that does not exist yet, etc.
+        }
+    }
+
+    private Fetched fetchHttp(URL url) throws Exception {
+        HttpURLConnection conn = (HttpURLConnection) url.openConnection();
+        conn.setConnectTimeout((int) timeout.toMillis());
+        conn.setReadTimeout((int) timeout.toMillis());
+        try {
+            if (conn.getResponseCode() != HttpURLConnection.HTTP_OK) {
+                throw new IOException("JWKS fetch failed: HTTP " + conn.getResponseCode());
+            }
+            try (InputStream in = conn.getInputStream()) {
+                return new Fetched(JWKSet.load(in), maxAge(conn.getHeaderField("Cache-Control")));
+            }
+        } finally {
+            conn.disconnect();
+        }
+    }
+
+    static Duration maxAge(String cacheControl) {
+        if (cacheControl == null) return null;
+        Matcher m = MAX_AGE.matcher(cacheControl);
+        return m.find() ? Duration.ofSeconds(Long.parseLong(m.group(1))) : null;
+    }
+
+    @Override
+    public String toString() {
+        return resource.getDescription();
+    }
+}
@@ -0,0 +1,134 @@
+package com.example.todo.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caps concurrent TaskService / TaskSyncService transactions at the size of the connection pool.
+ * <p>
+ * With virtual threads the number of in-flight requests is practically unbounded, while Hikari
+ * only has a handful of connections: the excess would all block inside Hikari until
+ * connectionTimeout (30s) and then fail with a 500. Here they wait in a fair semaphore for at
+ * most {@code todo.db-limiter.max-wait} and are then rejected with 503 + Retry-After.
+ * Runs before the transaction interceptor, so a waiting caller holds no connection.
+ * <p>
+ * {@link LongRunning} calls (exports) get a separate bulkhead of {@code todo.db-limiter.export-permits},
+ * carved out of the same total: however many exports are running, the other
+ * {@code permits - export-permits} transactions are still admitted.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@ConditionalOnProperty(name = "todo.db-limiter.enabled", havingValue = "true", matchIfMissing = true)
+public class DbAdmissionLimiter implements MeterBinder {
+
+    // nested TaskService calls through the proxy already hold a permit
+    private static final ThreadLocal<Boolean> ADMITTED = new ThreadLocal<>();
+
+    private static final String TRANSACTIONAL = "within(com.example.todo.service.Task*Service) "
+            + "&& @annotation(org.springframework.transaction.annotation.Transactional)";
+    private static final String LONG_RUNNING = "@annotation(com.example.todo.service.LongRunning)";
+
+    private final int permits;
+    private final int exportPermits;
+    private final Semaphore semaphore;
+    private final Semaphore exports;
+    private final Duration maxWait;
+    private volatile Counter rejected;
+
+    public DbAdmissionLimiter(
+            @Value("${todo.db-limiter.permits:${spring.datasource.hikari.maximum-pool-size:10}}") int permits,
+            @Value("${todo.db-limiter.export-permits:1}") int exportPermits,
+            @Value("${todo.db-limiter.max-wait:PT2S}") Duration maxWait) {
+        if (exportPermits < 1) throw new IllegalArgumentException("todo.db-limiter.export-permits must be positive");
+        if (permits - exportPermits < 1) {
+            throw new IllegalArgumentException("todo.db-limiter.permits must exceed todo.db-limiter.export-permits");
+        }
+        this.permits = permits - exportPermits;
+        this.exportPermits = exportPermits;
+        this.semaphore = new Semaphore(this.permits, true);
+        this.exports = new Semaphore(exportPermits, true);
+        this.maxWait = maxWait;
+    }
+
+    @Around(TRANSACTIONAL + " && !" + LONG_RUNNING)
+    public Object admit(ProceedingJoinPoint pjp) throws Throwable {
+        return admit(pjp, semaphore);
+    }
+
+    @Around(TRANSACTIONAL + " && " + LONG_RUNNING)
+    public Object admitLongRunning(ProceedingJoinPoint pjp) throws Throwable {
+        return admit(pjp, exports);
+    }
+
+    private Object admit(ProceedingJoinPoint pjp, Semaphore semaphore) throws Throwable {
+        if (ADMITTED.get() != null) {
+            return pjp.proceed();
+        }
+        if (!semaphore.tryAcquire(maxWait.toMillis(), TimeUnit.MILLISECONDS)) {
+            Counter c = rejected;
+            if (c != null) c.increment();
+            throw new OverloadedException(retryAfter());
+        }
+        ADMITTED.set(Boolean.TRUE);
+        try {
+            return pjp.proceed();
+        } finally {
+            ADMITTED.remove();
+            semaphore.release();
+        }
+    }
+
+    Duration retryAfter() {
+        return Duration.ofSeconds(Math.max(1, (maxWait.toMillis() + 999) / 1000));
+    }
+
+    int availablePermits() {
+        return semaphore.availablePermits();
+    }
+
+    int availableExportPermits() {
+        return exports.availablePermits();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("todo.db.limiter.in_use", semaphore, s -> permits - s.availablePermits())
+                .description("TaskService transactions currently admitted")
+                .register(registry);
+        Gauge.builder("todo.db.limiter.waiting", semaphore, Semaphore::getQueueLength)
+                .description("Callers waiting for a permit")
+                .register(registry);
+        Gauge.builder("todo.db.limiter.exports.in_use", exports, s -> exportPermits - s.availablePermits())
+                .description("Long-running (export) transactions currently admitted")
+                .register(registry);
+        rejected = Counter.builder("todo.db.limiter.rejected")
+                .description("Calls rejected with 503 after waiting max-wait")
+                .register(registry);
+    }
+
+    public static class OverloadedException extends RuntimeException {
+        private final Duration retryAfter;
+
+        public OverloadedException(Duration retryAfter) {
+            super("Server is busy, retry later");
+            this.retryAfter = retryAfter;
+        }
+
+        public Duration getRetryAfter() { return retryAfter; }
+    }
+}
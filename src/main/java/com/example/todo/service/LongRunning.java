@@ -0,0 +1,18 @@
+package com.example.todo.service;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a transactional service method that may hold its connection for minutes (exports).
+ * {@link DbAdmissionLimiter} admits these through their own small bulkhead, so they can never
+ * take the permits that ordinary requests need.
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface LongRunning {
+}
@@ -0,0 +1,169 @@
+package com.example.todo.service;
+
+import com.example.todo.repository.TaskAccess;
+import com.example.todo.repository.TaskReadRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Access decisions {@code (taskId, userId) → owner | editor | viewer | none}, cached so that owner
+ * and editor checks on writes do not re-read the task and its share. A miss costs one
+ * {@link TaskReadRepository#findAccess} query; tasks that do not exist are never cached.
+ * <p>
+ * Entries are dropped when access changes: on this node right away and again after the writing
+ * transaction completes (a concurrent miss could otherwise re-load the pre-commit decision), on the
+ * other nodes through the {@link TaskChangeEvent}s of {@link TaskChangeListener}. Missed notifications
+ * clear the whole cache; the TTL bounds whatever is left. Without the listener
+ * ({@code todo.stream.enabled=false}) nothing would reach the other nodes, so every call goes to the
+ * database instead. Hit ratio: {@code cache.gets} of {@code task.access}.
+ * <p>
+ * Cached users are indexed by task, so dropping a task's decisions touches only its own entries.
+ */
+@Component
+public class TaskAccessCache implements MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskAccessCache.class);
+
+    private final TaskReadRepository readRepo;
+    private final boolean enabled;
+    private final Cache<Key, TaskAccess> decisions;
+    // taskId → users with a cached decision; changed only inside compute* of the task's mapping, and
+    // by the eviction listener, which runs atomically with the removal of its key
+    private final Map<UUID, Set<UUID>> usersByTask = new ConcurrentHashMap<>();
+
+    @Autowired
+    public TaskAccessCache(TaskReadRepository readRepo, Optional<TaskChangeListener> listener,
+                           @Value("${todo.access-cache.max-size:50000}") long maxSize,
+                           @Value("${todo.access-cache.ttl:PT5M}") Duration ttl) {
+        this(readRepo, listener.isPresent(), maxSize, ttl);
+        if (!enabled) log.info("Task access cache disabled: no change listener to invalidate it across nodes");
+    }
+
+    TaskAccessCache(TaskReadRepository readRepo, boolean enabled, long maxSize, Duration ttl) {
+        this.readRepo = readRepo;
+        this.enabled = enabled;
+        this.decisions = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .<Key, TaskAccess>evictionListener((key, access, cause) -> unindex(key))
+                .recordStats()
+                .build();
+    }
+
+    /** The user's access to the task; empty when the task does not exist. */
+    public Optional<TaskAccess> resolve(UUID taskId, UUID userId) {
+        if (!enabled) return readRepo.findAccess(taskId, userId);
+        // a null from the loader (no such task) is returned but not stored
+        return Optional.ofNullable(decisions.get(new Key(taskId, userId), k -> {
+            TaskAccess access = readRepo.findAccess(k.taskId(), k.userId()).orElse(null);
+            if (access != null) index(k);
+            return access;
+        }));
+    }
+
+    /** True only when a cached decision says the user cannot see the task; never queries. */
+    public boolean knownDenied(UUID taskId, UUID userId) {
+        return decisions.getIfPresent(new Key(taskId, userId)) == TaskAccess.none;
+    }
+
+    /** The user's share of the task changed (granted, role changed, revoked). */
+    public void invalidate(UUID taskId, UUID userId) {
+        Key key = new Key(taskId, userId);
+        afterCompletion(() -> drop(key));
+    }
+
+    /** Every decision about the task is stale: it was deleted or changed owner. */
+    public void invalidateTask(UUID taskId) {
+        afterCompletion(() -> dropTask(taskId));
+    }
+
+    @EventListener
+    public void onChange(TaskChangeEvent change) {
+        switch (change.type()) {
+            case deleted -> dropTask(change.taskId());
+            case shared, unshared -> change.users().forEach(u -> drop(new Key(change.taskId(), u)));
+            default -> { /* created / updated leave access as it was */ }
+        }
+    }
+
+    // notifications were missed while the listener was away: any entry may be stale
+    @EventListener
+    public void onReconnected(TaskChangeListener.Reconnected reconnected) {
+        usersByTask.clear(); // first: an entry loaded in between is still dropped, and indexed after
+        decisions.invalidateAll();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, decisions, "task.access");
+    }
+
+    double hitRate() {
+        return decisions.stats().hitRate();
+    }
+
+    int indexedTasks() {
+        return usersByTask.size();
+    }
+
+    private void drop(Key key) {
+        decisions.asMap().computeIfPresent(key, (k, access) -> {
+            unindex(k);
+            return null;
+        });
+    }
+
+    private void dropTask(UUID taskId) {
+        Set<UUID> users = usersByTask.remove(taskId);
+        if (users == null) return;
+        for (UUID userId : users) decisions.invalidate(new Key(taskId, userId));
+    }
+
+    private void index(Key key) {
+        usersByTask.compute(key.taskId(), (t, users) -> {
+            Set<UUID> set = users == null ? new HashSet<>() : users;
+            set.add(key.userId());
+            return set;
+        });
+    }
+
+    private void unindex(Key key) {
+        usersByTask.computeIfPresent(key.taskId(), (t, users) -> {
+            users.remove(key.userId());
+            return users.isEmpty() ? null : users;
+        });
+    }
+
+    private static void afterCompletion(Runnable invalidation) {
+        invalidation.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    invalidation.run();
+                }
+            });
+        }
+    }
+
+    record Key(UUID taskId, UUID userId) {}
+}
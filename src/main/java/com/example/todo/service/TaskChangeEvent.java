@@ -0,0 +1,15 @@
+package com.example.todo.service;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * One task write, as sent through pg_notify by {@link TaskChangePublisher} and re-published
+ * as an application event on every node by {@link TaskChangeListener}; both (de)serialize it
+ * as JSON with the application's ObjectMapper.
+ * {@code users} are the recipients: the owner plus everyone the task is (or was) shared with.
+ */
+public record TaskChangeEvent(UUID taskId, Type type, Integer version, List<UUID> users) {
+
+    public enum Type { created, updated, deleted, shared, unshared }
+}
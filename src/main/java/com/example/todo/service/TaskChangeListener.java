@@ -0,0 +1,137 @@
+package com.example.todo.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+
+/**
+ * LISTENs on {@link TaskChangePublisher#CHANNEL} over one dedicated connection per node (outside
+ * the Hikari pool, which it would otherwise hold forever) and re-publishes every notification as a
+ * {@link TaskChangeEvent} application event. Open SSE streams are in-memory subscribers of those
+ * events, so they cost no database work of their own.
+ * <p>
+ * A lost connection is re-opened with backoff; notifications sent meanwhile are gone, which is
+ * announced with {@link Reconnected} so clients can catch up through the delta sync.
+ */
+@Component
+@ConditionalOnProperty(prefix = "todo.stream", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class TaskChangeListener implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskChangeListener.class);
+
+    // how long one getNotifications() call blocks; an idle connection is checked in between
+    static final Duration POLL_INTERVAL = Duration.ofSeconds(10);
+    static final Duration MIN_BACKOFF = Duration.ofSeconds(1);
+    static final Duration MAX_BACKOFF = Duration.ofSeconds(30);
+
+    private final DataSourceProperties dataSource;
+    private final ApplicationEventPublisher events;
+    private final ObjectReader eventReader;
+
+    private volatile boolean running;
+    private volatile Thread thread;
+    private volatile Connection connection;
+
+    public TaskChangeListener(DataSourceProperties dataSource, ApplicationEventPublisher events,
+                              ObjectMapper objectMapper) {
+        this.dataSource = dataSource;
+        this.events = events;
+        this.eventReader = objectMapper.readerFor(TaskChangeEvent.class);
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        thread = Thread.ofPlatform().name("task-change-listener").daemon().start(this::run);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        Thread t = thread;
+        if (t != null) t.interrupt();
+        closeQuietly(connection);
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void run() {
+        Duration backoff = MIN_BACKOFF;
+        boolean connectedBefore = false;
+        while (running) {
+            try (Connection c = DriverManager.getConnection(
+                    dataSource.determineUrl(), dataSource.determineUsername(), dataSource.determinePassword())) {
+                connection = c;
+                try (Statement st = c.createStatement()) {
+                    st.execute("LISTEN " + TaskChangePublisher.CHANNEL);
+                }
+                if (connectedBefore) events.publishEvent(new Reconnected());
+                connectedBefore = true;
+                backoff = MIN_BACKOFF;
+                listen(c.unwrap(PGConnection.class), c);
+            } catch (SQLException e) {
+                if (!running) return;
+                log.warn("Task change listener lost its connection, reconnecting in {}", backoff, e);
+                try {
+                    Thread.sleep(backoff.toMillis());
+                } catch (InterruptedException ie) {
+                    return;
+                }
+                backoff = backoff.multipliedBy(2).compareTo(MAX_BACKOFF) > 0 ? MAX_BACKOFF : backoff.multipliedBy(2);
+            }
+        }
+    }
+
+    private void listen(PGConnection pg, Connection c) throws SQLException {
+        while (running) {
+            PGNotification[] notifications = pg.getNotifications((int) POLL_INTERVAL.toMillis());
+            if (notifications == null || notifications.length == 0) {
+                // a silently dropped TCP connection would otherwise just look like a quiet channel
+                if (!c.isValid(5)) throw new SQLException("Listener connection is no longer valid");
+                continue;
+            }
+            for (PGNotification n : notifications) {
+                dispatch(n.getParameter());
+            }
+        }
+    }
+
+    void dispatch(String payload) {
+        try {
+            events.publishEvent(eventReader.<TaskChangeEvent>readValue(payload));
+        } catch (IOException | RuntimeException e) {
+            // one bad payload or failing subscriber must not stop the listener
+            log.warn("Dropping task change notification {}", payload, e);
+        }
+    }
+
+    private static void closeQuietly(Connection c) {
+        if (c == null) return;
+        try {
+            c.close();
+        } catch (SQLException ignored) {
+            // shutting down anyway
+        }
+    }
+
+    /** The listener re-connected: changes made while it was away were not delivered. */
+    public record Reconnected() {}
+}
@@ -0,0 +1,68 @@
+package com.example.todo.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Sends task changes to every node through Postgres NOTIFY. Runs on the connection of the
+ * surrounding transaction: Postgres holds the notification until commit and drops it on
+ * rollback, so listeners never hear about writes that did not happen. Whatever the number of
+ * changes and recipients, a publish is one statement.
+ */
+@Component
+public class TaskChangePublisher {
+
+    static final String CHANNEL = "task_changes";
+
+    // NOTIFY payloads are capped at 8000 bytes; a user id takes ~40 of them in the JSON
+    static final int MAX_USERS_PER_NOTIFY = 150;
+
+    static final String NOTIFY_SQL = "SELECT pg_notify(?, p) FROM unnest(CAST(? AS text[])) AS p";
+
+    private final JdbcTemplate jdbc;
+    private final ObjectWriter eventWriter;
+
+    public TaskChangePublisher(JdbcTemplate jdbc, ObjectMapper objectMapper) {
+        this.jdbc = jdbc;
+        this.eventWriter = objectMapper.writerFor(TaskChangeEvent.class);
+    }
+
+    public void publish(UUID taskId, TaskChangeEvent.Type type, Integer version, Collection<UUID> users) {
+        publishAll(List.of(new TaskChangeEvent(taskId, type, version, List.copyOf(users))));
+    }
+
+    /** The changes of a batch write, in one round trip. */
+    public void publishAll(Collection<TaskChangeEvent> events) {
+        List<String> payloads = new ArrayList<>();
+        for (TaskChangeEvent event : events) {
+            List<UUID> recipients = List.copyOf(new LinkedHashSet<>(event.users()));
+            for (int from = 0; from < recipients.size(); from += MAX_USERS_PER_NOTIFY) {
+                List<UUID> chunk = recipients.subList(from, Math.min(from + MAX_USERS_PER_NOTIFY, recipients.size()));
+                payloads.add(toJson(new TaskChangeEvent(event.taskId(), event.type(), event.version(), chunk)));
+            }
+        }
+        if (payloads.isEmpty()) return;
+        jdbc.query(NOTIFY_SQL, ps -> {
+            ps.setString(1, CHANNEL);
+            ps.setArray(2, ps.getConnection().createArrayOf("text", payloads.toArray()));
+        }, (ResultSetExtractor<Void>) rs -> null);
+    }
+
+    private String toJson(TaskChangeEvent event) {
+        try {
+            return eventWriter.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize task change", e);
+        }
+    }
+}
@@ -0,0 +1,203 @@
+package com.example.todo.service;
+
+import com.example.todo.dto.TaskCreateDto;
+import com.example.todo.dto.TaskImportEventDto;
+import com.example.todo.mapper.TaskMapper;
+import com.example.todo.util.CsvReader;
+import com.fasterxml.jackson.core.JacksonException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk import of an uploaded NDJSON or CSV body. Rows are parsed one at a time and committed
+ * in chunks of {@link #BATCH_SIZE} (one transaction each, see {@link TaskService#importTasks}),
+ * so memory use does not depend on the size of the upload. Invalid rows are reported and
+ * skipped; rows of earlier chunks stay committed if a later chunk fails.
+ */
+@Service
+public class TaskImportService {
+
+    public static final int BATCH_SIZE = 1000;
+
+    public enum Format { NDJSON, CSV }
+
+    private final TaskService taskService;
+    private final TaskMapper mapper;
+    private final ObjectReader rowReader;
+    private final Validator validator;
+
+    public TaskImportService(TaskService taskService, TaskMapper mapper, ObjectMapper objectMapper, Validator validator) {
+        this.taskService = taskService;
+        this.mapper = mapper;
+        this.rowReader = objectMapper.readerFor(TaskCreateDto.class);
+        this.validator = validator;
+    }
+
+    /** Emits error/progress events while importing and returns the final "done" summary (also emitted). */
+    public TaskImportEventDto importTasks(UUID ownerId, InputStream body, Format format,
+                                          Consumer<TaskImportEventDto> events) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+        Progress progress = new Progress(ownerId, events);
+        try {
+            if (format == Format.CSV) readCsv(reader, progress);
+            else readNdjson(reader, progress);
+        } catch (IOException e) {
+            // malformed structure (e.g. unterminated quote): nothing after this point can be trusted
+            progress.error(null, e.getMessage());
+        }
+        progress.flush();
+        TaskImportEventDto done = progress.event("done", null, null);
+        events.accept(done);
+        return done;
+    }
+
+    private void readNdjson(BufferedReader reader, Progress progress) throws IOException {
+        long lineNo = 0;
+        for (String line; (line = reader.readLine()) != null; ) {
+            lineNo++;
+            if (line.isBlank()) continue;
+            TaskCreateDto dto;
+            try {
+                dto = rowReader.readValue(line);
+            } catch (JacksonException e) {
+                progress.rowError(lineNo, "Malformed JSON: " + e.getOriginalMessage());
+                continue;
+            }
+            progress.row(lineNo, dto);
+        }
+    }
+
+    private void readCsv(BufferedReader reader, Progress progress) throws IOException {
+        CsvReader csv = new CsvReader(reader);
+        List<String> header = csv.next();
+        if (header == null) return;
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) columns.put(header.get(i).trim(), i);
+        if (!columns.containsKey("title")) {
+            progress.error(csv.recordLine(), "CSV header must contain a \"title\" column");
+            return;
+        }
+        for (List<String> record; (record = csv.next()) != null; ) {
+            if (record.size() == 1 && record.get(0).isEmpty()) continue;
+            long lineNo = csv.recordLine();
+            TaskCreateDto dto;
+            try {
+                dto = fromCsv(record, columns);
+            } catch (RuntimeException e) {
+                progress.rowError(lineNo, "Invalid value: " + e.getMessage());
+                continue;
+            }
+            progress.row(lineNo, dto);
+        }
+    }
+
+    // same column names as the CSV export; unknown columns (id, ownerEmail, ...) are ignored
+    private TaskCreateDto fromCsv(List<String> record, Map<String, Integer> columns) {
+        TaskCreateDto dto = new TaskCreateDto();
+        dto.title = cell(record, columns, "title");
+        dto.description = cell(record, columns, "description");
+        dto.category = cell(record, columns, "category");
+        dto.priority = cell(record, columns, "priority");
+        dto.source = cell(record, columns, "source");
+        String completed = cell(record, columns, "completed");
+        if (completed != null) dto.completed = Boolean.parseBoolean(completed);
+        String due = cell(record, columns, "dueDate");
+        if (due != null) dto.dueDate = OffsetDateTime.parse(due);
+        String tags = cell(record, columns, "tags");
+        if (tags != null) dto.tags = Arrays.asList(tags.split(";"));
+        String metadata = cell(record, columns, "metadata");
+        if (metadata != null) dto.metadata = mapper.jsonToMap(metadata);
+        return dto;
+    }
+
+    private static String cell(List<String> record, Map<String, Integer> columns, String name) {
+        Integer i = columns.get(name);
+        if (i == null || i >= record.size()) return null;
+        String v = record.get(i);
+        return StringUtils.hasText(v) ? v : null;
+    }
+
+    /** Running counters + the pending chunk; one instance per upload. */
+    private final class Progress {
+        private final UUID ownerId;
+        private final Consumer<TaskImportEventDto> events;
+        private List<TaskCreateDto> chunk = new ArrayList<>(BATCH_SIZE);
+        private long firstLineOfChunk;
+        private long lastLine;
+        private long processed;
+        private long imported;
+        private long failed;
+
+        Progress(UUID ownerId, Consumer<TaskImportEventDto> events) {
+            this.ownerId = ownerId;
+            this.events = events;
+        }
+
+        void row(long line, TaskCreateDto dto) {
+            Set<ConstraintViolation<TaskCreateDto>> violations = validator.validate(dto);
+            if (!violations.isEmpty()) {
+                rowError(line, violations.stream()
+                        .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                        .sorted()
+                        .collect(Collectors.joining("; ")));
+                return;
+            }
+            processed++;
+            if (chunk.isEmpty()) firstLineOfChunk = line;
+            lastLine = line;
+            chunk.add(dto);
+            if (chunk.size() == BATCH_SIZE) flush();
+        }
+
+        void rowError(long line, String message) {
+            processed++;
+            failed++;
+            events.accept(event("error", line, message));
+        }
+
+        // not tied to a row (header, broken structure): reported, not counted
+        void error(Long line, String message) {
+            events.accept(event("error", line, message));
+        }
+
+        void flush() {
+            if (chunk.isEmpty()) return;
+            try {
+                imported += taskService.importTasks(ownerId, chunk);
+            } catch (RuntimeException e) {
+                // the whole chunk was rolled back; report it and carry on with the next one
+                failed += chunk.size();
+                events.accept(event("error", firstLineOfChunk,
+                        "Rows on lines " + firstLineOfChunk + "-" + lastLine + " were not imported: " + e.getMessage()));
+                chunk = new ArrayList<>(BATCH_SIZE);
+                return;
+            }
+            chunk = new ArrayList<>(BATCH_SIZE);
+            events.accept(event("progress", null, null));
+        }
+
+        TaskImportEventDto event(String type, Long line, String message) {
+            return new TaskImportEventDto(type, line, message, processed, imported, failed);
+        }
+    }
+}
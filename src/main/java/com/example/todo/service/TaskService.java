@@ -1,11 +1,13 @@
 package com.example.todo.service;
 
+import com.example.todo.dto.TaskBatchPatchDto;
+import com.example.todo.dto.TaskBatchPatchResultDto;
 import com.example.todo.dto.TaskCreateDto;
 import com.example.todo.dto.TaskDto;
+import com.example.todo.dto.TaskPageDto;
 import com.example.todo.dto.TaskPatchDto;
 import com.example.todo.entity.AppUser;
 import com.example.todo.entity.Task;
-import com.example.todo.entity.TaskShare;
 import com.example.todo.entity.TaskShare.TaskShareId;
 import com.example.todo.entity.enums.ShareRole;
 import com.example.todo.dto.SharedUserDto;
@@ -13,38 +15,130 @@ import com.example.todo.entity.enums.TaskPriority;
 import com.example.todo.entity.enums.TaskStatus;
 import com.example.todo.mapper.TaskMapper;
 import com.example.todo.repository.AppUserRepository;
+import com.example.todo.repository.TaskAccess;
+import com.example.todo.repository.TaskAccessState;
+import com.example.todo.repository.TaskBulkRepository;
+import com.example.todo.repository.TaskCollectionStamp;
+import com.example.todo.repository.TaskFilter;
+import com.example.todo.repository.TaskReadRepository;
 import com.example.todo.repository.TaskRepository;
+import com.example.todo.repository.TaskSearchMode;
 import com.example.todo.repository.TaskShareRepository;
+import com.example.todo.repository.TaskTombstoneRepository;
+import com.example.todo.repository.TaskUpdate;
+import com.example.todo.util.PageCursor;
+import com.example.todo.util.TagUtil;
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.persistence.OptimisticLockException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
 import java.util.UUID;
-import java.util.stream.Collectors;
+import java.util.function.Consumer;
 
 @Service
 public class TaskService {
 
+    public static final int MAX_PAGE_SIZE = 100;
+    public static final int MAX_BATCH_SIZE = 1000;
+
     private final TaskRepository taskRepo;
+    private final TaskReadRepository readRepo;
+    private final TaskBulkRepository bulkRepo;
+    private final TaskTombstoneRepository tombstoneRepo;
     private final AppUserRepository userRepo;
     private final TaskShareRepository shareRepo;
     private final TaskMapper mapper;
+    private final TaskChangePublisher changes;
+    private final TaskAccessCache access;
 
-    public TaskService(TaskRepository taskRepo, AppUserRepository userRepo, TaskShareRepository shareRepo, TaskMapper mapper) {
+    public TaskService(TaskRepository taskRepo, TaskReadRepository readRepo, TaskBulkRepository bulkRepo,
+                       TaskTombstoneRepository tombstoneRepo, AppUserRepository userRepo,
+                       TaskShareRepository shareRepo, TaskMapper mapper, TaskChangePublisher changes,
+                       TaskAccessCache access) {
         this.taskRepo = taskRepo;
+        this.readRepo = readRepo;
+        this.bulkRepo = bulkRepo;
+        this.tombstoneRepo = tombstoneRepo;
         this.userRepo = userRepo;
         this.shareRepo = shareRepo;
         this.mapper = mapper;
+        this.changes = changes;
+        this.access = access;
+    }
+
+    @Transactional(readOnly = true)
+    public TaskPageDto listTasks(UUID currentUserId, String q, TaskSearchMode mode, TaskStatus status, TaskPriority priority,
+                                 Map<String, String> metadata, String cursor, Integer limit) {
+        TaskFilter filter = new TaskFilter(StringUtils.hasText(q) ? q.trim() : null, mode, status, priority, metadata);
+        PageCursor after = PageCursor.decode(cursor);
+        if (after != null && filter.isRanked() && after.score() == null) {
+            throw new IllegalArgumentException("Cursor does not belong to a search listing");
+        }
+        int size = pageSize(limit);
+        // one extra row tells us whether there is a next page without a count(*)
+        List<TaskDto> rows = readRepo.findAccessiblePage(currentUserId, filter, after, size + 1);
+        boolean hasMore = rows.size() > size;
+        List<TaskDto> items = hasMore ? rows.subList(0, size) : rows;
+        String next = null;
+        if (hasMore) {
+            TaskDto last = items.get(items.size() - 1);
+            next = new PageCursor(last.updatedAt, last.id, last.score).encode();
+        }
+        return new TaskPageDto(items, next);
+    }
+
+    /**
+     * Opaque version of the listing for this user and filter (cursor and limit aside); equal values mean
+     * every page of it is unchanged. Read before the page itself, so a concurrent write can only make the
+     * returned ETag older than the body (a needless 200 later), never newer (a wrong 304).
+     */
+    @Transactional(readOnly = true)
+    public String listVersion(UUID currentUserId, String q, TaskSearchMode mode, TaskStatus status, TaskPriority priority,
+                              Map<String, String> metadata) {
+        TaskFilter filter = new TaskFilter(StringUtils.hasText(q) ? q.trim() : null, mode, status, priority, metadata);
+        TaskCollectionStamp stamp = readRepo.findCollectionStamp(currentUserId, filter);
+        // canonical filter text (sorted metadata): the same listing must hash the same on every instance
+        String raw = currentUserId + "|" + filter.q() + "|" + filter.searchMode() + "|" + filter.status() + "|"
+                + filter.priority() + "|" + new TreeMap<>(filter.metadata()) + "|" + stamp.count() + "|"
+                + (stamp.lastUpdated() == null ? "-" : stamp.lastUpdated().toInstant()) + "|" + stamp.fingerprint();
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(raw.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest, 0, 12);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
     }
 
+    // rows are handed to the sink while the cursor is open; the caller writes them out and drops them.
+    // The connection is held as long as the client reads, so exports go through their own bulkhead
+    @LongRunning
     @Transactional(readOnly = true)
-    public List<TaskDto> listTasks(UUID currentUserId, String q, TaskStatus status, TaskPriority priority) {
-        String qparam = StringUtils.hasText(q) ? "%" + q + "%" : null;
-        List<Task> tasks = taskRepo.findAllAccessibleNative(currentUserId, qparam, status == null ? null : status.name(), priority == null ? null : priority.name());
-        return tasks.stream().map(mapper::toDto).collect(Collectors.toList());
+    public void exportTasks(UUID currentUserId, String q, TaskSearchMode mode, TaskStatus status, TaskPriority priority,
+                            Map<String, String> metadata, Consumer<TaskDto> sink) {
+        TaskFilter filter = new TaskFilter(StringUtils.hasText(q) ? q.trim() : null, mode, status, priority, metadata);
+        readRepo.streamAccessible(currentUserId, filter, sink);
+    }
+
+    static int pageSize(Integer limit) {
+        if (limit == null) return MAX_PAGE_SIZE;
+        return Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
     }
 
     @Transactional
@@ -53,69 +147,245 @@ public class TaskService {
         AppUser owner = userRepo.findById(ownerId).orElseThrow(() -> new EntityNotFoundException("Owner not found"));
         entity.setOwner(owner);
         Task saved = taskRepo.save(entity);
-        return mapper.toDto(saved);
+        TaskDto created = mapper.toDto(saved);
+        changes.publish(created.id, TaskChangeEvent.Type.created, created.version, List.of(ownerId));
+        return created;
+    }
+
+    // one transaction; inserts (tasks and their tags) go out in JDBC batches of hibernate.jdbc.batch_size
+    @Transactional
+    public List<TaskDto> createTasks(UUID ownerId, List<TaskCreateDto> dtos) {
+        if (dtos == null || dtos.isEmpty()) throw new IllegalArgumentException("Batch is empty");
+        if (dtos.size() > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("Batch exceeds " + MAX_BATCH_SIZE + " tasks");
+        }
+        // the caller is authenticated, so the owner exists: a reference is enough, no SELECT
+        AppUser owner = userRepo.getReferenceById(ownerId);
+        List<Task> entities = new ArrayList<>(dtos.size());
+        for (TaskCreateDto dto : dtos) {
+            Task entity = mapper.toEntity(dto);
+            entity.setOwner(owner);
+            entities.add(entity);
+        }
+        taskRepo.saveAll(entities);
+        taskRepo.flush();
+        List<TaskDto> created = entities.stream().map(mapper::toDto).toList();
+        changes.publishAll(created.stream()
+                .map(d -> new TaskChangeEvent(d.id, TaskChangeEvent.Type.created, d.version, List.of(ownerId)))
+                .toList());
+        return created;
+    }
+
+    // import path: one transaction per chunk of rows, plain JDBC batches, no persistence context.
+    // The chunk's created events go out with its commit (pg_notify is transactional), like createTasks
+    @Transactional
+    public int importTasks(UUID ownerId, List<TaskCreateDto> rows) {
+        List<Task> entities = new ArrayList<>(rows.size());
+        for (TaskCreateDto dto : rows) {
+            Task entity = mapper.toEntity(dto);
+            entity.setId(UUID.randomUUID());
+            if (entity.getSource() == null) entity.setSource("import");
+            entity.prePersist();
+            entity.setTags(TagUtil.distinct(entity.getTags()));
+            entities.add(entity);
+        }
+        bulkRepo.insertAll(ownerId, entities);
+        changes.publishAll(entities.stream()
+                .map(t -> new TaskChangeEvent(t.getId(), TaskChangeEvent.Type.created, t.getVersion(), List.of(ownerId)))
+                .toList());
+        return entities.size();
     }
 
     @Transactional(readOnly = true)
     public TaskDto getTask(UUID taskId, UUID currentUserId) {
-        Task t = taskRepo.findAuthorizedById(taskId, currentUserId).orElseThrow(() -> new EntityNotFoundException("Task not found or access denied"));
-        return mapper.toDto(t);
+        // a cached "none" is answered without a query; everything else goes through the authorized read
+        if (access.knownDenied(taskId, currentUserId)) throw new EntityNotFoundException("Task not found or access denied");
+        return readRepo.findAuthorizedById(taskId, currentUserId)
+                .orElseThrow(() -> new EntityNotFoundException("Task not found or access denied"));
+    }
+
+    @Transactional(readOnly = true)
+    public Integer getTaskVersion(UUID taskId, UUID currentUserId) {
+        if (access.knownDenied(taskId, currentUserId)) throw new EntityNotFoundException("Task not found or access denied");
+        return readRepo.findAuthorizedVersion(taskId, currentUserId)
+                .orElseThrow(() -> new EntityNotFoundException("Task not found or access denied"));
     }
 
     @Transactional
     public TaskDto patchTask(UUID taskId, UUID currentUserId, Integer ifMatchVersion, TaskPatchDto patch) {
-        Task t = taskRepo.findById(taskId).orElseThrow(() -> new EntityNotFoundException("Task not found"));
-        boolean owner = t.getOwner() != null && t.getOwner().getId().equals(currentUserId);
-        boolean editor = shareRepo.findByTask_IdAndUser_Id(taskId, currentUserId)
-                .map(s -> s.getRole() == ShareRole.editor)
-                .orElse(false);
-        if (!owner && !editor) {
+        if (ifMatchVersion != null && isColumnPatch(patch)) {
+            Set<String> tags = patch.tags == null ? null : TagUtil.distinct(patch.tags);
+            return patchColumns(taskId, currentUserId, mapper.toUpdate(taskId, ifMatchVersion, patch, tags));
+        }
+        if (!accessOf(taskId, currentUserId).canEdit()) {
             throw new SecurityException("Not authorized to edit task");
         }
+        Task t = taskRepo.findById(taskId).orElseThrow(() -> new EntityNotFoundException("Task not found"));
         if (ifMatchVersion == null || !ifMatchVersion.equals(t.getVersion())) {
             throw new PreconditionFailedException("Version mismatch");
         }
+        if (patch.metadata != null && patch.metadataPatch != null) {
+            throw new IllegalArgumentException("Use either metadata or metadataPatch, not both");
+        }
+        UUID ownerId = t.getOwner().getId();
         mapper.updateFromPatch(patch, t);
+        TaskDto updated;
         try {
+            // dirty checking writes only changed columns / tag rows and skips the UPDATE (and the
+            // version bump) for a no-op patch; flushing here makes the returned version the stored one
             Task saved = taskRepo.save(t);
-            return mapper.toDto(saved);
-        } catch (OptimisticLockException e) {
+            taskRepo.flush();
+            updated = mapper.toDto(saved);
+        } catch (OptimisticLockException | OptimisticLockingFailureException e) {
             throw new PreconditionFailedException("Optimistic lock error");
         }
+        // an unchanged version means nothing was written: nothing to tell the clients either
+        if (!ifMatchVersion.equals(updated.version)) {
+            changes.publish(taskId, TaskChangeEvent.Type.updated, updated.version, audience(taskId, ownerId));
+        }
+        return updated;
+    }
+
+    // plain column changes with at most one way of changing metadata. Tags (a separate table) stay on the
+    // entity path, except next to a metadataPatch: that merge happens in the database, and doing it after
+    // the entity flush would bump the version a second time
+    static boolean isColumnPatch(TaskPatchDto patch) {
+        if (patch.metadata != null && patch.metadataPatch != null) return false;
+        if (patch.tags != null) return patch.metadataPatch != null;
+        return patch.title != null || patch.description != null || patch.category != null || patch.priority != null
+                || patch.dueDate != null || patch.completed != null || patch.source != null
+                || patch.metadata != null || patch.metadataPatch != null;
+    }
+
+    // version check, edit right and write in one statement; only a miss costs a second look to pick the status
+    private TaskDto patchColumns(UUID taskId, UUID currentUserId, TaskUpdate update) {
+        TaskDto updated = bulkRepo.updateIfEditable(currentUserId, update).orElse(null);
+        if (updated == null) {
+            if (!accessOf(taskId, currentUserId).canEdit()) {
+                throw new SecurityException("Not authorized to edit task");
+            }
+            throw new PreconditionFailedException("Version mismatch");
+        }
+        // the patch matched the stored row: nothing was written, nothing to tell the clients
+        if (updated.version != update.expectedVersion()) {
+            changes.publish(taskId, TaskChangeEvent.Type.updated, updated.version, audience(taskId, updated.ownerId));
+        }
+        return updated;
+    }
+
+    /**
+     * Applies many patches at once. Every item is authorized and version-checked against one set-based
+     * lookup, the rest are written as one JDBC batch of conditional UPDATEs. Items fail on their own,
+     * with the status PATCH /api/tasks/{id} would have answered (404, 403, 412, 400); the others still apply.
+     * {@code invalid} holds the items the caller's bean validation rejected (index → message): they are
+     * answered 400 and never looked up.
+     */
+    @Transactional
+    public List<TaskBatchPatchResultDto> patchTasks(UUID currentUserId, List<TaskBatchPatchDto> items,
+                                                    Map<Integer, String> invalid) {
+        if (items == null || items.isEmpty()) throw new IllegalArgumentException("Batch is empty");
+        if (items.size() > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("Batch exceeds " + MAX_BATCH_SIZE + " tasks");
+        }
+        Set<UUID> ids = new LinkedHashSet<>();
+        for (int i = 0; i < items.size(); i++) {
+            if (invalid.containsKey(i)) continue;
+            TaskBatchPatchDto item = items.get(i);
+            if (item == null || item.id == null || item.patch == null) {
+                throw new IllegalArgumentException("Every item needs an id and a patch");
+            }
+            ids.add(item.id);
+        }
+        Map<UUID, TaskAccessState> states = ids.isEmpty() ? Map.of() : readRepo.findAccessStates(ids, currentUserId);
+
+        List<TaskBatchPatchResultDto> results = new ArrayList<>(items.size());
+        List<TaskBatchPatchResultDto> applied = new ArrayList<>();
+        List<TaskUpdate> updates = new ArrayList<>();
+        for (int i = 0; i < items.size(); i++) {
+            TaskBatchPatchDto item = items.get(i);
+            if (invalid.containsKey(i)) {
+                results.add(rejected(i, item == null ? null : item.id, HttpStatus.BAD_REQUEST, invalid.get(i)));
+                continue;
+            }
+            TaskAccessState state = states.get(item.id);
+            if (state == null) {
+                results.add(rejected(i, item.id, HttpStatus.NOT_FOUND, "Task not found"));
+            } else if (!state.access().canEdit()) {
+                results.add(rejected(i, item.id, HttpStatus.FORBIDDEN, "Not authorized to edit task"));
+            } else if (item.ifMatchVersion == null || item.ifMatchVersion != state.version()) {
+                results.add(rejected(i, item.id, HttpStatus.PRECONDITION_FAILED, "Version mismatch"));
+            } else if (item.patch.metadata != null && item.patch.metadataPatch != null) {
+                results.add(rejected(i, item.id, HttpStatus.BAD_REQUEST, "Use either metadata or metadataPatch, not both"));
+            } else {
+                Set<String> tags = item.patch.tags == null ? null : TagUtil.distinct(item.patch.tags);
+                updates.add(mapper.toUpdate(item.id, item.ifMatchVersion, item.patch, tags));
+                TaskBatchPatchResultDto ok = new TaskBatchPatchResultDto(i, item.id, HttpStatus.OK.value(), item.ifMatchVersion + 1, null);
+                applied.add(ok);
+                results.add(ok);
+            }
+        }
+
+        boolean[] written = bulkRepo.updateAll(updates);
+        List<TaskBatchPatchResultDto> changed = new ArrayList<>(applied.size());
+        for (int i = 0; i < written.length; i++) {
+            TaskBatchPatchResultDto r = applied.get(i);
+            if (written[i]) {
+                changed.add(r);
+            } else {
+                // written by someone else after the lookup, or an earlier item of this batch for the same task
+                r.status = HttpStatus.PRECONDITION_FAILED.value();
+                r.version = null;
+                r.message = "Optimistic lock error";
+            }
+        }
+        publishUpdated(changed, states);
+        return results;
+    }
+
+    private static TaskBatchPatchResultDto rejected(int index, UUID id, HttpStatus status, String message) {
+        return new TaskBatchPatchResultDto(index, id, status.value(), null, message);
+    }
+
+    // audiences of all written tasks from one share query
+    private void publishUpdated(List<TaskBatchPatchResultDto> changed, Map<UUID, TaskAccessState> states) {
+        if (changed.isEmpty()) return;
+        Map<UUID, List<UUID>> audiences = new HashMap<>();
+        for (TaskBatchPatchResultDto r : changed) {
+            audiences.computeIfAbsent(r.id, id -> new ArrayList<>(List.of(states.get(id).ownerId())));
+        }
+        for (TaskShareId share : shareRepo.findIdsByTaskIds(audiences.keySet())) {
+            audiences.get(share.getTaskId()).add(share.getUserId());
+        }
+        changes.publishAll(changed.stream()
+                .map(r -> new TaskChangeEvent(r.id, TaskChangeEvent.Type.updated, r.version, audiences.get(r.id)))
+                .toList());
     }
 
     @Transactional
     public void deleteTask(UUID taskId, UUID currentUserId) {
+        requireOwner(taskId, currentUserId, "Only owner can delete");
         Task t = taskRepo.findById(taskId).orElseThrow(() -> new EntityNotFoundException("Task not found"));
-        if (!t.getOwner().getId().equals(currentUserId)) throw new SecurityException("Only owner can delete");
+        // delta sync: owner and share holders learn about the delete; shares go with the task (ON DELETE CASCADE)
+        tombstoneRepo.recordDeleted(taskId);
+        changes.publish(taskId, TaskChangeEvent.Type.deleted, t.getVersion(), audience(taskId, currentUserId));
         taskRepo.delete(t);
+        access.invalidateTask(taskId);
     }
 
     @Transactional
     public void shareTask(UUID taskId, UUID ownerId, String userEmail, ShareRole role) {
-        Task t = taskRepo.findById(taskId).orElseThrow(() -> new EntityNotFoundException("Task not found"));
-        if (!t.getOwner().getId().equals(ownerId)) throw new SecurityException("Only owner can share");
-        AppUser target = userRepo.findByEmail(userEmail).orElseGet(() -> {
-            AppUser u = new AppUser();
-            u.setEmail(userEmail);
-            return userRepo.save(u);
-        });
-        TaskShare.TaskShareId id = new TaskShare.TaskShareId(taskId, target.getId());
-        TaskShare ts = new TaskShare();
-        ts.setId(id);
-        ts.setTask(t);
-        ts.setUser(target);
-        ts.setRole(role);
-        shareRepo.save(ts);
+        requireOwner(taskId, ownerId, "Only owner can share");
+        // upserts instead of find-then-save: concurrent shares to a new email cannot collide on either key,
+        // and re-sharing at the same role writes (and announces) nothing
+        UUID targetId = userRepo.resolveOrCreate(List.of(userEmail)).get(userEmail);
+        if (targetId.equals(ownerId)) return; // the owner already has every right on its tasks
+        List<TaskShareId> shared = bulkRepo.shareAll(List.of(taskId), List.of(targetId), role);
+        publishShareChanges(ownerId, shared, TaskChangeEvent.Type.shared);
     }
 
     @Transactional(readOnly = true)
     public List<SharedUserDto> listShares(UUID taskId, UUID currentUserId) {
-        Task t = taskRepo.findById(taskId)
-                .orElseThrow(() -> new EntityNotFoundException("Task not found"));
-        if (t.getOwner() == null || !t.getOwner().getId().equals(currentUserId)) {
-            throw new SecurityException("Only owner can view shares");
-        }
+        requireOwner(taskId, currentUserId, "Only owner can view shares");
         return shareRepo.findByTask_Id(taskId).stream()
                 .map(s -> new SharedUserDto(s.getUser().getEmail(), s.getRole()))
                 .toList();
@@ -123,10 +393,92 @@ public class TaskService {
 
     @Transactional
     public void revokeShare(UUID taskId, UUID ownerId, String userEmail) {
-        Task t = taskRepo.findById(taskId).orElseThrow(() -> new EntityNotFoundException("Task not found"));
-        if (!t.getOwner().getId().equals(ownerId)) throw new SecurityException("Only owner can revoke share");
+        requireOwner(taskId, ownerId, "Only owner can revoke share");
         AppUser target = userRepo.findByEmail(userEmail).orElseThrow(() -> new EntityNotFoundException("User to revoke not found"));
-        shareRepo.deleteByTask_IdAndUser_Id(taskId, target.getId());
+        if (shareRepo.deleteByTask_IdAndUser_Id(taskId, target.getId()) > 0) {
+            access.invalidate(taskId, target.getId());
+            tombstoneRepo.recordUnshared(taskId, target.getId());
+            changes.publish(taskId, TaskChangeEvent.Type.unshared, null, List.of(ownerId, target.getId()));
+        }
+    }
+
+    /**
+     * Shares every task with every email at {@code role}, creating stub users for unknown emails. All tasks
+     * must be owned by the caller, otherwise nothing is written; the owner's own email is skipped, as in
+     * {@link #shareTask}. At most {@link #MAX_BATCH_SIZE} tasks x emails. A fixed number of statements
+     * regardless of the sizes: one access lookup, one user upsert, one share upsert. Returns how many shares
+     * were created or changed role.
+     */
+    @Transactional
+    public int shareTasks(UUID ownerId, Collection<UUID> taskIds, Collection<String> emails, ShareRole role) {
+        Set<UUID> tasks = new LinkedHashSet<>(taskIds);
+        requireShareBatchSize(tasks, new LinkedHashSet<>(emails));
+        requireOwnerOfAll(tasks, ownerId, "Only owner can share");
+        Set<UUID> userIds = new LinkedHashSet<>(userRepo.resolveOrCreate(emails).values());
+        userIds.remove(ownerId); // the owner already has every right on its tasks
+        List<TaskShareId> shared = bulkRepo.shareAll(tasks, userIds, role);
+        publishShareChanges(ownerId, shared, TaskChangeEvent.Type.shared);
+        return shared.size();
+    }
+
+    /**
+     * Revokes the shares of every email on every task, all owned by the caller; returns how many were removed.
+     * At most {@link #MAX_BATCH_SIZE} tasks x emails.
+     */
+    @Transactional
+    public int revokeShares(UUID ownerId, Collection<UUID> taskIds, Collection<String> emails) {
+        Set<UUID> tasks = new LinkedHashSet<>(taskIds);
+        Set<String> distinctEmails = new LinkedHashSet<>(emails);
+        requireShareBatchSize(tasks, distinctEmails);
+        requireOwnerOfAll(tasks, ownerId, "Only owner can revoke share");
+        List<TaskShareId> revoked = bulkRepo.revokeAll(tasks, distinctEmails);
+        tombstoneRepo.recordUnshared(revoked);
+        publishShareChanges(ownerId, revoked, TaskChangeEvent.Type.unshared);
+        return revoked.size();
+    }
+
+    // one event per task, heard by the owner and the users whose share changed
+    private void publishShareChanges(UUID ownerId, List<TaskShareId> shares, TaskChangeEvent.Type type) {
+        Map<UUID, List<UUID>> usersByTask = new LinkedHashMap<>();
+        for (TaskShareId id : shares) {
+            access.invalidate(id.getTaskId(), id.getUserId());
+            usersByTask.computeIfAbsent(id.getTaskId(), t -> new ArrayList<>(List.of(ownerId))).add(id.getUserId());
+        }
+        if (usersByTask.isEmpty()) return;
+        changes.publishAll(usersByTask.entrySet().stream()
+                .map(e -> new TaskChangeEvent(e.getKey(), type, null, e.getValue()))
+                .toList());
+    }
+
+    // the share statements touch up to tasks x emails rows
+    private static void requireShareBatchSize(Set<UUID> taskIds, Set<String> emails) {
+        if ((long) taskIds.size() * emails.size() > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("Batch exceeds " + MAX_BATCH_SIZE + " shares (tasks x emails)");
+        }
+    }
+
+    private void requireOwnerOfAll(Collection<UUID> taskIds, UUID userId, String message) {
+        Map<UUID, TaskAccessState> states = readRepo.findAccessStates(new LinkedHashSet<>(taskIds), userId);
+        for (UUID taskId : taskIds) {
+            TaskAccessState state = states.get(taskId);
+            if (state == null) throw new EntityNotFoundException("Task not found");
+            if (state.access() != TaskAccess.owner) throw new SecurityException(message);
+        }
+    }
+
+    private TaskAccess accessOf(UUID taskId, UUID userId) {
+        return access.resolve(taskId, userId).orElseThrow(() -> new EntityNotFoundException("Task not found"));
+    }
+
+    private void requireOwner(UUID taskId, UUID userId, String message) {
+        if (accessOf(taskId, userId) != TaskAccess.owner) throw new SecurityException(message);
+    }
+
+    // who hears about a change of the task: the owner and everyone it is shared with
+    private List<UUID> audience(UUID taskId, UUID ownerId) {
+        List<UUID> users = new ArrayList<>(shareRepo.findUserIdsByTaskId(taskId));
+        users.add(ownerId);
+        return users;
     }
 
     public static class PreconditionFailedException extends RuntimeException {
@@ -0,0 +1,119 @@
+package com.example.todo.service;
+
+import com.example.todo.dto.TaskChangesDto;
+import com.example.todo.dto.TaskDto;
+import com.example.todo.repository.TaskChange;
+import com.example.todo.repository.TaskReadRepository;
+import com.example.todo.repository.TaskTombstoneRepository;
+import com.example.todo.util.SyncWatermark;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Delta sync for offline-capable clients: what changed for a user since the last watermark.
+ * Removals come from tombstones, which are only kept for {@code todo.sync.tombstone-retention};
+ * an older watermark gets {@link ResyncRequiredException} and the client starts over without one.
+ * <p>
+ * Changes come in pages of at most {@link #MAX_PAGE_SIZE} tasks. A cut page returns {@code more} and a
+ * watermark that resumes after its last task; the initial sync (no watermark) is paged the same way.
+ * All pages of one sync keep the horizon of the first, so the final watermark misses nothing written meanwhile.
+ */
+@Service
+public class TaskSyncService {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskSyncService.class);
+
+    // tombstone removed_at is the deleting transaction's start time: keep a little past the retention
+    static final Duration PURGE_MARGIN = Duration.ofHours(1);
+
+    static final int MAX_PAGE_SIZE = 500;
+
+    private final TaskReadRepository readRepo;
+    private final TaskTombstoneRepository tombstoneRepo;
+    private final Duration retention;
+    private final Clock clock;
+
+    @Autowired
+    public TaskSyncService(TaskReadRepository readRepo, TaskTombstoneRepository tombstoneRepo,
+                           @Value("${todo.sync.tombstone-retention:P30D}") Duration retention) {
+        this(readRepo, tombstoneRepo, retention, Clock.systemUTC());
+    }
+
+    TaskSyncService(TaskReadRepository readRepo, TaskTombstoneRepository tombstoneRepo, Duration retention, Clock clock) {
+        this.readRepo = readRepo;
+        this.tombstoneRepo = tombstoneRepo;
+        this.retention = retention;
+        this.clock = clock;
+    }
+
+    /** Without a watermark: every accessible task (initial sync) and nothing removed. */
+    @Transactional(readOnly = true)
+    public TaskChangesDto changesSince(UUID userId, String since, Integer limit) {
+        SyncWatermark from = SyncWatermark.decode(since);
+        Instant now = clock.instant();
+        if (from != null && from.issuedAt().isBefore(now.minus(retention))) {
+            throw new ResyncRequiredException("Watermark is older than " + retention + ", sync again without one");
+        }
+        SyncWatermark.Resume resume = from == null ? null : from.resume();
+        long xmin;
+        Instant issuedAt;
+        long sinceXid;
+        if (resume != null) {
+            // next page of the same sync: same lower bound, same horizon
+            xmin = from.xmin();
+            issuedAt = from.issuedAt();
+            sinceXid = resume.since();
+        } else {
+            // horizon first: anything committed after it is picked up (again) by the next poll
+            xmin = readRepo.currentSnapshotXmin();
+            issuedAt = now;
+            sinceXid = from == null ? 0 : from.xmin();
+        }
+
+        int size = pageSize(limit);
+        List<TaskChange> page = resume == null
+                ? readRepo.findChangedSince(userId, sinceXid, 0, null, size + 1)
+                : readRepo.findChangedSince(userId, sinceXid, resume.afterXid(), resume.afterId(), size + 1);
+        boolean more = page.size() > size;
+        if (more) page = page.subList(0, size);
+        List<TaskDto> changed = page.stream().map(TaskChange::task).toList();
+        if (more) {
+            TaskChange last = page.get(page.size() - 1);
+            var next = new SyncWatermark(xmin, issuedAt, new SyncWatermark.Resume(sinceXid, last.changeXid(), last.task().id));
+            return new TaskChangesDto(changed, List.of(), next.encode(), true);
+        }
+        // removals come with the last page, as of the end of the sync (an initial sync has none)
+        List<UUID> removed = sinceXid == 0 ? List.of() : readRepo.findRemovedSince(userId, sinceXid);
+        return new TaskChangesDto(changed, removed, new SyncWatermark(xmin, issuedAt).encode());
+    }
+
+    static int pageSize(Integer limit) {
+        if (limit == null) return MAX_PAGE_SIZE;
+        return Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+    }
+
+    @Scheduled(cron = "${todo.sync.purge-cron:0 30 3 * * *}")
+    @Transactional
+    public void purgeTombstones() {
+        OffsetDateTime cutoff = OffsetDateTime.ofInstant(clock.instant().minus(retention).minus(PURGE_MARGIN), ZoneOffset.UTC);
+        int purged = tombstoneRepo.purgeRemovedBefore(cutoff);
+        log.info("Purged {} task tombstones removed before {}", purged, cutoff);
+    }
+
+    public static class ResyncRequiredException extends RuntimeException {
+        public ResyncRequiredException(String msg) { super(msg); }
+    }
+}
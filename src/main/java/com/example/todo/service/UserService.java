@@ -2,39 +2,47 @@ package com.example.todo.service;
 
 import com.example.todo.entity.AppUser;
 import com.example.todo.repository.AppUserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import jakarta.persistence.EntityNotFoundException;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
 import java.util.Optional;
 import java.util.UUID;
 
 @Service
-public class UserService {
+public class UserService implements MeterBinder {
 
     private final AppUserRepository repo;
+    // email → user as of the last login on this node; a repeat login with the same name needs no statement.
+    // Holds immutable snapshots: callers get a fresh entity each time and cannot change what others see
+    private final Cache<String, Login> logins;
 
-    public UserService(AppUserRepository repo) {
+    public UserService(AppUserRepository repo,
+                       @Value("${todo.login-cache.max-size:10000}") long maxSize,
+                       @Value("${todo.login-cache.ttl:PT10M}") Duration ttl) {
         this.repo = repo;
+        this.logins = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
     }
 
-    @Transactional
+    // one INSERT ... ON CONFLICT statement: concurrent first logins of the same email cannot collide
     public AppUser upsertGoogleUser(String email, String displayName) {
-        Optional<AppUser> opt = repo.findByEmail(email);
-        if (opt.isPresent()) {
-            AppUser u = opt.get();
-            if (displayName != null && !displayName.equals(u.getDisplayName())) {
-                u.setDisplayName(displayName);
-                repo.save(u);
-            }
-            return u;
-        } else {
-            AppUser u = new AppUser();
-            u.setEmail(email);
-            u.setDisplayName(displayName);
-            AppUser saved = repo.save(u);
-            return saved;
+        Login cached = logins.getIfPresent(email);
+        if (cached != null && (displayName == null || displayName.equals(cached.displayName()))) {
+            return cached.toUser();
         }
+        AppUser user = repo.upsert(email, displayName);
+        logins.put(email, new Login(user.getId(), user.getEmail(), user.getDisplayName()));
+        return user;
     }
 
     public Optional<AppUser> findByEmail(String email) {
@@ -44,4 +52,19 @@ public class UserService {
     public AppUser getById(UUID id) {
         return repo.findById(id).orElseThrow(() -> new EntityNotFoundException("User not found"));
     }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, logins, "user.login");
+    }
+
+    private record Login(UUID id, String email, String displayName) {
+        AppUser toUser() {
+            AppUser u = new AppUser();
+            u.setId(id);
+            u.setEmail(email);
+            u.setDisplayName(displayName);
+            return u;
+        }
+    }
 }
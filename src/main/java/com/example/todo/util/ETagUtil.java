@@ -7,6 +7,12 @@ public class ETagUtil {
         return "W/\"" + version + "\"";
     }
 
+    /** Weak ETag around an opaque token (e.g. a collection version). */
+    public static String formatWeakTag(String opaque) {
+        if (opaque == null) return null;
+        return "W/\"" + opaque + "\"";
+    }
+
     public static Integer parseIfMatch(String ifMatch) {
         if (ifMatch == null) return null;
         String s = ifMatch.trim();
@@ -27,4 +33,38 @@ public class ETagUtil {
             throw new IllegalArgumentException("Invalid ETag version");
         }
     }
+
+    /**
+     * If-None-Match against the current version (weak comparison, RFC 9110 13.1.2):
+     * true for "*" or when any listed tag carries that version. Unparseable tags never match.
+     */
+    public static boolean matchesIfNoneMatch(String ifNoneMatch, Integer version) {
+        if (ifNoneMatch == null || version == null) return false;
+        for (String tag : ifNoneMatch.split(",")) {
+            String t = tag.trim();
+            if (t.equals("*")) return true;
+            if (t.isEmpty()) continue;
+            try {
+                if (version.equals(parseIfMatch(t))) return true;
+            } catch (IllegalArgumentException ignored) {
+                // foreign or malformed tag: simply not ours
+            }
+        }
+        return false;
+    }
+
+    /** If-None-Match against an opaque ETag (weak comparison: the W/ prefix is ignored on both sides). */
+    public static boolean matchesIfNoneMatchTag(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || etag == null) return false;
+        String current = stripWeak(etag);
+        for (String tag : ifNoneMatch.split(",")) {
+            String t = tag.trim();
+            if (t.equals("*") || stripWeak(t).equals(current)) return true;
+        }
+        return false;
+    }
+
+    private static String stripWeak(String tag) {
+        return tag.startsWith("W/") ? tag.substring(2) : tag;
+    }
 }
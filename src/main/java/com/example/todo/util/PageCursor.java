@@ -0,0 +1,45 @@
+package com.example.todo.util;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Opaque keyset cursor for task listings: position after (score, updated_at, id).
+ * Encoded as base64url("epochMicros:uuid[:score]") so clients treat it as a token.
+ * The score is only present for relevance-ordered (full-text) pages.
+ */
+public record PageCursor(OffsetDateTime updatedAt, UUID id, Float score) {
+
+    public PageCursor(OffsetDateTime updatedAt, UUID id) {
+        this(updatedAt, id, null);
+    }
+
+    public String encode() {
+        Instant i = updatedAt.toInstant();
+        long micros = ChronoUnit.MICROS.between(Instant.EPOCH, i);
+        String raw = micros + ":" + id + (score == null ? "" : ":" + score);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static PageCursor decode(String token) {
+        if (token == null || token.isBlank()) return null;
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token.trim()), StandardCharsets.UTF_8);
+            String[] parts = raw.split(":");
+            if (parts.length < 2 || parts.length > 3) throw new IllegalArgumentException("Invalid cursor");
+            long micros = Long.parseLong(parts[0]);
+            UUID id = UUID.fromString(parts[1]);
+            Float score = parts.length == 3 ? Float.valueOf(parts[2]) : null;
+            Instant i = Instant.EPOCH.plus(micros, ChronoUnit.MICROS);
+            return new PageCursor(OffsetDateTime.ofInstant(i, ZoneOffset.UTC), id, score);
+        } catch (IllegalArgumentException e) {
+            // covers bad base64, NumberFormatException and bad UUID
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+}
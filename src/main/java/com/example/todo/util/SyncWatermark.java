@@ -0,0 +1,52 @@
+package com.example.todo.util;
+
+import org.springframework.lang.Nullable;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Opaque delta-sync watermark: the transaction snapshot horizon (xmin) the changes were read at,
+ * plus when it was issued so tokens older than the tombstone retention can be refused.
+ * A sync that did not fit into one page also carries where to {@link Resume resume}.
+ * Encoded as base64url("xmin:epochMillis[:since:afterXid:afterId]").
+ */
+public record SyncWatermark(long xmin, Instant issuedAt, @Nullable Resume resume) {
+
+    /** Mid-sync position: the lower bound the pages are read from and the last (change xid, id) handed out. */
+    public record Resume(long since, long afterXid, UUID afterId) {}
+
+    public SyncWatermark(long xmin, Instant issuedAt) {
+        this(xmin, issuedAt, null);
+    }
+
+    public String encode() {
+        String raw = xmin + ":" + issuedAt.toEpochMilli();
+        if (resume != null) raw += ":" + resume.since() + ":" + resume.afterXid() + ":" + resume.afterId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static SyncWatermark decode(String token) {
+        if (token == null || token.isBlank()) return null;
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token.trim()), StandardCharsets.UTF_8);
+            String[] parts = raw.split(":");
+            if (parts.length != 2 && parts.length != 5) throw new IllegalArgumentException("Invalid watermark");
+            long xmin = Long.parseLong(parts[0]);
+            if (xmin < 0) throw new IllegalArgumentException("Invalid watermark");
+            Resume resume = null;
+            if (parts.length == 5) {
+                long since = Long.parseLong(parts[2]);
+                long afterXid = Long.parseLong(parts[3]);
+                if (since < 0 || afterXid < since) throw new IllegalArgumentException("Invalid watermark");
+                resume = new Resume(since, afterXid, UUID.fromString(parts[4]));
+            }
+            return new SyncWatermark(xmin, Instant.ofEpochMilli(Long.parseLong(parts[1])), resume);
+        } catch (IllegalArgumentException e) {
+            // covers bad base64, NumberFormatException and a malformed UUID
+            throw new IllegalArgumentException("Invalid watermark");
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.todo.util;
+
+import org.springframework.util.StringUtils;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+public class TagUtil {
+
+    /** Trimmed, non-blank tags in first-seen order; (task_id, tag) is the primary key of task_tags. */
+    public static Set<String> distinct(Collection<String> tags) {
+        Set<String> distinct = new LinkedHashSet<>();
+        if (tags == null) return distinct;
+        for (String tag : tags) {
+            if (StringUtils.hasText(tag)) distinct.add(tag.trim());
+        }
+        return distinct;
+    }
+}
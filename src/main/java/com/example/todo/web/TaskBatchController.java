@@ -0,0 +1,150 @@
+package com.example.todo.web;
+
+import com.example.todo.dto.TaskBatchItemDto;
+import com.example.todo.dto.TaskBatchPatchDto;
+import com.example.todo.dto.TaskBatchPatchResultDto;
+import com.example.todo.dto.TaskCreateDto;
+import com.example.todo.dto.TaskDto;
+import com.example.todo.dto.TaskImportEventDto;
+import com.example.todo.dto.TaskShareBatchDto;
+import com.example.todo.dto.TaskUnshareBatchDto;
+import com.example.todo.security.UserPrincipal;
+import com.example.todo.service.TaskImportService;
+import com.example.todo.service.TaskService;
+import com.example.todo.util.ETagUtil;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import jakarta.validation.Valid;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Collection-level operations ({@code /api/tasks:<verb>}). Kept apart from TaskController because
+ * its class-level "/api/tasks" prefix would turn ":batch" into the path segment "/api/tasks/:batch".
+ */
+@RestController
+@Validated
+public class TaskBatchController {
+
+    static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
+    private final TaskService taskService;
+    private final TaskImportService importService;
+    private final Validator validator;
+    private final ObjectWriter eventWriter;
+
+    public TaskBatchController(TaskService taskService, TaskImportService importService, Validator validator,
+                               ObjectMapper objectMapper) {
+        this.taskService = taskService;
+        this.importService = importService;
+        this.validator = validator;
+        this.eventWriter = objectMapper.writerFor(TaskImportEventDto.class);
+    }
+
+    // all-or-nothing: one transaction, per-item id + ETag in request order
+    @PostMapping("/api/tasks:batch")
+    public ResponseEntity<List<TaskBatchItemDto>> createBatch(@RequestBody List<@Valid TaskCreateDto> dtos,
+                                                              Authentication auth) {
+        UserPrincipal p = (UserPrincipal) auth.getPrincipal();
+        List<TaskDto> created = taskService.createTasks(p.getId(), dtos);
+        List<TaskBatchItemDto> items = new ArrayList<>(created.size());
+        for (int i = 0; i < created.size(); i++) {
+            TaskDto dto = created.get(i);
+            items.add(new TaskBatchItemDto(i, dto.id, dto.version, ETagUtil.formatWeak(dto.version)));
+        }
+        return ResponseEntity.status(HttpStatus.CREATED).body(items);
+    }
+
+    // not all-or-nothing: every item carries its own status (200 / 400 / 403 / 404 / 412), in request order.
+    // Items are validated one by one, so a constraint violation is that item's 400, not the whole batch's
+    @PatchMapping("/api/tasks:batch")
+    public ResponseEntity<List<TaskBatchPatchResultDto>> patchBatch(@RequestBody List<TaskBatchPatchDto> items,
+                                                                    Authentication auth) {
+        UserPrincipal p = (UserPrincipal) auth.getPrincipal();
+        Map<Integer, String> invalid = new HashMap<>();
+        for (int i = 0; i < items.size(); i++) {
+            TaskBatchPatchDto item = items.get(i);
+            if (item == null) {
+                invalid.put(i, "Item must not be null");
+                continue;
+            }
+            Set<ConstraintViolation<TaskBatchPatchDto>> violations = validator.validate(item);
+            if (!violations.isEmpty()) invalid.put(i, describe(violations));
+        }
+        List<TaskBatchPatchResultDto> results = taskService.patchTasks(p.getId(), items, invalid);
+        for (TaskBatchPatchResultDto r : results) {
+            if (r.version != null) r.etag = ETagUtil.formatWeak(r.version);
+        }
+        return ResponseEntity.ok(results);
+    }
+
+    // all-or-nothing: every task must be the caller's; unknown emails get (stub) accounts like single shares do
+    @PostMapping("/api/tasks:share")
+    public ResponseEntity<Void> shareBatch(@Valid @RequestBody TaskShareBatchDto req, Authentication auth) {
+        UserPrincipal p = (UserPrincipal) auth.getPrincipal();
+        taskService.shareTasks(p.getId(), req.taskIds, req.userEmails, req.role);
+        return ResponseEntity.noContent().build();
+    }
+
+    @PostMapping("/api/tasks:unshare")
+    public ResponseEntity<Void> unshareBatch(@Valid @RequestBody TaskUnshareBatchDto req, Authentication auth) {
+        UserPrincipal p = (UserPrincipal) auth.getPrincipal();
+        taskService.revokeShares(p.getId(), req.taskIds, req.userEmails);
+        return ResponseEntity.noContent().build();
+    }
+
+    // body is read while rows are imported; the response streams one NDJSON event per error / committed chunk
+    @PostMapping(value = "/api/tasks:import", consumes = {"application/x-ndjson", "text/csv"})
+    public ResponseEntity<StreamingResponseBody> importTasks(@RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+                                                             HttpServletRequest request,
+                                                             Authentication auth) throws IOException {
+        UserPrincipal p = (UserPrincipal) auth.getPrincipal();
+        TaskImportService.Format format = "csv".equals(contentType.getSubtype())
+                ? TaskImportService.Format.CSV : TaskImportService.Format.NDJSON;
+        InputStream in = request.getInputStream();
+        StreamingResponseBody body = out -> {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            importService.importTasks(p.getId(), in, format, event -> {
+                try {
+                    writer.write(eventWriter.writeValueAsString(event));
+                    writer.write('\n');
+                    writer.flush(); // progress should reach the client while the import runs
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        };
+        return ResponseEntity.ok().contentType(NDJSON).body(body);
+    }
+
+    // "patch.title: must not be blank; id: must not be null", in a stable order
+    private static String describe(Set<? extends ConstraintViolation<?>> violations) {
+        return violations.stream()
+                .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+}
@@ -4,35 +4,126 @@ import com.example.todo.dto.*;
 import com.example.todo.entity.enums.ShareRole;
 import com.example.todo.entity.enums.TaskPriority;
 import com.example.todo.entity.enums.TaskStatus;
+import com.example.todo.mapper.MetadataJson;
+import com.example.todo.repository.TaskSearchMode;
 import com.example.todo.security.UserPrincipal;
 import com.example.todo.service.TaskService;
+import com.example.todo.service.TaskSyncService;
 import com.example.todo.util.ETagUtil;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import jakarta.validation.Valid;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
 import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.regex.Pattern;
 
 @RestController
 @RequestMapping("/api/tasks")
 @Validated
 public class TaskController {
 
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    static final String METADATA_FILTER_PREFIX = "metadata.";
+    private static final Pattern METADATA_PATH = Pattern.compile("[^.]+(\\.[^.]+)*");
+
     private final TaskService taskService;
-    public TaskController(TaskService taskService) { this.taskService = taskService; }
+    private final TaskSyncService syncService;
+    private final ObjectWriter exportWriter;
+
+    public TaskController(TaskService taskService, TaskSyncService syncService, ObjectMapper objectMapper) {
+        this.taskService = taskService;
+        this.syncService = syncService;
+        this.exportWriter = objectMapper.writerFor(TaskDto.class);
+    }
 
     @GetMapping
     public ResponseEntity<List<TaskDto>> list(@RequestParam(required = false) String q,
+                                              @RequestParam(required = false) TaskSearchMode match,
                                               @RequestParam(required = false) TaskStatus status,
                                               @RequestParam(required = false) TaskPriority priority,
+                                              @RequestParam(required = false) String cursor,
+                                              @RequestParam(required = false) Integer limit,
+                                              @RequestParam(required = false) Set<String> metadataKeys,
+                                              @RequestParam Map<String, String> params,
+                                              @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
                                               Authentication auth) {
         UserPrincipal p = (UserPrincipal) auth.getPrincipal();
-        return ResponseEntity.ok(taskService.listTasks(p.getId(), q, status, priority));
+        Map<String, String> metadata = metadataFilter(params);
+        // idle dashboards re-poll the same listing: answer from the collection stamp before paging.
+        // The stamp aggregates the whole collection, so it is only computed when it can be used:
+        // a conditional request, or the first page (whose ETag the client sends back next time)
+        String etag = null;
+        if (ifNoneMatch != null || cursor == null) {
+            etag = ETagUtil.formatWeakTag(taskService.listVersion(p.getId(), q, match, status, priority, metadata));
+            if (ETagUtil.matchesIfNoneMatchTag(ifNoneMatch, etag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).header(HttpHeaders.ETAG, etag).build();
+            }
+        }
+        TaskPageDto page = taskService.listTasks(p.getId(), q, match, status, priority, metadata, cursor, limit);
+        page.items.forEach(dto -> retainMetadataKeys(dto, metadataKeys));
+        // body stays a plain array for existing clients; the next page is announced in a header
+        var response = ResponseEntity.ok();
+        if (etag != null) response.header(HttpHeaders.ETAG, etag);
+        if (page.next != null) response.header(NEXT_CURSOR_HEADER, page.next);
+        return response.body(page.items);
+    }
+
+    // whole history, no page cap: rows are streamed from a DB cursor straight into the response
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> export(@RequestParam(required = false) String q,
+                                                        @RequestParam(required = false) TaskSearchMode match,
+                                                        @RequestParam(required = false) TaskStatus status,
+                                                        @RequestParam(required = false) TaskPriority priority,
+                                                        @RequestParam(defaultValue = "ndjson") String format,
+                                                        @RequestParam Map<String, String> params,
+                                                        Authentication auth) {
+        UserPrincipal p = (UserPrincipal) auth.getPrincipal();
+        TaskExportFormat fmt = TaskExportFormat.parse(format);
+        Map<String, String> metadata = metadataFilter(params);
+        StreamingResponseBody body = out -> {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            fmt.writeHeader(writer);
+            taskService.exportTasks(p.getId(), q, match, status, priority, metadata, dto -> {
+                try {
+                    fmt.writeRow(writer, exportWriter, dto);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e); // client went away: abort the cursor
+                }
+            });
+            writer.flush();
+        };
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_TYPE, fmt.contentType)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"tasks." + fmt.extension + "\"")
+                .body(body);
+    }
+
+    // offline clients: only what changed since the last watermark; no watermark = initial full sync.
+    // Paged: while "more" is true the client calls again with the returned watermark
+    @GetMapping("/changes")
+    public ResponseEntity<TaskChangesDto> changes(@RequestParam(required = false) String since,
+                                                  @RequestParam(required = false) Integer limit,
+                                                  Authentication auth) {
+        UserPrincipal p = (UserPrincipal) auth.getPrincipal();
+        return ResponseEntity.ok(syncService.changesSince(p.getId(), since, limit));
     }
 
     @PostMapping
@@ -46,9 +137,22 @@ public class TaskController {
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<TaskDto> get(@PathVariable UUID id, Authentication auth) {
+    public ResponseEntity<TaskDto> get(@PathVariable UUID id,
+                                       @RequestParam(required = false) Set<String> metadataKeys,
+                                       @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+                                       Authentication auth) {
         UserPrincipal p = (UserPrincipal) auth.getPrincipal();
+        if (ifNoneMatch != null) {
+            // polling clients: compare against the version alone before loading anything else
+            Integer version = taskService.getTaskVersion(id, p.getId());
+            if (ETagUtil.matchesIfNoneMatch(ifNoneMatch, version)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                        .header(HttpHeaders.ETAG, ETagUtil.formatWeak(version))
+                        .build();
+            }
+        }
         TaskDto dto = taskService.getTask(id, p.getId());
+        retainMetadataKeys(dto, metadataKeys);
         return ResponseEntity.ok().header(HttpHeaders.ETAG, ETagUtil.formatWeak(dto.version)).body(dto);
     }
 
@@ -91,4 +195,24 @@ public class TaskController {
         taskService.revokeShare(id, p.getId(), userEmail);
         return ResponseEntity.noContent().build();
     }
+
+    // ?metadata.color=red&metadata.owner.team=core → {color=red, owner.team=core}
+    static Map<String, String> metadataFilter(Map<String, String> params) {
+        Map<String, String> filter = new LinkedHashMap<>();
+        params.forEach((name, value) -> {
+            if (!name.startsWith(METADATA_FILTER_PREFIX)) return;
+            String path = name.substring(METADATA_FILTER_PREFIX.length());
+            if (!METADATA_PATH.matcher(path).matches()) {
+                throw new IllegalArgumentException("Invalid metadata filter: " + name);
+            }
+            filter.put(path, value);
+        });
+        return filter;
+    }
+
+    // metadata is passed through as raw JSON; it is only parsed when the client asks for a subset of keys
+    private static void retainMetadataKeys(TaskDto dto, Set<String> metadataKeys) {
+        if (metadataKeys == null || metadataKeys.isEmpty()) return;
+        dto.metadata = MetadataJson.retainKeys(dto.metadata, metadataKeys);
+    }
 }
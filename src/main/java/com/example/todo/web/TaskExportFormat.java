@@ -0,0 +1,79 @@
+package com.example.todo.web;
+
+import com.example.todo.dto.TaskDto;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+
+/**
+ * Row formats of GET /api/tasks/export; each task is written as soon as it is read. JSON rows are
+ * written with a TaskDto writer derived from the application's ObjectMapper, so they match the JSON API.
+ */
+enum TaskExportFormat {
+
+    NDJSON("application/x-ndjson", "ndjson") {
+        @Override
+        void writeHeader(Writer out) {}
+
+        @Override
+        void writeRow(Writer out, ObjectWriter json, TaskDto dto) throws IOException {
+            out.write(json.writeValueAsString(dto));
+            out.write('\n');
+        }
+    },
+
+    CSV("text/csv", "csv") {
+        @Override
+        void writeHeader(Writer out) throws IOException {
+            out.write(String.join(",", CSV_COLUMNS));
+            out.write("\r\n");
+        }
+
+        @Override
+        void writeRow(Writer out, ObjectWriter json, TaskDto dto) throws IOException {
+            Object[] values = {dto.id, dto.title, dto.description, dto.category, dto.priority, dto.status,
+                    dto.completed, dto.dueDate, dto.tags == null ? null : String.join(";", dto.tags), dto.source,
+                    dto.ownerEmail, dto.version, dto.createdAt, dto.updatedAt, dto.metadata};
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) out.write(',');
+                out.write(csvField(values[i]));
+            }
+            out.write("\r\n");
+        }
+    };
+
+    static final List<String> CSV_COLUMNS = List.of("id", "title", "description", "category", "priority", "status",
+            "completed", "dueDate", "tags", "source", "ownerEmail", "version", "createdAt", "updatedAt", "metadata");
+
+    final String contentType;
+    final String extension;
+
+    TaskExportFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    abstract void writeHeader(Writer out) throws IOException;
+
+    abstract void writeRow(Writer out, ObjectWriter json, TaskDto dto) throws IOException;
+
+    static TaskExportFormat parse(String format) {
+        try {
+            return valueOf(format.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unsupported export format: " + format);
+        }
+    }
+
+    // RFC 4180: quote when needed, double embedded quotes
+    static String csvField(Object value) {
+        if (value == null) return "";
+        String s = Objects.toString(value);
+        if (s.indexOf(',') < 0 && s.indexOf('"') < 0 && s.indexOf('\n') < 0 && s.indexOf('\r') < 0) return s;
+        return '"' + s.replace("\"", "\"\"") + '"';
+    }
+}
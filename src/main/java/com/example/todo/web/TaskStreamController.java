@@ -0,0 +1,33 @@
+package com.example.todo.web;
+
+import com.example.todo.security.UserPrincipal;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Push instead of polling: one event per change of a task the caller owns or has a share on
+ * (created / updated / deleted / shared / unshared, data {@code {taskId, type, version}};
+ * shared / unshared leave the task itself unchanged and carry no version).
+ * A {@code resync} event means changes may have been missed: catch up via GET /api/tasks/changes.
+ * With {@code todo.stream.enabled=false} nothing would arrive, so the endpoint is not mapped (404).
+ */
+@RestController
+@ConditionalOnProperty(prefix = "todo.stream", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class TaskStreamController {
+
+    private final TaskStreamHub hub;
+
+    public TaskStreamController(TaskStreamHub hub) {
+        this.hub = hub;
+    }
+
+    @GetMapping(value = "/api/tasks/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(Authentication auth) {
+        UserPrincipal p = (UserPrincipal) auth.getPrincipal();
+        return hub.subscribe(p.getId());
+    }
+}
@@ -0,0 +1,223 @@
+package com.example.todo.web;
+
+import com.example.todo.dto.TaskStreamEventDto;
+import com.example.todo.service.TaskChangeEvent;
+import com.example.todo.service.TaskChangeListener;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Queue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Open SSE streams per user on this node. Task changes arrive as application events
+ * (see {@link TaskChangeListener}) and are queued on the streams of their recipients.
+ * <p>
+ * Nothing here writes to a client on the caller's thread: each stream has a bounded queue
+ * drained by its own sender, so a slow client only delays itself, never the LISTEN thread
+ * (and with it every other stream and the access cache invalidation). A stream whose queue
+ * overflows is closed; the client reconnects and catches up via /api/tasks/changes.
+ */
+@Component
+@ConditionalOnProperty(prefix = "todo.stream", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class TaskStreamHub implements MeterBinder {
+
+    static final String RESYNC_EVENT = "resync";
+
+    private final ConcurrentMap<UUID, Set<Stream>> subscribers = new ConcurrentHashMap<>();
+    private final Duration timeout;
+    private final int maxPending;
+    private final Executor senders;
+    private final AtomicLong overflows = new AtomicLong();
+
+    @Autowired
+    public TaskStreamHub(@Value("${todo.stream.timeout:PT30M}") Duration timeout,
+                         @Value("${todo.stream.max-pending:100}") int maxPending) {
+        this(timeout, maxPending, virtualThreads());
+    }
+
+    TaskStreamHub(Duration timeout, int maxPending, Executor senders) {
+        this.timeout = timeout;
+        this.maxPending = maxPending;
+        this.senders = senders;
+    }
+
+    private static Executor virtualThreads() {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("task-stream-");
+        executor.setVirtualThreads(true);
+        return executor;
+    }
+
+    public SseEmitter subscribe(UUID userId) {
+        Stream stream = new Stream(userId, new SseEmitter(timeout.toMillis()));
+        // add inside compute(): a concurrent unsubscribe may be dropping the user's empty set
+        subscribers.compute(userId, (k, set) -> {
+            Set<Stream> s = set != null ? set : ConcurrentHashMap.newKeySet();
+            s.add(stream);
+            return s;
+        });
+        stream.emitter.onCompletion(() -> unsubscribe(stream));
+        stream.emitter.onTimeout(() -> unsubscribe(stream));
+        stream.emitter.onError(e -> unsubscribe(stream));
+        return stream.emitter;
+    }
+
+    @EventListener
+    public void onChange(TaskChangeEvent change) {
+        TaskStreamEventDto data = new TaskStreamEventDto(change.taskId(), change.type().name(), change.version());
+        Message message = new Message(data.type(), data, null);
+        for (UUID userId : change.users()) {
+            Set<Stream> streams = subscribers.get(userId);
+            if (streams == null) continue;
+            for (Stream stream : streams) stream.offer(message);
+        }
+    }
+
+    // notifications were missed while the listener was away: clients catch up via /api/tasks/changes
+    @EventListener
+    public void onReconnected(TaskChangeListener.Reconnected reconnected) {
+        broadcast(new Message(RESYNC_EVENT, "", null));
+    }
+
+    // keeps proxies from closing idle streams and finds clients that went away
+    @Scheduled(fixedDelayString = "${todo.stream.heartbeat:PT25S}")
+    public void heartbeat() {
+        broadcast(new Message(null, null, "heartbeat"));
+    }
+
+    int subscriberCount() {
+        return subscribers.values().stream().mapToInt(Set::size).sum();
+    }
+
+    long overflowCount() {
+        return overflows.get();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("todo.stream.subscribers", this, TaskStreamHub::subscriberCount)
+                .description("Open task change streams on this node")
+                .register(registry);
+        FunctionCounter.builder("todo.stream.overflows", this, TaskStreamHub::overflowCount)
+                .description("Streams closed because the client fell too far behind")
+                .register(registry);
+    }
+
+    private void broadcast(Message message) {
+        subscribers.values().forEach(streams -> streams.forEach(stream -> stream.offer(message)));
+    }
+
+    private void unsubscribe(Stream stream) {
+        subscribers.computeIfPresent(stream.userId, (k, set) -> {
+            set.remove(stream);
+            return set.isEmpty() ? null : set;
+        });
+    }
+
+    /**
+     * What is queued for a stream. Streams share it; each send builds its own {@link SseEmitter.SseEventBuilder},
+     * since build() appends to the builder and must not run twice or on two threads for one instance.
+     */
+    private record Message(String name, Object data, String comment) {
+
+        SseEmitter.SseEventBuilder toEvent() {
+            SseEmitter.SseEventBuilder event = SseEmitter.event();
+            if (comment != null) event.comment(comment);
+            if (name != null) event.name(name);
+            if (data instanceof TaskStreamEventDto) {
+                event.data(data, MediaType.APPLICATION_JSON);
+            } else if (data != null) {
+                event.data(data);
+            }
+            return event;
+        }
+    }
+
+    /** One open SSE stream: its pending events and the flag of the sender draining them. */
+    private final class Stream {
+        final UUID userId;
+        final SseEmitter emitter;
+        final Queue<Message> pending = new ConcurrentLinkedQueue<>();
+        final AtomicInteger size = new AtomicInteger();
+        final AtomicBoolean draining = new AtomicBoolean();
+        volatile boolean closed;
+
+        Stream(UUID userId, SseEmitter emitter) {
+            this.userId = userId;
+            this.emitter = emitter;
+        }
+
+        void offer(Message message) {
+            if (closed) return;
+            if (size.incrementAndGet() > maxPending) {
+                // the sender is stuck on this client: stop buffering for it. The emitter is
+                // completed by the sender, since SseEmitter would block us behind its send()
+                closed = true;
+                overflows.incrementAndGet();
+                unsubscribe(this);
+                pending.clear();
+                schedule();
+                return;
+            }
+            pending.add(message);
+            schedule();
+        }
+
+        private void schedule() {
+            if (draining.compareAndSet(false, true)) senders.execute(this::drain);
+        }
+
+        private void drain() {
+            do {
+                Message message;
+                while (!closed && (message = pending.poll()) != null) {
+                    size.decrementAndGet();
+                    if (!send(message)) return;
+                }
+                if (closed) {
+                    emitter.complete();
+                    return;
+                }
+                draining.set(false);
+                // an offer may have slipped in after the last poll
+            } while (!pending.isEmpty() && draining.compareAndSet(false, true));
+        }
+
+        // false once the stream is gone; draining stays set, so nothing schedules it again
+        private boolean send(Message message) {
+            try {
+                emitter.send(message.toEvent());
+                return true;
+            } catch (IOException | RuntimeException e) {
+                // client disconnected, the emitter already completed or the event could not be written:
+                // either way the stream ends here rather than leaving its sender flag stuck
+                closed = true;
+                unsubscribe(this);
+                pending.clear();
+                emitter.completeWithError(e);
+                return false;
+            }
+        }
+    }
+}
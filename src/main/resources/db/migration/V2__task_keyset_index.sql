@@ -0,0 +1,12 @@
+-- V2__task_keyset_index.sql
+
+-- keyset pagination for GET /api/tasks orders by (updated_at DESC, id DESC),
+-- so updated_at must never be NULL (NULLs would sort first and break the cursor)
+UPDATE task SET updated_at = COALESCE(created_at, now()) WHERE updated_at IS NULL;
+ALTER TABLE task ALTER COLUMN updated_at SET NOT NULL;
+
+-- serves "owner_id = ? AND (updated_at, id) < (?, ?) ORDER BY updated_at DESC, id DESC LIMIT n"
+CREATE INDEX idx_task_owner_updated_id ON task(owner_id, updated_at DESC, id DESC);
+
+-- leading column of the index above already covers plain owner_id lookups
+DROP INDEX idx_task_owner;
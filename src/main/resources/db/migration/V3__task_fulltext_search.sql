@@ -0,0 +1,49 @@
+-- V3__task_fulltext_search.sql
+
+-- tags live in task_tags, but a generated column can only see its own row,
+-- so keep a denormalized copy of the tags on task (maintained by trigger below)
+ALTER TABLE task ADD COLUMN search_tags TEXT NOT NULL DEFAULT '';
+
+-- backfill must not bump updated_at (it drives list ordering and cursors)
+ALTER TABLE task DISABLE TRIGGER trg_task_updated_at;
+UPDATE task t
+SET search_tags = tt.tags
+FROM (SELECT task_id, string_agg(tag, ' ') AS tags FROM task_tags GROUP BY task_id) tt
+WHERE tt.task_id = t.id;
+ALTER TABLE task ENABLE TRIGGER trg_task_updated_at;
+
+-- weights: title (A) > tags (B) > category (C) > description (D)
+-- 'simple' config: task texts are multilingual, so no language-specific stemming
+ALTER TABLE task ADD COLUMN search_vector tsvector GENERATED ALWAYS AS (
+    setweight(to_tsvector('simple', coalesce(title, '')), 'A') ||
+    setweight(to_tsvector('simple', search_tags), 'B') ||
+    setweight(to_tsvector('simple', coalesce(category, '')), 'C') ||
+    setweight(to_tsvector('simple', coalesce(description, '')), 'D')
+) STORED;
+
+CREATE INDEX idx_task_search_vector ON task USING gin (search_vector);
+
+-- === trigger: keep task.search_tags in sync with task_tags ===
+CREATE FUNCTION task_tags_search_trigger() RETURNS TRIGGER AS $$
+DECLARE
+  tid  UUID;
+  tags TEXT;
+BEGIN
+  IF TG_OP = 'DELETE' THEN
+    tid := OLD.task_id;
+  ELSE
+    tid := NEW.task_id;
+  END IF;
+
+  SELECT COALESCE(string_agg(tag, ' '), '') INTO tags FROM task_tags WHERE task_id = tid;
+
+  UPDATE task SET search_tags = tags
+  WHERE id = tid AND search_tags IS DISTINCT FROM tags;
+  RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_task_tags_search
+AFTER INSERT OR UPDATE OR DELETE ON task_tags
+FOR EACH ROW
+EXECUTE FUNCTION task_tags_search_trigger();
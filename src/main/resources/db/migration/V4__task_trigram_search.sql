@@ -0,0 +1,10 @@
+-- V4__task_trigram_search.sql
+
+-- substring search mode (?match=SUBSTRING) keeps ILIKE '%q%' semantics;
+-- trigram GIN indexes let each ILIKE be answered by an index scan
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX idx_task_title_trgm       ON task      USING gin (title gin_trgm_ops);
+CREATE INDEX idx_task_description_trgm ON task      USING gin (description gin_trgm_ops);
+CREATE INDEX idx_task_category_trgm    ON task      USING gin (category gin_trgm_ops);
+CREATE INDEX idx_task_tags_tag_trgm    ON task_tags USING gin (tag gin_trgm_ops);
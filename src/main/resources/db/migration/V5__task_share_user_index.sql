@@ -0,0 +1,5 @@
+-- V5__task_share_user_index.sql
+
+-- shared branch of the task listing: task_share by user_id, then task by PK.
+-- PK (task_id, user_id) only serves lookups by task.
+CREATE INDEX idx_task_share_user_task ON task_share(user_id, task_id);
@@ -0,0 +1,32 @@
+-- V6__task_metadata_jsonb.sql
+
+-- metadata was always written by the app as a serialized JSON object, so the cast is safe;
+-- blank strings become NULL. ALTER ... TYPE rewrites the table without firing row triggers.
+ALTER TABLE task
+  ALTER COLUMN metadata TYPE jsonb USING NULLIF(btrim(metadata), '')::jsonb;
+
+-- serves "metadata @> '{...}'" (GET /api/tasks?metadata.<key>=value)
+CREATE INDEX idx_task_metadata ON task USING gin (metadata jsonb_path_ops);
+
+-- JSON Merge Patch (RFC 7396): null removes a key, objects merge recursively, anything else replaces.
+-- plpgsql because a SQL-language function cannot call itself at creation time.
+CREATE FUNCTION jsonb_merge_patch(target jsonb, patch jsonb) RETURNS jsonb AS $$
+DECLARE
+  result jsonb;
+  k      text;
+  v      jsonb;
+BEGIN
+  IF patch IS NULL OR jsonb_typeof(patch) <> 'object' THEN
+    RETURN patch;
+  END IF;
+  result := CASE WHEN jsonb_typeof(target) = 'object' THEN target ELSE '{}'::jsonb END;
+  FOR k, v IN SELECT key, value FROM jsonb_each(patch) LOOP
+    IF jsonb_typeof(v) = 'null' THEN
+      result := result - k;
+    ELSE
+      result := jsonb_set(result, ARRAY[k], jsonb_merge_patch(result -> k, v));
+    END IF;
+  END LOOP;
+  RETURN result;
+END;
+$$ LANGUAGE plpgsql IMMUTABLE;
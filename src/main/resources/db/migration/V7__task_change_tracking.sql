@@ -0,0 +1,45 @@
+-- V7__task_change_tracking.sql
+
+-- Delta sync (GET /api/tasks/changes): every task / share row carries the id of the transaction
+-- that last wrote it. Unlike updated_at (taken at statement start, visible only at commit) a
+-- watermark of pg_snapshot_xmin() never skips a row that commits late: everything below it is
+-- settled, everything at or above it is re-read on the next poll.
+ALTER TABLE task       ADD COLUMN change_xid xid8 NOT NULL DEFAULT pg_current_xact_id();
+ALTER TABLE task_share ADD COLUMN change_xid xid8 NOT NULL DEFAULT pg_current_xact_id();
+
+CREATE FUNCTION change_xid_trigger() RETURNS TRIGGER AS $$
+BEGIN
+  NEW.change_xid = pg_current_xact_id();
+  RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_task_change_xid
+BEFORE UPDATE ON task
+FOR EACH ROW
+EXECUTE FUNCTION change_xid_trigger();
+
+CREATE TRIGGER trg_task_share_change_xid
+BEFORE UPDATE ON task_share
+FOR EACH ROW
+EXECUTE FUNCTION change_xid_trigger();
+
+-- own tasks changed since the watermark
+CREATE INDEX idx_task_owner_change ON task(owner_id, change_xid);
+-- tasks shared with the user that changed since the watermark (share is checked per hit)
+CREATE INDEX idx_task_change ON task(change_xid);
+-- tasks newly shared with the user
+CREATE INDEX idx_task_share_user_change ON task_share(user_id, change_xid);
+
+-- Deleted tasks and revoked shares, one row per user that lost access; written by TaskService
+-- before the hard delete and purged after todo.sync.tombstone-retention.
+CREATE TABLE task_tombstone (
+  task_id    UUID NOT NULL,
+  user_id    UUID NOT NULL REFERENCES app_user(id) ON DELETE CASCADE,
+  reason     TEXT NOT NULL CHECK (reason IN ('deleted', 'unshared')),
+  change_xid xid8 NOT NULL DEFAULT pg_current_xact_id(),
+  removed_at TIMESTAMPTZ NOT NULL DEFAULT now()
+);
+
+CREATE INDEX idx_task_tombstone_user_change ON task_tombstone(user_id, change_xid);
+CREATE INDEX idx_task_tombstone_removed_at ON task_tombstone(removed_at);
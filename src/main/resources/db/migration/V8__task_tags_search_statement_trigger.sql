@@ -0,0 +1,53 @@
+-- V8__task_tags_search_statement_trigger.sql
+
+-- The V3 trigger ran once per task_tags row: writing N tags of a task re-aggregated its tags and
+-- updated the task row N times (N row versions, N updated_at / change_xid triggers). Statement
+-- triggers see all affected rows in transition tables and update every touched task once.
+-- A trigger with transition tables can only fire on one event, hence three of them.
+DROP TRIGGER trg_task_tags_search ON task_tags;
+DROP FUNCTION task_tags_search_trigger();
+
+CREATE FUNCTION task_tags_search_trigger() RETURNS TRIGGER AS $$
+DECLARE
+  ids UUID[];
+BEGIN
+  IF TG_OP = 'INSERT' THEN
+    SELECT array_agg(DISTINCT task_id) INTO ids FROM new_tags;
+  ELSIF TG_OP = 'DELETE' THEN
+    SELECT array_agg(DISTINCT task_id) INTO ids FROM old_tags;
+  ELSE
+    SELECT array_agg(task_id) INTO ids
+    FROM (SELECT task_id FROM old_tags UNION SELECT task_id FROM new_tags) touched;
+  END IF;
+
+  IF ids IS NULL THEN
+    RETURN NULL;
+  END IF;
+
+  UPDATE task t
+  SET search_tags = agg.tags
+  FROM (SELECT u.task_id,
+               COALESCE((SELECT string_agg(tt.tag, ' ') FROM task_tags tt WHERE tt.task_id = u.task_id), '') AS tags
+        FROM unnest(ids) AS u(task_id)) agg
+  WHERE t.id = agg.task_id AND t.search_tags IS DISTINCT FROM agg.tags;
+  RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_task_tags_search_insert
+AFTER INSERT ON task_tags
+REFERENCING NEW TABLE AS new_tags
+FOR EACH STATEMENT
+EXECUTE FUNCTION task_tags_search_trigger();
+
+CREATE TRIGGER trg_task_tags_search_update
+AFTER UPDATE ON task_tags
+REFERENCING OLD TABLE AS old_tags NEW TABLE AS new_tags
+FOR EACH STATEMENT
+EXECUTE FUNCTION task_tags_search_trigger();
+
+CREATE TRIGGER trg_task_tags_search_delete
+AFTER DELETE ON task_tags
+REFERENCING OLD TABLE AS old_tags
+FOR EACH STATEMENT
+EXECUTE FUNCTION task_tags_search_trigger();
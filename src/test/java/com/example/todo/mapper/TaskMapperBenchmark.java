@@ -0,0 +1,120 @@
+// src/test/java/com/example/todo/mapper/TaskMapperBenchmark.java
+package com.example.todo.mapper;
+
+import com.example.todo.dto.TaskDto;
+import com.example.todo.entity.AppUser;
+import com.example.todo.entity.Task;
+import com.example.todo.entity.enums.TaskPriority;
+import com.example.todo.entity.enums.TaskStatus;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity → DTO(+ metadata JSON) of one 100-task listing page: raw passthrough vs
+ * parse/re-serialize with the shared reader vs the old "new ObjectMapper() per task".
+ * Not a unit test (surefire runs *Test only): run {@link #main} from the IDE or {@code java -cp target/test-classes:<test classpath>}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TaskMapperBenchmark {
+
+    static final int PAGE_SIZE = 100;
+
+    @Param({"true", "false"})
+    public boolean withMetadata;
+
+    private final TaskMapper shared = Mappers.getMapper(TaskMapper.class);
+
+    // parse into a Map and serialize it back (what the response writer did before raw passthrough)
+    private final TaskMapper parsed = new TaskMapperImpl() {
+        @Override
+        public String rawJson(String json) {
+            return mapToJson(jsonToMap(json));
+        }
+    };
+
+    // same, but parsing with a new ObjectMapper per task: the original behaviour, kept only as the baseline
+    private final TaskMapper perCall = new TaskMapperImpl() {
+        @Override
+        public String rawJson(String json) {
+            if (json == null) return null;
+            try {
+                Map<String, Object> map = new ObjectMapper().readValue(json, new TypeReference<Map<String, Object>>() {});
+                return MetadataJson.WRITER.writeValueAsString(map);
+            } catch (Exception e) {
+                throw new RuntimeException("Failed to parse metadata JSON", e);
+            }
+        }
+    };
+
+    private List<Task> page;
+
+    @Setup
+    public void setUp() {
+        AppUser owner = new AppUser();
+        owner.setId(UUID.randomUUID());
+        owner.setEmail("owner@example.com");
+        page = new ArrayList<>(PAGE_SIZE);
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            Task t = new Task();
+            t.setId(UUID.randomUUID());
+            t.setOwner(owner);
+            t.setTitle("Task #" + i);
+            t.setDescription("Description of task " + i);
+            t.setCategory("work");
+            t.setPriority(TaskPriority.values()[i % 3]);
+            t.setStatus(i % 2 == 0 ? TaskStatus.TODO : TaskStatus.DONE);
+            t.setTags(new LinkedHashSet<>(List.of("tag" + i % 5, "common")));
+            t.setVersion(i);
+            t.setCreatedAt(OffsetDateTime.now());
+            t.setUpdatedAt(OffsetDateTime.now());
+            if (withMetadata) {
+                t.setMetadata("{\"color\":\"#ff" + i + "\",\"estimate\":" + i
+                        + ",\"links\":[\"https://example.com/" + i + "\"],\"flags\":{\"pinned\":" + (i % 2 == 0) + "}}");
+            }
+            page.add(t);
+        }
+    }
+
+    @Benchmark
+    public List<TaskDto> rawPassthrough() {
+        return map(shared);
+    }
+
+    @Benchmark
+    public List<TaskDto> sharedReader() {
+        return map(parsed);
+    }
+
+    @Benchmark
+    public List<TaskDto> objectMapperPerTask() {
+        return map(perCall);
+    }
+
+    private List<TaskDto> map(TaskMapper mapper) {
+        List<TaskDto> out = new ArrayList<>(PAGE_SIZE);
+        for (Task t : page) out.add(mapper.toDto(t));
+        return out;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(TaskMapperBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -15,7 +15,10 @@ import org.junit.jupiter.api.Test;
 import org.mapstruct.factory.Mappers;
 
 import java.time.OffsetDateTime;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.*;
 
@@ -46,7 +49,7 @@ class TaskMapperTest {
         assertThat(dto.completed).isTrue();
         assertThat(dto.priority).isEqualTo("High");
         assertThat(dto.ownerEmail).isEqualTo("alice@example.com");
-        assertThat(dto.metadata).containsEntry("k", "v");
+        assertThat(dto.metadata).isEqualTo("{\"k\":\"v\"}"); // passed through, not re-serialized
     }
 
     @Test
@@ -92,6 +95,24 @@ class TaskMapperTest {
         assertThat(entity.getMetadata()).contains("\"y\":2");
     }
 
+    @Test
+    @DisplayName("Patch DTO → Entity diffs tags in place and keeps an equal metadata document as stored")
+    void updateFromPatch_diffs_tags_and_keeps_equal_metadata() {
+        var entity = new Task();
+        var tags = new LinkedHashSet<>(List.of("work", "old"));
+        entity.setTags(tags);
+        entity.setMetadata("{\"x\": 1}");
+
+        var patch = new TaskPatchDto();
+        patch.tags = List.of(" work ", "new", "", "new");
+        patch.metadata = Map.of("x", 1);
+
+        mapper.updateFromPatch(patch, entity);
+
+        assertThat(entity.getTags()).isSameAs(tags).containsExactly("work", "new");
+        assertThat(entity.getMetadata()).isEqualTo("{\"x\": 1}");
+    }
+
     @Test
     @DisplayName("Priority mapping between enum and UI values is bidirectional and case-insensitive")
     void priority_mapping_is_consistent() {
@@ -132,4 +153,22 @@ class TaskMapperTest {
                 .isInstanceOf(RuntimeException.class)
                 .hasMessageContaining("Failed to parse");
     }
+
+    @Test
+    @DisplayName("Raw metadata: stored JSON object passes through, non-objects are rejected")
+    void raw_metadata_passthrough() {
+        assertThat(mapper.rawJson(null)).isNull();
+        assertThat(mapper.rawJson("  ")).isNull();
+        assertThat(mapper.rawJson(" {\"a\": [1, 2]} ")).isEqualTo("{\"a\": [1, 2]}");
+        assertThatThrownBy(() -> mapper.rawJson("[1,2]")).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    @DisplayName("Metadata key filter keeps only requested top-level keys")
+    void metadata_retain_keys() {
+        var json = "{\"a\":1,\"b\":{\"c\":true},\"d\":\"x\"}";
+        assertThat(MetadataJson.retainKeys(json, Set.of("b", "missing")))
+                .isEqualTo("{\"b\":{\"c\":true}}");
+        assertThat(MetadataJson.retainKeys(null, Set.of("a"))).isNull();
+    }
 }
@@ -0,0 +1,73 @@
+// src/test/java/com/example/todo/repository/AppUserUpsertIT.java
+package com.example.todo.repository;
+
+import com.example.todo.entity.AppUser;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * AppUserRepository.upsert: one INSERT ... ON CONFLICT statement that creates the user, rewrites
+ * the row only for a new non-null display name, and always returns the stored user.
+ */
+@DataJpaTest
+@Testcontainers
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class AppUserUpsertIT {
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15")
+            .withDatabaseName("todo")
+            .withUsername("test")
+            .withPassword("test");
+
+    @DynamicPropertySource
+    static void props(DynamicPropertyRegistry r) {
+        r.add("spring.datasource.url", postgres::getJdbcUrl);
+        r.add("spring.datasource.username", postgres::getUsername);
+        r.add("spring.datasource.password", postgres::getPassword);
+    }
+
+    @Autowired AppUserRepository userRepo;
+    @Autowired JdbcTemplate jdbc;
+
+    @BeforeEach
+    void setUp() {
+        userRepo.deleteAll();
+    }
+
+    @Test
+    void creates_then_updates_only_a_changed_name() {
+        AppUser created = userRepo.upsert("g@example.com", "Grace");
+        assertThat(created.getId()).isNotNull();
+        assertThat(created.getDisplayName()).isEqualTo("Grace");
+        assertThat(created.getCreatedAt()).isNotNull();
+
+        String tuple = rowVersion("g@example.com");
+        AppUser same = userRepo.upsert("g@example.com", "Grace");
+        AppUser noName = userRepo.upsert("g@example.com", null);
+        assertThat(same.getId()).isEqualTo(noName.getId()).isEqualTo(created.getId());
+        assertThat(noName.getDisplayName()).isEqualTo("Grace");
+        // unchanged logins did not rewrite the row: an UPDATE would have produced a new tuple
+        assertThat(rowVersion("g@example.com")).isEqualTo(tuple);
+
+        AppUser renamed = userRepo.upsert("g@example.com", "Grace H.");
+        assertThat(renamed.getId()).isEqualTo(created.getId());
+        assertThat(renamed.getDisplayName()).isEqualTo("Grace H.");
+        assertThat(rowVersion("g@example.com")).isNotEqualTo(tuple);
+        assertThat(userRepo.count()).isEqualTo(1);
+    }
+
+    private String rowVersion(String email) {
+        return jdbc.queryForObject("SELECT CAST(ctid AS text) FROM app_user WHERE email = ?", String.class, email);
+    }
+}
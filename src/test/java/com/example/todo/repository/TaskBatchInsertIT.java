@@ -0,0 +1,105 @@
+// src/test/java/com/example/todo/repository/TaskBatchInsertIT.java
+package com.example.todo.repository;
+
+import com.example.todo.dto.TaskCreateDto;
+import com.example.todo.entity.AppUser;
+import com.example.todo.mapper.TaskMapperImpl;
+import com.example.todo.repository.impl.TaskBulkRepositoryImpl;
+import com.example.todo.repository.impl.TaskReadRepositoryImpl;
+import com.example.todo.repository.impl.TaskTombstoneRepositoryImpl;
+import com.example.todo.service.TaskAccessCache;
+import com.example.todo.service.TaskChangePublisher;
+import com.example.todo.service.TaskService;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * TaskService.createTasks: N tasks (with tags) go out in JDBC batches, so the number of
+ * statements grows with N / batch_size rather than with N.
+ */
+@DataJpaTest
+@Testcontainers
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({TaskService.class, TaskAccessCache.class, TaskChangePublisher.class, TaskReadRepositoryImpl.class, TaskBulkRepositoryImpl.class,
+        TaskTombstoneRepositoryImpl.class, TaskMapperImpl.class})
+class TaskBatchInsertIT {
+
+    static final int TASKS = 200;
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15")
+            .withDatabaseName("todo")
+            .withUsername("test")
+            .withPassword("test");
+
+    @DynamicPropertySource
+    static void props(DynamicPropertyRegistry r) {
+        r.add("spring.datasource.url", postgres::getJdbcUrl);
+        r.add("spring.datasource.username", postgres::getUsername);
+        r.add("spring.datasource.password", postgres::getPassword);
+        r.add("spring.jpa.properties.hibernate.generate_statistics", () -> "true");
+    }
+
+    @Autowired TaskService service;
+    @Autowired AppUserRepository userRepo;
+    @Autowired TaskRepository taskRepo;
+    @Autowired EntityManager em;
+
+    AppUser owner;
+
+    @BeforeEach
+    void setUp() {
+        taskRepo.deleteAll();
+        userRepo.deleteAll();
+        AppUser u = new AppUser();
+        u.setEmail("importer@example.com");
+        owner = userRepo.save(u);
+        em.flush();
+        em.clear();
+        statistics().clear();
+    }
+
+    @Test
+    void batch_insert_uses_bounded_round_trips() {
+        List<TaskCreateDto> dtos = new ArrayList<>();
+        for (int i = 0; i < TASKS; i++) {
+            TaskCreateDto dto = new TaskCreateDto();
+            dto.title = "Imported " + i;
+            dto.tags = List.of("import", "t" + i % 7);
+            dtos.add(dto);
+        }
+
+        var created = service.createTasks(owner.getId(), dtos);
+
+        assertThat(created).hasSize(TASKS).allSatisfy(d -> {
+            assertThat(d.id).isNotNull();
+            assertThat(d.version).isZero();
+            assertThat(d.ownerEmail).isEqualTo("importer@example.com");
+        });
+        // 200 tasks / 50 + 400 tags / 50 batches + the owner proxy for the DTOs
+        Statistics stats = statistics();
+        assertThat(stats.getPrepareStatementCount()).isLessThanOrEqualTo(TASKS / 50 + 2 * TASKS / 50 + 1);
+        assertThat(stats.getEntityInsertCount()).isEqualTo(TASKS);
+        assertThat(taskRepo.count()).isEqualTo(TASKS);
+    }
+
+    private Statistics statistics() {
+        return em.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+    }
+}
@@ -0,0 +1,139 @@
+// src/test/java/com/example/todo/repository/TaskBatchPatchIT.java
+package com.example.todo.repository;
+
+import com.example.todo.dto.TaskBatchPatchDto;
+import com.example.todo.dto.TaskPatchDto;
+import com.example.todo.entity.AppUser;
+import com.example.todo.entity.Task;
+import com.example.todo.entity.TaskShare;
+import com.example.todo.entity.enums.ShareRole;
+import com.example.todo.entity.enums.TaskStatus;
+import com.example.todo.mapper.TaskMapperImpl;
+import com.example.todo.repository.impl.TaskBulkRepositoryImpl;
+import com.example.todo.repository.impl.TaskReadRepositoryImpl;
+import com.example.todo.repository.impl.TaskTombstoneRepositoryImpl;
+import com.example.todo.service.TaskAccessCache;
+import com.example.todo.service.TaskChangePublisher;
+import com.example.todo.service.TaskService;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * TaskService.patchTasks against Postgres: conditional batched UPDATEs bump versions, replace tags
+ * and merge metadata only for items whose version still matched; the others report 412 / 403.
+ */
+@DataJpaTest
+@Testcontainers
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({TaskService.class, TaskAccessCache.class, TaskChangePublisher.class, TaskReadRepositoryImpl.class, TaskBulkRepositoryImpl.class,
+        TaskTombstoneRepositoryImpl.class, TaskMapperImpl.class})
+class TaskBatchPatchIT {
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15")
+            .withDatabaseName("todo")
+            .withUsername("test")
+            .withPassword("test");
+
+    @DynamicPropertySource
+    static void props(DynamicPropertyRegistry r) {
+        r.add("spring.datasource.url", postgres::getJdbcUrl);
+        r.add("spring.datasource.username", postgres::getUsername);
+        r.add("spring.datasource.password", postgres::getPassword);
+    }
+
+    @Autowired TaskService service;
+    @Autowired AppUserRepository userRepo;
+    @Autowired TaskRepository taskRepo;
+    @Autowired TaskShareRepository shareRepo;
+    @Autowired EntityManager em;
+
+    AppUser owner;
+    AppUser viewer;
+    Task first;
+    Task second;
+
+    @BeforeEach
+    void setUp() {
+        shareRepo.deleteAll();
+        taskRepo.deleteAll();
+        userRepo.deleteAll();
+        owner = userRepo.save(user("owner@example.com"));
+        viewer = userRepo.save(user("viewer@example.com"));
+        first = taskRepo.save(task("First", List.of("old")));
+        first.setMetadata("{\"color\":\"red\",\"size\":1}");
+        second = taskRepo.save(task("Second", List.of()));
+        shareRepo.save(new TaskShare(second, viewer, ShareRole.viewer));
+        em.flush();
+        em.clear();
+    }
+
+    @Test
+    void applies_matching_versions_and_reports_the_rest() {
+        var complete = new TaskPatchDto();
+        complete.completed = true;
+        complete.tags = List.of("new", "kanban");
+        complete.metadataPatch = new java.util.HashMap<>(Map.of("size", 2));
+        complete.metadataPatch.put("color", null);
+        var rename = new TaskPatchDto();
+        rename.title = "Renamed";
+
+        var results = service.patchTasks(owner.getId(), List.of(
+                new TaskBatchPatchDto(first.getId(), first.getVersion(), complete),
+                new TaskBatchPatchDto(second.getId(), second.getVersion() + 1, rename),
+                new TaskBatchPatchDto(first.getId(), first.getVersion(), rename)), Map.of());
+        em.clear();
+
+        assertThat(results).extracting(r -> r.status).containsExactly(200, 412, 412);
+        Task updated = taskRepo.findById(first.getId()).orElseThrow();
+        assertThat(updated.getVersion()).isEqualTo(first.getVersion() + 1).isEqualTo(results.get(0).version);
+        assertThat(updated.getStatus()).isEqualTo(TaskStatus.DONE);
+        assertThat(updated.getTitle()).isEqualTo("First"); // the duplicate item lost the version race
+        assertThat(updated.getTags()).containsExactlyInAnyOrder("new", "kanban");
+        assertThat(updated.getMetadata()).isEqualTo("{\"size\": 2}");
+        assertThat(taskRepo.findById(second.getId()).orElseThrow().getTitle()).isEqualTo("Second");
+    }
+
+    @Test
+    void viewer_is_forbidden_per_item() {
+        var rename = new TaskPatchDto();
+        rename.title = "Mine now";
+
+        var results = service.patchTasks(viewer.getId(), List.of(
+                new TaskBatchPatchDto(second.getId(), second.getVersion(), rename),
+                new TaskBatchPatchDto(first.getId(), first.getVersion(), rename)), Map.of());
+        em.clear();
+
+        assertThat(results).extracting(r -> r.status).containsExactly(403, 403);
+        assertThat(taskRepo.findById(second.getId()).orElseThrow().getVersion()).isEqualTo(second.getVersion());
+    }
+
+    private Task task(String title, List<String> tags) {
+        Task t = new Task();
+        t.setOwner(owner);
+        t.setTitle(title);
+        t.setTags(new LinkedHashSet<>(tags));
+        return t;
+    }
+
+    private static AppUser user(String email) {
+        AppUser u = new AppUser();
+        u.setEmail(email);
+        return u;
+    }
+}
@@ -0,0 +1,129 @@
+// src/test/java/com/example/todo/repository/TaskBulkShareIT.java
+package com.example.todo.repository;
+
+import com.example.todo.entity.AppUser;
+import com.example.todo.entity.Task;
+import com.example.todo.entity.TaskShare;
+import com.example.todo.entity.enums.ShareRole;
+import com.example.todo.mapper.TaskMapperImpl;
+import com.example.todo.repository.impl.TaskBulkRepositoryImpl;
+import com.example.todo.repository.impl.TaskReadRepositoryImpl;
+import com.example.todo.repository.impl.TaskTombstoneRepositoryImpl;
+import com.example.todo.service.TaskAccessCache;
+import com.example.todo.service.TaskChangePublisher;
+import com.example.todo.service.TaskService;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * TaskService.shareTasks / revokeShares against Postgres: users are resolved or created and shares
+ * upserted set-wise, repeated requests write nothing, revocations leave tombstones.
+ */
+@DataJpaTest
+@Testcontainers
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({TaskService.class, TaskAccessCache.class, TaskChangePublisher.class, TaskReadRepositoryImpl.class, TaskBulkRepositoryImpl.class,
+        TaskTombstoneRepositoryImpl.class, TaskMapperImpl.class})
+class TaskBulkShareIT {
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15")
+            .withDatabaseName("todo")
+            .withUsername("test")
+            .withPassword("test");
+
+    @DynamicPropertySource
+    static void props(DynamicPropertyRegistry r) {
+        r.add("spring.datasource.url", postgres::getJdbcUrl);
+        r.add("spring.datasource.username", postgres::getUsername);
+        r.add("spring.datasource.password", postgres::getPassword);
+    }
+
+    @Autowired TaskService service;
+    @Autowired AppUserRepository userRepo;
+    @Autowired TaskRepository taskRepo;
+    @Autowired TaskShareRepository shareRepo;
+    @Autowired JdbcTemplate jdbc;
+    @Autowired EntityManager em;
+
+    AppUser owner;
+    AppUser known;
+    Task first;
+    Task second;
+
+    @BeforeEach
+    void setUp() {
+        jdbc.update("DELETE FROM task_tombstone");
+        shareRepo.deleteAll();
+        taskRepo.deleteAll();
+        userRepo.deleteAll();
+        owner = userRepo.save(user("owner@example.com"));
+        known = userRepo.save(user("known@example.com"));
+        first = taskRepo.save(task("First"));
+        second = taskRepo.save(task("Second"));
+        shareRepo.save(new TaskShare(first, known, ShareRole.viewer));
+        em.flush();
+        em.clear();
+    }
+
+    @Test
+    void resolves_users_and_upserts_shares() {
+        var tasks = List.of(first.getId(), second.getId());
+        var emails = List.of("known@example.com", "new@example.com", "new@example.com", "owner@example.com");
+
+        // 2 tasks x 2 users; the owner's own email is skipped
+        assertThat(service.shareTasks(owner.getId(), tasks, emails, ShareRole.editor)).isEqualTo(4);
+        // same request again: every share is already at that role
+        assertThat(service.shareTasks(owner.getId(), tasks, emails, ShareRole.editor)).isZero();
+        em.clear();
+
+        AppUser created = userRepo.findByEmail("new@example.com").orElseThrow();
+        assertThat(userRepo.count()).isEqualTo(3);
+        assertThat(shareRepo.findByTask_IdAndUser_Id(first.getId(), known.getId()).orElseThrow().getRole())
+                .isEqualTo(ShareRole.editor);
+        assertThat(shareRepo.findUserIdsByTaskId(second.getId())).containsExactlyInAnyOrder(known.getId(), created.getId());
+        assertThat(userRepo.resolveOrCreate(List.of("known@example.com", "new@example.com")))
+                .containsEntry("known@example.com", known.getId())
+                .containsEntry("new@example.com", created.getId());
+    }
+
+    @Test
+    void revokes_shares_and_records_tombstones() {
+        var revoked = service.revokeShares(owner.getId(), List.of(first.getId(), second.getId()),
+                List.of("known@example.com", "nobody@example.com"));
+        em.clear();
+
+        assertThat(revoked).isEqualTo(1);
+        assertThat(shareRepo.count()).isZero();
+        assertThat(jdbc.queryForList("SELECT user_id FROM task_tombstone WHERE task_id = ? AND reason = 'unshared'",
+                java.util.UUID.class, first.getId())).containsExactly(known.getId());
+        assertThat(userRepo.findByEmail("nobody@example.com")).isEmpty();
+    }
+
+    private Task task(String title) {
+        Task t = new Task();
+        t.setOwner(owner);
+        t.setTitle(title);
+        return t;
+    }
+
+    private static AppUser user(String email) {
+        AppUser u = new AppUser();
+        u.setEmail(email);
+        return u;
+    }
+}
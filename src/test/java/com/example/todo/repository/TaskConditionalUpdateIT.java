@@ -0,0 +1,156 @@
+// src/test/java/com/example/todo/repository/TaskConditionalUpdateIT.java
+package com.example.todo.repository;
+
+import com.example.todo.entity.AppUser;
+import com.example.todo.entity.Task;
+import com.example.todo.entity.TaskShare;
+import com.example.todo.entity.enums.ShareRole;
+import com.example.todo.entity.enums.TaskPriority;
+import com.example.todo.entity.enums.TaskStatus;
+import com.example.todo.mapper.TaskMapperImpl;
+import com.example.todo.repository.impl.TaskBulkRepositoryImpl;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Single-statement PATCH: UPDATE ... WHERE id, version and edit right, RETURNING the projected task.
+ */
+@DataJpaTest
+@Testcontainers
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({TaskBulkRepositoryImpl.class, TaskMapperImpl.class})
+class TaskConditionalUpdateIT {
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15")
+            .withDatabaseName("todo")
+            .withUsername("test")
+            .withPassword("test");
+
+    @DynamicPropertySource
+    static void props(DynamicPropertyRegistry r) {
+        r.add("spring.datasource.url", postgres::getJdbcUrl);
+        r.add("spring.datasource.username", postgres::getUsername);
+        r.add("spring.datasource.password", postgres::getPassword);
+    }
+
+    @Autowired TaskBulkRepository bulkRepo;
+    @Autowired AppUserRepository userRepo;
+    @Autowired TaskRepository taskRepo;
+    @Autowired TaskShareRepository shareRepo;
+    @Autowired EntityManager em;
+
+    AppUser owner;
+    AppUser editor;
+    AppUser viewer;
+    Task task;
+
+    @BeforeEach
+    void setUp() {
+        shareRepo.deleteAll();
+        taskRepo.deleteAll();
+        userRepo.deleteAll();
+        owner = userRepo.save(user("owner@example.com"));
+        editor = userRepo.save(user("editor@example.com"));
+        viewer = userRepo.save(user("viewer@example.com"));
+        Task t = new Task();
+        t.setOwner(owner);
+        t.setTitle("Draft");
+        t.setTags(new LinkedHashSet<>(List.of("work")));
+        t.setMetadata("{\"color\":\"red\"}");
+        task = taskRepo.save(t);
+        shareRepo.save(new TaskShare(task, editor, ShareRole.editor));
+        shareRepo.save(new TaskShare(task, viewer, ShareRole.viewer));
+        em.flush();
+        em.clear();
+    }
+
+    @Test
+    void writes_only_patched_columns_and_returns_the_row() {
+        int version = task.getVersion();
+        var update = new TaskUpdate(task.getId(), version, "Final", null, null, TaskPriority.HIGH, null,
+                TaskStatus.DONE, null, null, "{\"size\":2}", null);
+
+        var dto = bulkRepo.updateIfEditable(editor.getId(), update).orElseThrow();
+
+        assertThat(dto.version).isEqualTo(version + 1);
+        assertThat(dto.title).isEqualTo("Final");
+        assertThat(dto.priority).isEqualTo("High");
+        assertThat(dto.completed).isTrue();
+        assertThat(dto.ownerEmail).isEqualTo("owner@example.com");
+        assertThat(dto.tags).containsExactly("work");
+        assertThat(dto.metadata).isEqualTo("{\"size\": 2, \"color\": \"red\"}");
+        em.clear();
+        Task stored = taskRepo.findById(task.getId()).orElseThrow();
+        assertThat(stored.getVersion()).isEqualTo(version + 1);
+        assertThat(stored.getCategory()).isEqualTo(task.getCategory());
+    }
+
+    @Test
+    void unchanged_values_are_not_written() {
+        int version = task.getVersion();
+        var same = new TaskUpdate(task.getId(), version, "Draft", null, null, null, null, null, null, null,
+                "{\"color\":\"red\"}", new LinkedHashSet<>(List.of("work")));
+
+        var dto = bulkRepo.updateIfEditable(editor.getId(), same).orElseThrow();
+
+        assertThat(dto.version).isEqualTo(version);
+        assertThat(dto.title).isEqualTo("Draft");
+        assertThat(dto.tags).containsExactly("work");
+        em.clear();
+        assertThat(taskRepo.findById(task.getId()).orElseThrow().getVersion()).isEqualTo(version);
+    }
+
+    @Test
+    void tags_and_metadata_patch_are_one_version() {
+        int version = task.getVersion();
+        var update = new TaskUpdate(task.getId(), version, null, null, null, null, null, null, null, null,
+                "{\"color\":null}", new LinkedHashSet<>(List.of("work", "home")));
+
+        var dto = bulkRepo.updateIfEditable(owner.getId(), update).orElseThrow();
+
+        assertThat(dto.version).isEqualTo(version + 1);
+        assertThat(dto.tags).containsExactly("home", "work");
+        assertThat(dto.metadata).isEqualTo("{}");
+        em.clear();
+        Task stored = taskRepo.findById(task.getId()).orElseThrow();
+        assertThat(stored.getVersion()).isEqualTo(version + 1);
+        assertThat(stored.getTags()).containsExactlyInAnyOrder("work", "home");
+    }
+
+    @Test
+    void stale_version_viewer_and_missing_task_write_nothing() {
+        int version = task.getVersion();
+        var stale = new TaskUpdate(task.getId(), version - 1, "X", null, null, null, null, null, null, null, null, null);
+        var current = new TaskUpdate(task.getId(), version, "X", null, null, null, null, null, null, null, null, null);
+        var missing = new TaskUpdate(java.util.UUID.randomUUID(), 0, "X", null, null, null, null, null, null, null, null, null);
+
+        assertThat(bulkRepo.updateIfEditable(owner.getId(), stale)).isEmpty();
+        assertThat(bulkRepo.updateIfEditable(viewer.getId(), current)).isEmpty();
+        assertThat(bulkRepo.updateIfEditable(owner.getId(), missing)).isEmpty();
+        em.clear();
+        Task stored = taskRepo.findById(task.getId()).orElseThrow();
+        assertThat(stored.getVersion()).isEqualTo(version);
+        assertThat(stored.getTitle()).isEqualTo("Draft");
+    }
+
+    private static AppUser user(String email) {
+        AppUser u = new AppUser();
+        u.setEmail(email);
+        return u;
+    }
+}
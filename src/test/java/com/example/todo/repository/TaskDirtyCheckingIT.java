@@ -0,0 +1,117 @@
+// src/test/java/com/example/todo/repository/TaskDirtyCheckingIT.java
+package com.example.todo.repository;
+
+import com.example.todo.dto.TaskPatchDto;
+import com.example.todo.entity.AppUser;
+import com.example.todo.entity.Task;
+import com.example.todo.mapper.TaskMapperImpl;
+import com.example.todo.repository.impl.TaskBulkRepositoryImpl;
+import com.example.todo.repository.impl.TaskReadRepositoryImpl;
+import com.example.todo.repository.impl.TaskTombstoneRepositoryImpl;
+import com.example.todo.service.TaskAccessCache;
+import com.example.todo.service.TaskChangePublisher;
+import com.example.todo.service.TaskService;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * TaskService.patchTask on the entity path: tags are written as a row diff, and a patch that
+ * changes nothing issues no UPDATE and keeps the version.
+ */
+@DataJpaTest
+@Testcontainers
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({TaskService.class, TaskAccessCache.class, TaskChangePublisher.class, TaskReadRepositoryImpl.class, TaskBulkRepositoryImpl.class,
+        TaskTombstoneRepositoryImpl.class, TaskMapperImpl.class})
+class TaskDirtyCheckingIT {
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15")
+            .withDatabaseName("todo")
+            .withUsername("test")
+            .withPassword("test");
+
+    @DynamicPropertySource
+    static void props(DynamicPropertyRegistry r) {
+        r.add("spring.datasource.url", postgres::getJdbcUrl);
+        r.add("spring.datasource.username", postgres::getUsername);
+        r.add("spring.datasource.password", postgres::getPassword);
+        r.add("spring.jpa.properties.hibernate.generate_statistics", () -> "true");
+    }
+
+    @Autowired TaskService service;
+    @Autowired AppUserRepository userRepo;
+    @Autowired TaskRepository taskRepo;
+    @Autowired EntityManager em;
+
+    AppUser owner;
+    Task task;
+
+    @BeforeEach
+    void setUp() {
+        taskRepo.deleteAll();
+        userRepo.deleteAll();
+        AppUser u = new AppUser();
+        u.setEmail("owner@example.com");
+        owner = userRepo.save(u);
+        Task t = new Task();
+        t.setOwner(owner);
+        t.setTitle("Plan");
+        t.setTags(new LinkedHashSet<>(List.of("work", "old")));
+        t.setMetadata("{\"color\":\"red\"}");
+        task = taskRepo.save(t);
+        em.flush();
+        em.clear();
+        statistics().clear();
+    }
+
+    @Test
+    void unchanged_patch_writes_nothing() {
+        var patch = new TaskPatchDto();
+        patch.title = "Plan";
+        patch.tags = List.of("old", "work");
+        patch.metadata = Map.of("color", "red");
+
+        var dto = service.patchTask(task.getId(), owner.getId(), task.getVersion(), patch);
+
+        assertThat(dto.version).isEqualTo(task.getVersion());
+        assertThat(statistics().getEntityUpdateCount()).isZero();
+        assertThat(statistics().getCollectionUpdateCount()).isZero();
+    }
+
+    @Test
+    void tag_change_is_written_as_a_row_diff() {
+        var patch = new TaskPatchDto();
+        patch.tags = List.of("work", "new");
+
+        var dto = service.patchTask(task.getId(), owner.getId(), task.getVersion(), patch);
+
+        assertThat(dto.version).isEqualTo(task.getVersion() + 1);
+        assertThat(dto.tags).containsExactlyInAnyOrder("work", "new");
+        Statistics stats = statistics();
+        assertThat(stats.getCollectionUpdateCount()).isEqualTo(1);
+        assertThat(stats.getCollectionRecreateCount()).isZero();
+        assertThat(stats.getCollectionRemoveCount()).isZero();
+    }
+
+    private Statistics statistics() {
+        return em.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+    }
+}
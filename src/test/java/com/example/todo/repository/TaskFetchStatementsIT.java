@@ -0,0 +1,171 @@
+// src/test/java/com/example/todo/repository/TaskFetchStatementsIT.java
+package com.example.todo.repository;
+
+import com.example.todo.entity.AppUser;
+import com.example.todo.entity.Task;
+import com.example.todo.entity.TaskShare;
+import com.example.todo.entity.enums.ShareRole;
+import com.example.todo.entity.enums.TaskPriority;
+import com.example.todo.entity.enums.TaskStatus;
+import com.example.todo.mapper.TaskMapperImpl;
+import com.example.todo.repository.impl.TaskReadRepositoryImpl;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Guards against N+1: a listing page (or a single task) with owners and tags is read in one
+ * statement, however many owners and tags the page has. Statements are counted at the JDBC
+ * connection, since the read path bypasses Hibernate (and its statistics).
+ */
+@DataJpaTest
+@Testcontainers
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({TaskReadRepositoryImpl.class, TaskMapperImpl.class, TaskFetchStatementsIT.CountingDataSource.class})
+class TaskFetchStatementsIT {
+
+    static final int OWNERS = 10;
+    static final int TASKS_PER_OWNER = 5;
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15")
+            .withDatabaseName("todo")
+            .withUsername("test")
+            .withPassword("test");
+
+    @DynamicPropertySource
+    static void props(DynamicPropertyRegistry r) {
+        r.add("spring.datasource.url", postgres::getJdbcUrl);
+        r.add("spring.datasource.username", postgres::getUsername);
+        r.add("spring.datasource.password", postgres::getPassword);
+    }
+
+    @Autowired TaskReadRepository readRepo;
+    @Autowired AppUserRepository userRepo;
+    @Autowired TaskRepository taskRepo;
+    @Autowired TaskShareRepository shareRepo;
+    @Autowired EntityManager em;
+
+    AppUser viewer;
+    Task anyTask;
+
+    @BeforeEach
+    void setUp() {
+        shareRepo.deleteAll();
+        taskRepo.deleteAll();
+        userRepo.deleteAll();
+
+        viewer = userRepo.save(user("viewer@example.com"));
+        // every task has a different owner than its neighbours and its own tags,
+        // so loading them one by one would show up as ~2 extra statements per task
+        for (int o = 0; o < OWNERS; o++) {
+            AppUser owner = userRepo.save(user("owner" + o + "@example.com"));
+            for (int i = 0; i < TASKS_PER_OWNER; i++) {
+                Task t = new Task();
+                t.setOwner(owner);
+                t.setTitle("Task " + o + "/" + i);
+                t.setStatus(TaskStatus.TODO);
+                t.setPriority(TaskPriority.MED);
+                t.setTags(new LinkedHashSet<>(List.of("tag" + i, "owner" + o)));
+                anyTask = taskRepo.save(t);
+                shareRepo.save(new TaskShare(anyTask, viewer, ShareRole.viewer));
+            }
+        }
+        em.flush();
+        em.clear();
+        CountingDataSource.STATEMENTS.set(0);
+    }
+
+    @Test
+    void listing_page_with_owners_and_tags_is_one_statement() {
+        var dtos = readRepo.findAccessiblePage(viewer.getId(), new TaskFilter(null, null, null), null, 100);
+
+        assertThat(dtos).hasSize(OWNERS * TASKS_PER_OWNER);
+        assertThat(dtos).allSatisfy(d -> {
+            assertThat(d.ownerEmail).startsWith("owner");
+            assertThat(d.tags).hasSize(2);
+        });
+        assertThat(CountingDataSource.STATEMENTS.get()).isEqualTo(1);
+    }
+
+    @Test
+    void single_task_with_owner_and_tags_is_one_statement() {
+        var dto = readRepo.findAuthorizedById(anyTask.getId(), viewer.getId()).orElseThrow();
+
+        assertThat(dto.ownerEmail).isNotNull();
+        assertThat(dto.tags).hasSize(2);
+        assertThat(CountingDataSource.STATEMENTS.get()).isEqualTo(1);
+    }
+
+    private static AppUser user(String email) {
+        AppUser u = new AppUser();
+        u.setEmail(email);
+        return u;
+    }
+
+    /** Wraps the DataSource so that every statement prepared or created on its connections is counted. */
+    @TestConfiguration
+    static class CountingDataSource {
+
+        static final AtomicInteger STATEMENTS = new AtomicInteger();
+
+        @Bean
+        static BeanPostProcessor countStatements() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if (!(bean instanceof DataSource ds)) return bean;
+                    return new DelegatingDataSource(ds) {
+                        @Override
+                        public Connection getConnection() throws SQLException {
+                            return counting(super.getConnection());
+                        }
+
+                        @Override
+                        public Connection getConnection(String username, String password) throws SQLException {
+                            return counting(super.getConnection(username, password));
+                        }
+                    };
+                }
+            };
+        }
+
+        private static Connection counting(Connection target) {
+            return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                    (proxy, method, args) -> {
+                        String name = method.getName();
+                        if (name.equals("prepareStatement") || name.equals("prepareCall") || name.equals("createStatement")) {
+                            STATEMENTS.incrementAndGet();
+                        }
+                        try {
+                            return method.invoke(target, args);
+                        } catch (InvocationTargetException e) {
+                            throw e.getCause();
+                        }
+                    });
+        }
+    }
+}
@@ -0,0 +1,145 @@
+// src/test/java/com/example/todo/repository/TaskMetadataJsonbIT.java
+package com.example.todo.repository;
+
+import com.example.todo.entity.AppUser;
+import com.example.todo.entity.Task;
+import com.example.todo.entity.enums.TaskPriority;
+import com.example.todo.entity.enums.TaskStatus;
+import com.example.todo.mapper.TaskMapperImpl;
+import com.example.todo.repository.impl.TaskBulkRepositoryImpl;
+import com.example.todo.repository.impl.TaskListingQuery;
+import com.example.todo.repository.impl.TaskReadRepositoryImpl;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * task.metadata as jsonb (V6): merge patch applied in Postgres by the PATCH write path and
+ * metadata.<path>=value filters answered through the GIN index.
+ */
+@DataJpaTest
+@Testcontainers
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({TaskReadRepositoryImpl.class, TaskBulkRepositoryImpl.class, TaskMapperImpl.class})
+class TaskMetadataJsonbIT {
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15")
+            .withDatabaseName("todo")
+            .withUsername("test")
+            .withPassword("test");
+
+    @DynamicPropertySource
+    static void props(DynamicPropertyRegistry r) {
+        r.add("spring.datasource.url", postgres::getJdbcUrl);
+        r.add("spring.datasource.username", postgres::getUsername);
+        r.add("spring.datasource.password", postgres::getPassword);
+    }
+
+    @Autowired AppUserRepository userRepo;
+    @Autowired TaskRepository taskRepo;
+    @Autowired TaskReadRepository readRepo;
+    @Autowired TaskBulkRepository bulkRepo;
+    @Autowired EntityManager em;
+
+    AppUser owner;
+    Task red;
+    Task blue;
+
+    @BeforeEach
+    void setUp() {
+        taskRepo.deleteAll();
+        userRepo.deleteAll();
+        AppUser u = new AppUser();
+        u.setEmail("owner@example.com");
+        owner = userRepo.save(u);
+
+        red = taskRepo.save(task("Red one", "{\"color\":\"red\",\"size\":3,\"team\":{\"name\":\"core\",\"lead\":\"ann\"}}"));
+        blue = taskRepo.save(task("Blue one", "{\"color\":\"blue\",\"team\":{\"name\":\"web\"}}"));
+        em.flush();
+        em.clear();
+    }
+
+    @Test
+    void merge_patch_follows_rfc7396_and_bumps_version() {
+        int before = taskRepo.findById(red.getId()).orElseThrow().getVersion();
+        em.clear();
+
+        var stale = bulkRepo.updateIfEditable(owner.getId(), mergePatch(before - 1, "{\"size\":null}"));
+        var updated = bulkRepo.updateIfEditable(owner.getId(), mergePatch(before,
+                "{\"size\":null,\"team\":{\"lead\":\"bob\"},\"labels\":[\"a\"]}"));
+        em.clear();
+
+        assertThat(stale).isEmpty();
+        assertThat(updated).isPresent();
+        Task t = taskRepo.findById(red.getId()).orElseThrow();
+        assertThat(t.getVersion()).isEqualTo(before + 1);
+        assertThat(jsonbEquals(t.getMetadata(),
+                "{\"color\":\"red\",\"team\":{\"name\":\"core\",\"lead\":\"bob\"},\"labels\":[\"a\"]}")).isTrue();
+    }
+
+    @Test
+    void metadata_filter_matches_nested_paths() {
+        var byColor = readRepo.findAccessiblePage(owner.getId(), filter(Map.of("color", "red")), null, 10);
+        assertThat(byColor).extracting(d -> d.id).containsExactly(red.getId());
+
+        var byTeam = readRepo.findAccessiblePage(owner.getId(), filter(Map.of("team.name", "web")), null, 10);
+        assertThat(byTeam).extracting(d -> d.id).containsExactly(blue.getId());
+
+        var none = readRepo.findAccessiblePage(owner.getId(), filter(Map.of("color", "red", "team.name", "web")), null, 10);
+        assertThat(none).isEmpty();
+    }
+
+    @Test
+    void metadata_filter_uses_gin_index() {
+        var listing = TaskListingQuery.of(owner.getId(), filter(Map.of("color", "red")), null, 10);
+        em.createNativeQuery("SET LOCAL enable_seqscan = off").executeUpdate();
+        var explain = em.createNativeQuery("EXPLAIN " + listing.sql());
+        listing.params().forEach(explain::setParameter);
+        @SuppressWarnings("unchecked")
+        String plan = ((List<Object>) explain.getResultList()).stream()
+                .map(Object::toString)
+                .collect(Collectors.joining("\n"));
+
+        assertThat(plan).contains("idx_task_metadata");
+    }
+
+    private static TaskFilter filter(Map<String, String> metadata) {
+        return new TaskFilter(null, null, null, null, metadata);
+    }
+
+    private TaskUpdate mergePatch(int expectedVersion, String patch) {
+        return new TaskUpdate(red.getId(), expectedVersion, null, null, null, null, null, null, null, null, patch, null);
+    }
+
+    private boolean jsonbEquals(String actual, String expected) {
+        return (Boolean) em.createNativeQuery("SELECT CAST(:a AS jsonb) = CAST(:b AS jsonb)")
+                .setParameter("a", actual)
+                .setParameter("b", expected)
+                .getSingleResult();
+    }
+
+    private Task task(String title, String metadata) {
+        Task t = new Task();
+        t.setOwner(owner);
+        t.setTitle(title);
+        t.setStatus(TaskStatus.TODO);
+        t.setPriority(TaskPriority.MED);
+        t.setMetadata(metadata);
+        return t;
+    }
+}
@@ -0,0 +1,218 @@
+// src/test/java/com/example/todo/repository/TaskReadRepositoryIT.java
+package com.example.todo.repository;
+
+import com.example.todo.dto.TaskDto;
+import com.example.todo.entity.AppUser;
+import com.example.todo.entity.Task;
+import com.example.todo.entity.TaskShare;
+import com.example.todo.entity.enums.ShareRole;
+import com.example.todo.entity.enums.TaskPriority;
+import com.example.todo.entity.enums.TaskStatus;
+import com.example.todo.mapper.TaskMapperImpl;
+import com.example.todo.repository.impl.TaskReadRepositoryImpl;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * JDBC projection read path: DTOs come straight from SQL (owner email joined,
+ * tags aggregated) and never enter the persistence context.
+ */
+@DataJpaTest
+@Testcontainers
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({TaskReadRepositoryImpl.class, TaskMapperImpl.class})
+class TaskReadRepositoryIT {
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15")
+            .withDatabaseName("todo")
+            .withUsername("test")
+            .withPassword("test");
+
+    @DynamicPropertySource
+    static void props(DynamicPropertyRegistry r) {
+        r.add("spring.datasource.url", postgres::getJdbcUrl);
+        r.add("spring.datasource.username", postgres::getUsername);
+        r.add("spring.datasource.password", postgres::getPassword);
+    }
+
+    @Autowired TaskReadRepository readRepo;
+    @Autowired AppUserRepository userRepo;
+    @Autowired TaskRepository taskRepo;
+    @Autowired TaskShareRepository shareRepo;
+    @Autowired EntityManager em;
+    @Autowired JdbcTemplate jdbc;
+
+    AppUser owner;
+    AppUser viewer;
+    AppUser stranger;
+    Task shared;
+    Task untagged;
+
+    @BeforeEach
+    void setUp() {
+        shareRepo.deleteAll();
+        taskRepo.deleteAll();
+        userRepo.deleteAll();
+
+        owner = userRepo.save(user("owner@example.com"));
+        viewer = userRepo.save(user("viewer@example.com"));
+        stranger = userRepo.save(user("stranger@example.com"));
+
+        shared = task("Shared report", TaskStatus.DONE, TaskPriority.HIGH, List.of("work", "q3"));
+        shared.setMetadata("{\"color\":\"red\"}");
+        shared = taskRepo.save(shared);
+        untagged = taskRepo.save(task("Plain", TaskStatus.TODO, TaskPriority.LOW, List.of()));
+        shareRepo.save(new TaskShare(shared, viewer, ShareRole.viewer));
+        em.flush();
+        em.clear();
+    }
+
+    @Test
+    void page_rows_are_fully_projected() {
+        var page = readRepo.findAccessiblePage(owner.getId(), new TaskFilter(null, null, null), null, 10);
+
+        assertThat(page).extracting(d -> d.id).containsExactlyInAnyOrder(shared.getId(), untagged.getId());
+        var dto = page.stream().filter(d -> d.id.equals(shared.getId())).findFirst().orElseThrow();
+        assertThat(dto.ownerId).isEqualTo(owner.getId());
+        assertThat(dto.ownerEmail).isEqualTo("owner@example.com");
+        assertThat(dto.tags).containsExactlyInAnyOrder("work", "q3");
+        assertThat(dto.priority).isEqualTo("High");
+        assertThat(dto.completed).isTrue();
+        assertThat(dto.status).isEqualTo("DONE");
+        assertThat(dto.metadata).isEqualTo("{\"color\": \"red\"}"); // jsonb's canonical text form
+        assertThat(dto.version).isNotNull();
+        assertThat(dto.updatedAt).isNotNull();
+        assertThat(dto.score).isNull();
+
+        var plain = page.stream().filter(d -> d.id.equals(untagged.getId())).findFirst().orElseThrow();
+        assertThat(plain.tags).isEmpty();
+        // nothing was hydrated into the persistence context
+        assertThat(em.unwrap(Session.class).getStatistics().getEntityCount()).isZero();
+    }
+
+    @Test
+    void page_is_ordered_and_ranked_for_search() {
+        var page = readRepo.findAccessiblePage(owner.getId(), new TaskFilter("report", null, null), null, 10);
+
+        assertThat(page).extracting(d -> d.id).containsExactly(shared.getId());
+        assertThat(page.get(0).score).isPositive();
+    }
+
+    @Test
+    void find_by_id_respects_access() {
+        assertThat(readRepo.findAuthorizedById(shared.getId(), viewer.getId()))
+                .get().satisfies(d -> assertThat(d.tags).hasSize(2));
+        assertThat(readRepo.findAuthorizedById(untagged.getId(), viewer.getId())).isEmpty();
+        assertThat(readRepo.findAuthorizedById(shared.getId(), stranger.getId())).isEmpty();
+    }
+
+    @Test
+    void collection_stamp_moves_on_update_share_and_delete() {
+        TaskFilter all = new TaskFilter(null, null, null);
+        var before = readRepo.findCollectionStamp(viewer.getId(), all);
+        assertThat(before.count()).isEqualTo(1);
+
+        // a newly shared task joins the collection
+        shareRepo.save(new TaskShare(untagged, viewer, ShareRole.viewer));
+        em.flush();
+        var shared2 = readRepo.findCollectionStamp(viewer.getId(), all);
+        assertThat(shared2.count()).isEqualTo(2);
+        assertThat(shared2.fingerprint()).isNotEqualTo(before.fingerprint());
+
+        // swap: unshare one, share the other back → same count, different member set
+        shareRepo.deleteAll(shareRepo.findAll().stream().filter(s -> s.getTask().getId().equals(shared.getId())).toList());
+        em.flush();
+        var swapped = readRepo.findCollectionStamp(viewer.getId(), all);
+        assertThat(swapped.count()).isEqualTo(1);
+        assertThat(swapped.fingerprint()).isNotEqualTo(before.fingerprint());
+
+        // a write that leaves count and updated_at as they were still moves the fingerprint (version)
+        jdbc.update("UPDATE task SET version = version + 1, updated_at = updated_at WHERE id = ?", untagged.getId());
+        var rewritten = readRepo.findCollectionStamp(viewer.getId(), all);
+        assertThat(rewritten.count()).isEqualTo(swapped.count());
+        assertThat(rewritten.lastUpdated()).isEqualTo(swapped.lastUpdated());
+        assertThat(rewritten.fingerprint()).isNotEqualTo(swapped.fingerprint());
+
+        // filters narrow the stamp the same way they narrow the listing
+        assertThat(readRepo.findCollectionStamp(owner.getId(), new TaskFilter(null, TaskStatus.DONE, null)).count()).isEqualTo(1);
+        assertThat(readRepo.findCollectionStamp(stranger.getId(), all).count()).isZero();
+        assertThat(readRepo.findCollectionStamp(stranger.getId(), all).lastUpdated()).isNull();
+    }
+
+    @Test
+    void version_lookup_respects_access() {
+        Integer version = taskRepo.findById(shared.getId()).orElseThrow().getVersion();
+        em.clear();
+
+        assertThat(readRepo.findAuthorizedVersion(shared.getId(), owner.getId())).contains(version);
+        assertThat(readRepo.findAuthorizedVersion(shared.getId(), viewer.getId())).contains(version);
+        assertThat(readRepo.findAuthorizedVersion(shared.getId(), stranger.getId())).isEmpty();
+        assertThat(readRepo.findAuthorizedVersion(java.util.UUID.randomUUID(), owner.getId())).isEmpty();
+    }
+
+    @Test
+    void access_lookup_tells_owner_role_none_and_missing() {
+        shareRepo.save(new TaskShare(untagged, stranger, ShareRole.editor));
+        em.flush();
+
+        assertThat(readRepo.findAccess(shared.getId(), owner.getId())).contains(TaskAccess.owner);
+        assertThat(readRepo.findAccess(shared.getId(), viewer.getId())).contains(TaskAccess.viewer);
+        assertThat(readRepo.findAccess(untagged.getId(), stranger.getId())).contains(TaskAccess.editor);
+        assertThat(readRepo.findAccess(shared.getId(), stranger.getId())).contains(TaskAccess.none);
+        assertThat(readRepo.findAccess(java.util.UUID.randomUUID(), owner.getId())).isEmpty();
+    }
+
+    @Test
+    void stream_returns_every_accessible_row_in_listing_order() {
+        for (int i = 0; i < 120; i++) {
+            taskRepo.save(task("Bulk " + i, TaskStatus.TODO, TaskPriority.MED, List.of()));
+        }
+        em.flush();
+        em.clear();
+
+        List<TaskDto> owned = new ArrayList<>();
+        readRepo.streamAccessible(owner.getId(), new TaskFilter(null, null, null), owned::add);
+        assertThat(owned).hasSize(122); // past MAX_PAGE_SIZE: the export has no page cut
+        assertThat(owned).extracting(d -> d.updatedAt).isSortedAccordingTo(Comparator.reverseOrder());
+
+        List<TaskDto> shared = new ArrayList<>();
+        readRepo.streamAccessible(viewer.getId(), new TaskFilter(null, TaskStatus.DONE, null), shared::add);
+        assertThat(shared).extracting(d -> d.id).containsExactly(this.shared.getId());
+        assertThat(shared.get(0).tags).containsExactlyInAnyOrder("work", "q3");
+    }
+
+    private Task task(String title, TaskStatus status, TaskPriority priority, List<String> tags) {
+        Task t = new Task();
+        t.setOwner(owner);
+        t.setTitle(title);
+        t.setStatus(status);
+        t.setPriority(priority);
+        t.setTags(new LinkedHashSet<>(tags));
+        return t;
+    }
+
+    private static AppUser user(String email) {
+        AppUser u = new AppUser();
+        u.setEmail(email);
+        return u;
+    }
+}
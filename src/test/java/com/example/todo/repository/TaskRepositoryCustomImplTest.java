@@ -7,7 +7,9 @@ import com.example.todo.entity.TaskShare;
 import com.example.todo.entity.enums.ShareRole;
 import com.example.todo.entity.enums.TaskPriority;
 import com.example.todo.entity.enums.TaskStatus;
-import com.example.todo.repository.impl.TaskRepositoryCustomImpl;
+import com.example.todo.mapper.TaskMapperImpl;
+import com.example.todo.repository.impl.TaskReadRepositoryImpl;
+import com.example.todo.util.PageCursor;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Tag;
@@ -22,13 +24,15 @@ import org.testcontainers.containers.PostgreSQLContainer;
 import org.testcontainers.junit.jupiter.Container;
 import org.testcontainers.junit.jupiter.Testcontainers;
 
+import java.util.Comparator;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
 /**
- * Slice-тест кастомного репозитория:
+ * Slice-тест чтения задач (TaskReadRepository):
  *  - владелец видит свои задачи
  *  - пользователь видит расшаренные задачи
  *  - посторонний не видит
@@ -37,7 +41,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 @DataJpaTest
 @Testcontainers
 @AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
-@Import(TaskRepositoryCustomImpl.class) // гарантируем регистрацию кастомной имплементации
+@Import({TaskReadRepositoryImpl.class, TaskMapperImpl.class})
 @Tag("repository")
 class TaskRepositoryCustomImplIT {
 
@@ -54,7 +58,7 @@ class TaskRepositoryCustomImplIT {
     @Autowired AppUserRepository users;
     @Autowired TaskRepository tasks;
     @Autowired TaskShareRepository shares;
-    @Autowired TaskRepositoryCustom repo; // интерфейс; реализация подтянута через @Import
+    @Autowired TaskReadRepository repo; // the JDBC read path that replaced the entity-based custom repository
 
     UUID ownerId;
     UUID viewerId;
@@ -92,27 +96,26 @@ class TaskRepositoryCustomImplIT {
     @Test
     @DisplayName("Владелец видит все свои задачи")
     void owner_sees_his_tasks() {
-        var list = repo.findAllAccessible(ownerId, null, null, null);
+        var list = repo.findAccessiblePage(ownerId, new TaskFilter(null, null, null), null, 100);
         assertThat(list)
-                .extracting(Task::getId)
+                .extracting(d -> d.id)
                 .containsExactlyInAnyOrder(ownerFeature.getId(), ownerBug.getId());
     }
 
     @Test
-    @DisplayName("Viewer видит только расшаренные задачи владельца (и не видит чужие нерасшаренные)")
+    @DisplayName("Viewer видит расшаренные задачи владельца и свои (и не видит чужие нерасшаренные)")
     void viewer_sees_only_shared_tasks() {
-        var list = repo.findAllAccessible(viewerId, null, null, null);
+        var list = repo.findAccessiblePage(viewerId, new TaskFilter(null, null, null), null, 100);
         assertThat(list)
-                .extracting(Task::getId)
-                .containsExactly(ownerBug.getId()) // расшаренная
-                .doesNotContain(ownerFeature.getId()) // нерасшаренная
-                .doesNotContain(viewerOwn.getId());  // своя собственная задача не входит по контракту кастомного метода
+                .extracting(d -> d.id)
+                .containsExactlyInAnyOrder(ownerBug.getId(), viewerOwn.getId()) // shared + own: the page lists both
+                .doesNotContain(ownerFeature.getId()); // нерасшаренная
     }
 
     @Test
     @DisplayName("Посторонний не видит ничего")
     void stranger_sees_nothing() {
-        var list = repo.findAllAccessible(strangerId, null, null, null);
+        var list = repo.findAccessiblePage(strangerId, new TaskFilter(null, null, null), null, 100);
         assertThat(list).isEmpty();
     }
 
@@ -120,21 +123,74 @@ class TaskRepositoryCustomImplIT {
     @DisplayName("Фильтр q ищет по title/description/category (case-insensitive, contains)")
     void filter_by_q() {
         // "search" матчится по title в ownerFeature
-        var list = repo.findAllAccessible(ownerId, "Search", null, null);
+        var list = repo.findAccessiblePage(ownerId, new TaskFilter("Search", null, null), null, 100);
         assertThat(list)
-                .extracting(Task::getId)
+                .extracting(d -> d.id)
                 .containsExactly(ownerFeature.getId());
     }
 
     @Test
     @DisplayName("Фильтры status и priority вместе срабатывают корректно")
     void filter_by_status_and_priority() {
-        var list = repo.findAllAccessible(ownerId, null, TaskStatus.DONE, TaskPriority.MED);
+        var list = repo.findAccessiblePage(ownerId, new TaskFilter(null, TaskStatus.DONE, TaskPriority.MED), null, 100);
         assertThat(list)
-                .extracting(Task::getId)
+                .extracting(d -> d.id)
                 .containsExactly(ownerBug.getId());
     }
 
+    @Test
+    @DisplayName("findAccessiblePage: без q — своё и расшаренное, keyset по (updated_at, id)")
+    void page_without_query_uses_keyset() {
+        var viewerFirst = repo.findAccessiblePage(viewerId, new TaskFilter(null, null, null), null, 1);
+        assertThat(viewerFirst).hasSize(1);
+        assertThat(viewerFirst.get(0).score).isNull();
+
+        var last = viewerFirst.get(0);
+        var viewerRest = repo.findAccessiblePage(viewerId, new TaskFilter(null, null, null),
+                new PageCursor(last.updatedAt, last.id), 10);
+
+        assertThat(viewerRest)
+                .extracting(d -> d.id)
+                .doesNotContain(last.id)
+                .hasSize(1);
+        assertThat(List.of(last.id, viewerRest.get(0).id))
+                .containsExactlyInAnyOrder(ownerBug.getId(), viewerOwn.getId());
+    }
+
+    @Test
+    @DisplayName("findAccessiblePage: своё + расшаренное без дублей, общий порядок по updated_at")
+    void page_merges_owned_and_shared_without_duplicates() {
+        // владелец в share своей же задачи не должен получить её дважды
+        var owner = users.findById(ownerId).orElseThrow();
+        shares.save(new TaskShare(ownerBug, owner, ShareRole.editor));
+
+        var ownerPage = repo.findAccessiblePage(ownerId, new TaskFilter(null, null, null), null, 10);
+        assertThat(ownerPage)
+                .extracting(d -> d.id)
+                .containsExactlyInAnyOrder(ownerFeature.getId(), ownerBug.getId());
+
+        var viewerPage = repo.findAccessiblePage(viewerId, new TaskFilter(null, null, null), null, 10);
+        assertThat(viewerPage)
+                .extracting(d -> d.updatedAt)
+                .isSortedAccordingTo(Comparator.reverseOrder());
+    }
+
+    @Test
+    @DisplayName("findAccessiblePage: full-text q ранжирует совпадение в title выше description")
+    void page_with_query_is_ranked() {
+        var owner = users.findById(ownerId).orElseThrow();
+        var inDescription = task(owner, "Quarterly planning", "work", TaskStatus.TODO, TaskPriority.LOW);
+        inDescription.setDescription("draft the search roadmap");
+        tasks.saveAndFlush(inDescription);
+
+        var page = repo.findAccessiblePage(ownerId, new TaskFilter("search", null, null), null, 10);
+
+        assertThat(page)
+                .extracting(d -> d.id)
+                .containsExactly(ownerFeature.getId(), inDescription.getId());
+        assertThat(page.get(0).score).isGreaterThan(page.get(1).score);
+    }
+
     // ---------- helpers ----------
 
     private static AppUser newUser(String email) {
@@ -151,7 +207,7 @@ class TaskRepositoryCustomImplIT {
         t.setCategory(category);
         t.setStatus(status);
         t.setPriority(priority);
-        t.setTags(List.of());      // поле не участвует в критериях — для честности заполним
+        t.setTags(new LinkedHashSet<>()); // поле не участвует в критериях — для честности заполним
         t.setMetadata("{}");
         return t;
     }
@@ -5,16 +5,20 @@ import com.example.todo.entity.AppUser;
 import com.example.todo.entity.Task;
 import com.example.todo.entity.enums.TaskPriority;
 import com.example.todo.entity.enums.TaskStatus;
+import com.example.todo.mapper.TaskMapperImpl;
+import com.example.todo.repository.impl.TaskReadRepositoryImpl;
 import org.junit.jupiter.api.*;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
 import org.springframework.test.context.DynamicPropertyRegistry;
 import org.springframework.test.context.DynamicPropertySource;
 import org.testcontainers.containers.PostgreSQLContainer;
 import org.testcontainers.junit.jupiter.Container;
 import org.testcontainers.junit.jupiter.Testcontainers;
 
+import java.util.LinkedHashSet;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -22,6 +26,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 @DataJpaTest
 @Testcontainers
 @AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({TaskReadRepositoryImpl.class, TaskMapperImpl.class})
 class TaskRepositoryIT {
 
     @Container
@@ -35,12 +40,11 @@ class TaskRepositoryIT {
         r.add("spring.datasource.url", postgres::getJdbcUrl);
         r.add("spring.datasource.username", postgres::getUsername);
         r.add("spring.datasource.password", postgres::getPassword);
-        // если используешь Flyway:
-        // r.add("spring.flyway.enabled", () -> true);
     }
 
     @Autowired AppUserRepository userRepo;
     @Autowired TaskRepository taskRepo;
+    @Autowired TaskReadRepository readRepo;
 
     AppUser owner;
     AppUser stranger;
@@ -65,32 +69,23 @@ class TaskRepositoryIT {
         t.setOwner(owner);
         t.setTitle("Test Task");
         t.setDescription("Desc");
-        t.setPriority(TaskPriority.MED);   // проверь что такое значение есть в enum
+        t.setPriority(TaskPriority.MED);
         t.setStatus(TaskStatus.TODO);
-
-        // ✅ tags как List<String>, не массив:
-        t.setTags(List.of("tag1", "tag2"));
-
-        // ✅ metadata как JSON-строка (если у тебя setMetadata(String)):
+        t.setTags(new LinkedHashSet<>(List.of("tag1", "tag2")));
         t.setMetadata("{\"k\":\"v\"}");
 
-        // TODO: если у тебя есть поле деда́йна — поставь верный сеттер:
-        // t.setDueAt(OffsetDateTime.now().plusDays(1));
-
-        Task saved = taskRepo.save(t);
+        Task saved = taskRepo.saveAndFlush(t);
         assertThat(saved.getId()).isNotNull();
 
-        var found = taskRepo.findAuthorizedById(saved.getId(), owner.getId());
+        var found = readRepo.findAuthorizedById(saved.getId(), owner.getId());
         assertThat(found).isPresent();
 
-        Task got = found.get();
-        assertThat(got.getTitle()).isEqualTo("Test Task");
-        assertThat(got.getPriority()).isEqualTo(TaskPriority.MED);
-        assertThat(got.getTags()).containsExactly("tag1", "tag2");
-
-        // metadata — строка → проверяем содержимое:
-        assertThat(got.getMetadata()).contains("\"k\":\"v\"");
-        assertThat(got.getOwner().getId()).isEqualTo(owner.getId());
+        var got = found.get();
+        assertThat(got.title).isEqualTo("Test Task");
+        assertThat(got.priority).isEqualTo("Medium");
+        assertThat(got.tags).containsExactly("tag1", "tag2");
+        assertThat(got.metadata).contains("\"k\": \"v\"");
+        assertThat(got.ownerId).isEqualTo(owner.getId());
     }
 
     @Test
@@ -100,11 +95,11 @@ class TaskRepositoryIT {
         t.setTitle("Hidden");
         t.setPriority(TaskPriority.MED);
         t.setStatus(TaskStatus.TODO);
-        t.setTags(List.of());
+        t.setTags(new LinkedHashSet<>());
         t.setMetadata("{}");
-        t = taskRepo.save(t);
+        t = taskRepo.saveAndFlush(t);
 
-        var found = taskRepo.findAuthorizedById(t.getId(), stranger.getId());
+        var found = readRepo.findAuthorizedById(t.getId(), stranger.getId());
         assertThat(found).isNotPresent();
     }
 }
@@ -0,0 +1,88 @@
+package com.example.todo.repository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * task.search_tags is maintained by statement-level triggers (V8): however many tag rows one
+ * statement writes, each touched task row is updated once.
+ */
+@DataJpaTest
+@Testcontainers
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class TaskTagsSearchTriggerIT {
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15")
+            .withDatabaseName("todo")
+            .withUsername("test")
+            .withPassword("test");
+
+    @DynamicPropertySource
+    static void props(DynamicPropertyRegistry r) {
+        r.add("spring.datasource.url", postgres::getJdbcUrl);
+        r.add("spring.datasource.username", postgres::getUsername);
+        r.add("spring.datasource.password", postgres::getPassword);
+    }
+
+    @Autowired JdbcTemplate jdbc;
+
+    UUID a;
+    UUID b;
+
+    @BeforeEach
+    void setUp() {
+        UUID owner = jdbc.queryForObject("INSERT INTO app_user(email) VALUES ('owner@example.com') RETURNING id", UUID.class);
+        a = jdbc.queryForObject("INSERT INTO task(owner_id, title) VALUES (?, 'A') RETURNING id", UUID.class, owner);
+        b = jdbc.queryForObject("INSERT INTO task(owner_id, title) VALUES (?, 'B') RETURNING id", UUID.class, owner);
+    }
+
+    @Test
+    void many_tag_rows_update_each_task_once() {
+        long before = taskUpdates();
+
+        jdbc.update("INSERT INTO task_tags(task_id, tag) SELECT ?, unnest(CAST(? AS text[]))",
+                a, "{red,green,blue,alpha,beta}");
+        assertThat(taskUpdates() - before).isEqualTo(1);
+        assertThat(searchTags(a).split(" ")).containsExactlyInAnyOrder("red", "green", "blue", "alpha", "beta");
+
+        // one statement over two tasks: one update per task
+        jdbc.update("INSERT INTO task_tags(task_id, tag) VALUES (?, 'x'), (?, 'y'), (?, 'z')", a, b, b);
+        assertThat(taskUpdates() - before).isEqualTo(3);
+        assertThat(searchTags(b).split(" ")).containsExactlyInAnyOrder("y", "z");
+
+        jdbc.update("UPDATE task_tags SET tag = upper(tag) WHERE task_id = ?", b);
+        assertThat(searchTags(b).split(" ")).containsExactlyInAnyOrder("Y", "Z");
+
+        jdbc.update("DELETE FROM task_tags WHERE task_id = ?", a);
+        assertThat(searchTags(a)).isEmpty();
+        assertThat(taskUpdates() - before).isEqualTo(5);
+
+        // nothing deleted: the task is not touched
+        jdbc.update("DELETE FROM task_tags WHERE task_id = ?", a);
+        assertThat(taskUpdates() - before).isEqualTo(5);
+    }
+
+    private String searchTags(UUID id) {
+        return jdbc.queryForObject("SELECT search_tags FROM task WHERE id = ?", String.class, id);
+    }
+
+    // row updates of task in the current transaction
+    private long taskUpdates() {
+        return jdbc.queryForObject(
+                "SELECT n_tup_upd FROM pg_stat_xact_user_tables WHERE relname = 'task'", Long.class);
+    }
+}
@@ -0,0 +1,123 @@
+// src/test/java/com/example/todo/repository/TaskTrigramSearchIT.java
+package com.example.todo.repository;
+
+import com.example.todo.entity.AppUser;
+import com.example.todo.entity.Task;
+import com.example.todo.entity.enums.TaskPriority;
+import com.example.todo.entity.enums.TaskStatus;
+import com.example.todo.mapper.TaskMapperImpl;
+import com.example.todo.repository.impl.TaskListingQuery;
+import com.example.todo.repository.impl.TaskReadRepositoryImpl;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Substring search mode (?match=SUBSTRING): keeps ILIKE '%q%' semantics
+ * and must be answered through the pg_trgm GIN indexes from V4.
+ */
+@DataJpaTest
+@Testcontainers
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({TaskReadRepositoryImpl.class, TaskMapperImpl.class})
+class TaskTrigramSearchIT {
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15")
+            .withDatabaseName("todo")
+            .withUsername("test")
+            .withPassword("test");
+
+    @DynamicPropertySource
+    static void props(DynamicPropertyRegistry r) {
+        r.add("spring.datasource.url", postgres::getJdbcUrl);
+        r.add("spring.datasource.username", postgres::getUsername);
+        r.add("spring.datasource.password", postgres::getPassword);
+    }
+
+    @Autowired AppUserRepository userRepo;
+    @Autowired TaskRepository taskRepo;
+    @Autowired TaskReadRepository readRepo;
+    @Autowired EntityManager em;
+
+    AppUser owner;
+    Task invoice;
+    Task tagged;
+
+    @BeforeEach
+    void setUp() {
+        taskRepo.deleteAll();
+        userRepo.deleteAll();
+
+        owner = new AppUser();
+        owner.setEmail("owner@example.com");
+        owner = userRepo.save(owner);
+
+        // some noise so the table is not trivially small
+        for (int i = 0; i < 200; i++) {
+            taskRepo.save(task("Routine task " + i, List.of("chore")));
+        }
+        invoice = taskRepo.save(task("Pay INV-2024-117 before Friday", List.of()));
+        tagged = taskRepo.save(task("Call the supplier", List.of("procurement")));
+        taskRepo.flush();
+    }
+
+    @Test
+    void substring_mode_matches_partial_words_and_codes() {
+        var byCode = readRepo.findAccessiblePage(owner.getId(),
+                new TaskFilter("nv-2024", TaskSearchMode.SUBSTRING, null, null), null, 10);
+        assertThat(byCode).extracting(d -> d.id).containsExactly(invoice.getId());
+        assertThat(byCode.get(0).score).isNull();
+
+        var byTagFragment = readRepo.findAccessiblePage(owner.getId(),
+                new TaskFilter("cure", TaskSearchMode.SUBSTRING, null, null), null, 10);
+        assertThat(byTagFragment).extracting(d -> d.id).containsExactly(tagged.getId());
+    }
+
+    @Test
+    void substring_mode_plan_uses_trigram_indexes() {
+        // the table is small: forbid seq scans so the plan shows what the planner *can* use
+        em.createNativeQuery("SET LOCAL enable_seqscan = off").executeUpdate();
+
+        var listing = TaskListingQuery.of(owner.getId(),
+                new TaskFilter("INV-2024", TaskSearchMode.SUBSTRING, null, null), null, 100);
+        var explain = em.createNativeQuery("EXPLAIN " + listing.sql());
+        listing.params().forEach(explain::setParameter);
+
+        @SuppressWarnings("unchecked")
+        List<Object> lines = explain.getResultList();
+        String plan = lines.stream().map(String::valueOf).collect(Collectors.joining("\n"));
+
+        assertThat(plan)
+                .contains("idx_task_title_trgm")
+                .contains("idx_task_description_trgm")
+                .contains("idx_task_category_trgm")
+                .contains("idx_task_tags_tag_trgm");
+    }
+
+    private Task task(String title, List<String> tags) {
+        Task t = new Task();
+        t.setOwner(owner);
+        t.setTitle(title);
+        t.setDescription("Desc");
+        t.setPriority(TaskPriority.MED);
+        t.setStatus(TaskStatus.TODO);
+        t.setTags(new LinkedHashSet<>(tags));
+        t.setMetadata("{}");
+        return t;
+    }
+}
@@ -1,6 +1,8 @@
 // src/test/java/com/example/todo/security/FirebaseIdTokenVerifierTest.java
 package com.example.todo.security;
 
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.source.ImmutableJWKSet;
 import com.nimbusds.jwt.JWTClaimsSet;
 import com.nimbusds.jwt.proc.ConfigurableJWTProcessor;
 import com.nimbusds.jose.proc.SecurityContext;
@@ -32,9 +34,9 @@ class FirebaseIdTokenVerifierTest {
     @BeforeEach
     void setup() throws Exception {
         jwtProcessor = Mockito.mock(ConfigurableJWTProcessor.class);
-        verifier = new FirebaseIdTokenVerifier("demo-project-id");
+        verifier = new FirebaseIdTokenVerifier("demo-project-id", new ImmutableJWKSet<>(new JWKSet()));
 
-        // inject mock via reflection (Nimbus RemoteJWKSet is skipped)
+        // inject mock via reflection (key selection is skipped)
         Field field = FirebaseIdTokenVerifier.class.getDeclaredField("jwtProcessor");
         field.setAccessible(true);
         field.set(verifier, jwtProcessor);
@@ -1,12 +1,10 @@
 // src/test/java/com/example/todo/security/JwtAuthenticationFilterTest.java
 package com.example.todo.security;
 
-import com.nimbusds.jwt.JWTClaimsSet;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.http.Cookie;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.DisplayName;
-import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 import org.springframework.http.HttpHeaders;
@@ -32,14 +30,6 @@ class JwtAuthenticationFilterTest {
         Mockito.reset(jwtService);
     }
 
-    private static JWTClaimsSet claims(UUID id, String email, String name) {
-        return new JWTClaimsSet.Builder()
-                .subject(id.toString())
-                .claim("email", email)
-                .claim("name", name)
-                .build();
-    }
-
     @Test
     @DisplayName("Authorization: Bearer <token> → аутентификация проставляется")
     void authenticatesFromAuthorizationHeader() throws Exception {
@@ -50,11 +40,11 @@ class JwtAuthenticationFilterTest {
         FilterChain chain = mock(FilterChain.class);
 
         UUID userId = UUID.randomUUID();
-        when(jwtService.verifyToken(token)).thenReturn(claims(userId, "user@example.com", "User Name"));
+        when(jwtService.authenticate(token)).thenReturn(new UserPrincipal(userId, "user@example.com", "User Name"));
 
         filter.doFilter(req, res, chain);
 
-        verify(jwtService).verifyToken(token);
+        verify(jwtService).authenticate(token);
         verify(chain).doFilter(req, res);
 
         var auth = SecurityContextHolder.getContext().getAuthentication();
@@ -81,11 +71,11 @@ class JwtAuthenticationFilterTest {
         FilterChain chain = mock(FilterChain.class);
 
         UUID userId = UUID.randomUUID();
-        when(jwtService.verifyToken(token)).thenReturn(claims(userId, "cookie@ex.com", "Cookie User"));
+        when(jwtService.authenticate(token)).thenReturn(new UserPrincipal(userId, "cookie@ex.com", "Cookie User"));
 
         filter.doFilter(req, res, chain);
 
-        verify(jwtService).verifyToken(token);
+        verify(jwtService).authenticate(token);
         verify(chain).doFilter(req, res);
 
         var auth = SecurityContextHolder.getContext().getAuthentication();
@@ -106,7 +96,7 @@ class JwtAuthenticationFilterTest {
 
         filter.doFilter(req, res, chain);
 
-        verify(jwtService, never()).verifyToken(anyString());
+        verify(jwtService, never()).authenticate(anyString());
         verify(chain).doFilter(req, res);
         assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
     }
@@ -125,7 +115,7 @@ class JwtAuthenticationFilterTest {
     }
 
     @Test
-    @DisplayName("verifyToken бросает исключение → контекст очищен, цепочка продолжается")
+    @DisplayName("authenticate бросает исключение → контекст очищен, цепочка продолжается")
     void invalidTokenClearsContext() throws Exception {
         String token = "bad";
         var req = new MockHttpServletRequest();
@@ -133,7 +123,7 @@ class JwtAuthenticationFilterTest {
         var res = new MockHttpServletResponse();
         FilterChain chain = mock(FilterChain.class);
 
-        when(jwtService.verifyToken(token)).thenThrow(new RuntimeException("jwt invalid"));
+        when(jwtService.authenticate(token)).thenThrow(new RuntimeException("jwt invalid"));
 
         // предварительно положим что-то в контекст, чтобы проверить очистку
         SecurityContextHolder.getContext().setAuthentication(
@@ -146,51 +136,21 @@ class JwtAuthenticationFilterTest {
         assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
     }
 
-    @Nested
-    @DisplayName("Плохие/некорректные claims")
-    class BadClaims {
-
-        @Test
-        @DisplayName("Отсутствует subject → контекст очищен")
-        void missingSubjectClearsContext() throws Exception {
-            String token = "no-sub";
-            var req = new MockHttpServletRequest();
-            req.addHeader(HttpHeaders.AUTHORIZATION, "Bearer " + token);
-            var res = new MockHttpServletResponse();
-            FilterChain chain = mock(FilterChain.class);
-
-            var claims = new JWTClaimsSet.Builder()
-                    .claim("email", "x@y.z")
-                    .claim("name", "No Sub")
-                    .build();
-            when(jwtService.verifyToken(token)).thenReturn(claims);
-
-            filter.doFilter(req, res, chain);
-
-            verify(chain).doFilter(req, res);
-            assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
-        }
-
-        @Test
-        @DisplayName("Subject не UUID → контекст очищен")
-        void nonUuidSubjectClearsContext() throws Exception {
-            String token = "bad-sub";
-            var req = new MockHttpServletRequest();
-            req.addHeader(HttpHeaders.AUTHORIZATION, "Bearer " + token);
-            var res = new MockHttpServletResponse();
-            FilterChain chain = mock(FilterChain.class);
-
-            var claims = new JWTClaimsSet.Builder()
-                    .subject("not-a-uuid")
-                    .claim("email", "x@y.z")
-                    .claim("name", "Bad Sub")
-                    .build();
-            when(jwtService.verifyToken(token)).thenReturn(claims);
-
-            filter.doFilter(req, res, chain);
-
-            verify(chain).doFilter(req, res);
-            assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
-        }
+    @Test
+    @DisplayName("Плохие claims (нет sub / sub не UUID) → authenticate бросает, контекст очищен")
+    void badClaimsClearContext() throws Exception {
+        String token = "bad-sub";
+        var req = new MockHttpServletRequest();
+        req.addHeader(HttpHeaders.AUTHORIZATION, "Bearer " + token);
+        var res = new MockHttpServletResponse();
+        FilterChain chain = mock(FilterChain.class);
+
+        // разбор claims теперь в JwtService.toPrincipal (см. JwtServiceTest)
+        when(jwtService.authenticate(token)).thenThrow(new IllegalArgumentException("Invalid UUID string: not-a-uuid"));
+
+        filter.doFilter(req, res, chain);
+
+        verify(chain).doFilter(req, res);
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
     }
 }
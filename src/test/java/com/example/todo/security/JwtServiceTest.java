@@ -7,6 +7,7 @@ import com.nimbusds.jose.JWSSigner;
 import com.nimbusds.jose.crypto.MACSigner;
 import com.nimbusds.jwt.JWTClaimsSet;
 import com.nimbusds.jwt.SignedJWT;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
@@ -106,6 +107,61 @@ class JwtServiceTest {
         assertThrows(IllegalArgumentException.class, () -> svc.verifyToken(token));
     }
 
+    // ---------- authenticate (cache) ----------
+
+    @Test
+    @DisplayName("authenticate: повторный токен берётся из кэша, метрики hit/miss публикуются")
+    void authenticate_caches_verified_token() throws Exception {
+        var svc = new JwtService(ISS, SECRET_OK_32);
+        var registry = new SimpleMeterRegistry();
+        svc.bindTo(registry);
+        var userId = UUID.randomUUID();
+        var token = svc.issueToken(userId, "user@example.com", "User");
+
+        var first = svc.authenticate(token);
+        var second = svc.authenticate(token);
+
+        assertEquals(userId, first.getId());
+        assertEquals("user@example.com", first.getEmail());
+        assertEquals("User", first.getDisplayName());
+        assertSame(first, second);
+        assertEquals(1.0, registry.get("cache.gets").tag("cache", "jwt.verified").tag("result", "hit").functionCounter().count());
+        assertEquals(1.0, registry.get("cache.gets").tag("cache", "jwt.verified").tag("result", "miss").functionCounter().count());
+    }
+
+    @Test
+    @DisplayName("authenticate: подделанная подпись не попадает в кэш валидного токена")
+    void authenticate_rejects_tampered_token_after_valid_one() throws Exception {
+        var svc = new JwtService(ISS, SECRET_OK_32);
+        var token = svc.issueToken(UUID.randomUUID(), "user@example.com", "User");
+        svc.authenticate(token);
+
+        String forged = buildTokenWith(SECRET_OTHER, b -> b
+                .issuer(ISS)
+                .subject(UUID.randomUUID().toString())
+                .expirationTime(Date.from(Instant.now().plusSeconds(600))));
+        assertThrows(IllegalArgumentException.class, () -> svc.authenticate(forged));
+        String altered = token.substring(0, token.length() - 2) + (token.endsWith("AA") ? "BB" : "AA");
+        assertThrows(Exception.class, () -> svc.authenticate(altered));
+    }
+
+    @Test
+    @DisplayName("authenticate: subject отсутствует или не UUID → исключение")
+    void authenticate_rejects_bad_subject() throws Exception {
+        var svc = new JwtService(ISS, SECRET_OK_32);
+        String noSub = buildTokenWith(SECRET_OK_32, b -> b
+                .issuer(ISS)
+                .claim("email", "x@y.z")
+                .expirationTime(Date.from(Instant.now().plusSeconds(600))));
+        String badSub = buildTokenWith(SECRET_OK_32, b -> b
+                .issuer(ISS)
+                .subject("not-a-uuid")
+                .expirationTime(Date.from(Instant.now().plusSeconds(600))));
+
+        assertThrows(IllegalArgumentException.class, () -> svc.authenticate(noSub));
+        assertThrows(IllegalArgumentException.class, () -> svc.authenticate(badSub));
+    }
+
     // ---------- helper ----------
 
     @FunctionalInterface
@@ -0,0 +1,194 @@
+// src/test/java/com/example/todo/security/RefreshingJwkSourceTest.java
+package com.example.todo.security;
+
+import com.nimbusds.jose.JOSEObjectType;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jose.jwk.JWKMatcher;
+import com.nimbusds.jose.jwk.JWKSelector;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Date;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for {@link RefreshingJwkSource} and {@link ResourceJwkSetSource}: no network,
+ * keys come from a fake source or a JWKS file.
+ */
+@Tag("unit")
+class RefreshingJwkSourceTest {
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2025-01-01T00:00:00Z"));
+    private RefreshingJwkSource jwks;
+
+    @AfterEach
+    void tearDown() {
+        if (jwks != null) jwks.close();
+    }
+
+    @Test
+    @DisplayName("Stale keys are still served while a background refresh runs")
+    void serves_stale_keys_and_refreshes() throws Exception {
+        RSAKey first = rsaKey("k1");
+        RSAKey second = rsaKey("k2");
+        AtomicInteger calls = new AtomicInteger();
+        jwks = new RefreshingJwkSource(
+                () -> new JwkSetSource.Fetched(new JWKSet(calls.incrementAndGet() == 1 ? first : second), Duration.ofMinutes(10)),
+                Duration.ofHours(1), Duration.ofSeconds(30), clock);
+        jwks.start();
+
+        clock.advance(Duration.ofMinutes(11));
+        assertThat(jwks.get(byKid("k1"), null)).extracting(k -> k.getKeyID()).containsExactly("k1");
+
+        eventually(() -> !jwks.get(byKid("k2"), null).isEmpty());
+        assertThat(calls.get()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("A failed refresh keeps the previous keys")
+    void failed_refresh_keeps_previous_keys() throws Exception {
+        RSAKey key = rsaKey("k1");
+        AtomicInteger calls = new AtomicInteger();
+        jwks = new RefreshingJwkSource(() -> {
+            if (calls.incrementAndGet() > 1) throw new IllegalStateException("source down");
+            return new JwkSetSource.Fetched(new JWKSet(key), null);
+        }, Duration.ofHours(1), Duration.ofSeconds(30), clock);
+
+        assertThat(jwks.refreshNow()).isTrue();
+        assertThat(jwks.refreshNow()).isFalse();
+        assertThat(jwks.get(byKid("k1"), null)).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("Unknown kid triggers at most one refresh per retry delay")
+    void unknown_kid_refresh_is_rate_limited() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        RSAKey key = rsaKey("k1");
+        jwks = new RefreshingJwkSource(() -> {
+            calls.incrementAndGet();
+            return new JwkSetSource.Fetched(new JWKSet(key), null);
+        }, Duration.ofHours(1), Duration.ofSeconds(30), clock);
+        jwks.start();
+
+        for (int i = 0; i < 50; i++) {
+            assertThat(jwks.get(byKid("bogus"), null)).isEmpty();
+        }
+        assertThat(calls.get()).isEqualTo(1);
+
+        clock.advance(Duration.ofSeconds(31));
+        jwks.get(byKid("bogus"), null);
+        eventually(() -> calls.get() == 2);
+    }
+
+    @Test
+    @DisplayName("Refresh latency is recorded per outcome, key age is exposed")
+    void records_refresh_metrics() throws Exception {
+        RSAKey key = rsaKey("k1");
+        AtomicInteger calls = new AtomicInteger();
+        jwks = new RefreshingJwkSource(() -> {
+            if (calls.incrementAndGet() > 1) throw new IllegalStateException("source down");
+            return new JwkSetSource.Fetched(new JWKSet(key), null);
+        }, Duration.ofHours(1), Duration.ofSeconds(30), clock);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        jwks.bindTo(registry);
+
+        jwks.refreshNow();
+        jwks.refreshNow();
+        clock.advance(Duration.ofSeconds(42));
+
+        assertThat(registry.get(RefreshingJwkSource.REFRESH_TIMER).tag("outcome", "success").timer().count()).isEqualTo(1);
+        assertThat(registry.get(RefreshingJwkSource.REFRESH_TIMER).tag("outcome", "failure").timer().count()).isEqualTo(1);
+        assertThat(registry.get("firebase.jwks.age").gauge().value()).isEqualTo(42.0);
+    }
+
+    @Test
+    @DisplayName("Cache-Control max-age is parsed")
+    void parses_max_age() {
+        assertThat(ResourceJwkSetSource.maxAge("public, max-age=19473, must-revalidate, no-transform"))
+                .isEqualTo(Duration.ofSeconds(19473));
+        assertThat(ResourceJwkSetSource.maxAge("no-cache")).isNull();
+        assertThat(ResourceJwkSetSource.maxAge(null)).isNull();
+    }
+
+    @Test
+    @DisplayName("Verifies a Firebase-shaped token against a file-based JWKS")
+    void verifies_token_with_file_jwks(@TempDir Path dir) throws Exception {
+        RSAKey key = rsaKey("file-key");
+        Path file = dir.resolve("jwks.json");
+        Files.writeString(file, new JWKSet(key.toPublicJWK()).toString());
+
+        jwks = new RefreshingJwkSource(new ResourceJwkSetSource(file.toUri().toString(), Duration.ofSeconds(1)),
+                Duration.ofHours(1), Duration.ofSeconds(30), Clock.systemUTC());
+        jwks.start();
+        var verifier = new FirebaseIdTokenVerifier("demo-project-id", jwks);
+
+        JWTClaimsSet claims = new JWTClaimsSet.Builder()
+                .issuer("https://securetoken.google.com/demo-project-id")
+                .audience("demo-project-id")
+                .subject("uid-1")
+                .expirationTime(Date.from(Instant.now().plusSeconds(300)))
+                .claim("email", "user@example.com")
+                .claim("name", "User")
+                .claim("email_verified", true)
+                .build();
+        SignedJWT jwt = new SignedJWT(new JWSHeader.Builder(JWSAlgorithm.RS256)
+                .keyID(key.getKeyID()).type(JOSEObjectType.JWT).build(), claims);
+        jwt.sign(new RSASSASigner(key));
+
+        var payload = verifier.verify(jwt.serialize());
+
+        assertThat(payload.email()).isEqualTo("user@example.com");
+        assertThat(payload.emailVerified()).isTrue();
+    }
+
+    private static RSAKey rsaKey(String kid) throws Exception {
+        return new RSAKeyGenerator(2048).keyID(kid).generate();
+    }
+
+    private static JWKSelector byKid(String kid) {
+        return new JWKSelector(new JWKMatcher.Builder().keyID(kid).build());
+    }
+
+    // the refresh runs on the jwks-refresh thread
+    private static void eventually(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("condition not met within 5s").isLessThan(deadline);
+            Thread.sleep(10);
+        }
+    }
+
+    private static final class MutableClock extends Clock {
+        private volatile Instant now;
+
+        MutableClock(Instant now) { this.now = now; }
+
+        void advance(Duration d) { now = now.plus(d); }
+
+        @Override public ZoneId getZone() { return ZoneOffset.UTC; }
+        @Override public Clock withZone(ZoneId zone) { return this; }
+        @Override public Instant instant() { return now; }
+    }
+
+}
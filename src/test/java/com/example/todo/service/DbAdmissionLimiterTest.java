@@ -0,0 +1,132 @@
+// src/test/java/com/example/todo/service/DbAdmissionLimiterTest.java
+package com.example.todo.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class DbAdmissionLimiterTest {
+
+    @Test
+    @DisplayName("Rejects with OverloadedException once all permits are held past max-wait")
+    void rejects_when_saturated() throws Throwable {
+        var limiter = new DbAdmissionLimiter(2, 1, Duration.ofMillis(50));
+        var registry = new SimpleMeterRegistry();
+        limiter.bindTo(registry);
+
+        CountDownLatch inside = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ProceedingJoinPoint blocking = mock(ProceedingJoinPoint.class);
+        when(blocking.proceed()).then(inv -> {
+            inside.countDown();
+            release.await();
+            return "first";
+        });
+
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<Object> first = executor.submit(() -> {
+                try {
+                    return limiter.admit(blocking);
+                } catch (Throwable t) {
+                    throw new RuntimeException(t);
+                }
+            });
+            inside.await();
+
+            ProceedingJoinPoint second = mock(ProceedingJoinPoint.class);
+            assertThatThrownBy(() -> limiter.admit(second))
+                    .isInstanceOf(DbAdmissionLimiter.OverloadedException.class)
+                    .satisfies(e -> assertThat(((DbAdmissionLimiter.OverloadedException) e).getRetryAfter())
+                            .isEqualTo(Duration.ofSeconds(1)));
+            assertThat(registry.get("todo.db.limiter.rejected").counter().count()).isEqualTo(1);
+            assertThat(registry.get("todo.db.limiter.in_use").gauge().value()).isEqualTo(1);
+
+            release.countDown();
+            assertThat(first.get()).isEqualTo("first");
+        }
+        assertThat(limiter.availablePermits()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Permit is released when the call throws")
+    void releases_on_failure() throws Throwable {
+        var limiter = new DbAdmissionLimiter(3, 1, Duration.ofMillis(10));
+        ProceedingJoinPoint failing = mock(ProceedingJoinPoint.class);
+        when(failing.proceed()).thenThrow(new IllegalArgumentException("bad"));
+
+        assertThatThrownBy(() -> limiter.admit(failing)).isInstanceOf(IllegalArgumentException.class);
+        assertThat(limiter.availablePermits()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Nested admitted calls do not take a second permit")
+    void nested_call_reuses_permit() throws Throwable {
+        var limiter = new DbAdmissionLimiter(2, 1, Duration.ofMillis(10));
+        ProceedingJoinPoint inner = mock(ProceedingJoinPoint.class);
+        when(inner.proceed()).thenReturn("inner");
+        ProceedingJoinPoint outer = mock(ProceedingJoinPoint.class);
+        when(outer.proceed()).then(inv -> limiter.admit(inner));
+
+        assertThat(limiter.admit(outer)).isEqualTo("inner");
+        assertThat(limiter.availablePermits()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("A running export takes the export permit only; the next export is rejected, requests are not")
+    void exports_have_their_own_bulkhead() throws Throwable {
+        var limiter = new DbAdmissionLimiter(2, 1, Duration.ofMillis(20));
+
+        CountDownLatch inside = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ProceedingJoinPoint export = mock(ProceedingJoinPoint.class);
+        when(export.proceed()).then(inv -> {
+            inside.countDown();
+            release.await();
+            return "exported";
+        });
+
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<Object> running = executor.submit(() -> {
+                try {
+                    return limiter.admitLongRunning(export);
+                } catch (Throwable t) {
+                    throw new RuntimeException(t);
+                }
+            });
+            inside.await();
+
+            assertThatThrownBy(() -> limiter.admitLongRunning(mock(ProceedingJoinPoint.class)))
+                    .isInstanceOf(DbAdmissionLimiter.OverloadedException.class);
+            ProceedingJoinPoint request = mock(ProceedingJoinPoint.class);
+            when(request.proceed()).thenReturn("ok");
+            assertThat(limiter.admit(request)).isEqualTo("ok");
+
+            release.countDown();
+            assertThat(running.get()).isEqualTo("exported");
+        }
+        assertThat(limiter.availableExportPermits()).isEqualTo(1);
+        assertThat(limiter.availablePermits()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Retry-After is max-wait rounded up to whole seconds")
+    void retry_after_rounds_up() {
+        assertThat(new DbAdmissionLimiter(5, 1, Duration.ofMillis(2500)).retryAfter()).isEqualTo(Duration.ofSeconds(3));
+        assertThat(new DbAdmissionLimiter(5, 1, Duration.ZERO).retryAfter()).isEqualTo(Duration.ofSeconds(1));
+        assertThatThrownBy(() -> new DbAdmissionLimiter(1, 1, Duration.ofSeconds(1)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new DbAdmissionLimiter(5, 0, Duration.ofSeconds(1)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
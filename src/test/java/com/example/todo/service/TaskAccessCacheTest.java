@@ -0,0 +1,116 @@
+package com.example.todo.service;
+
+import com.example.todo.repository.TaskAccess;
+import com.example.todo.repository.TaskReadRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+class TaskAccessCacheTest {
+
+    TaskReadRepository readRepo = mock(TaskReadRepository.class);
+    TaskAccessCache cache = new TaskAccessCache(readRepo, true, 100, Duration.ofMinutes(5));
+
+    UUID taskId = UUID.randomUUID();
+    UUID userId = UUID.randomUUID();
+    UUID ownerId = UUID.randomUUID();
+
+    @Test
+    @DisplayName("one query per (task, user); repeats are hits")
+    void caches_decisions() {
+        when(readRepo.findAccess(taskId, userId)).thenReturn(Optional.of(TaskAccess.editor));
+
+        assertThat(cache.resolve(taskId, userId)).contains(TaskAccess.editor);
+        assertThat(cache.resolve(taskId, userId)).contains(TaskAccess.editor);
+
+        verify(readRepo, times(1)).findAccess(taskId, userId);
+        assertThat(cache.hitRate()).isEqualTo(0.5);
+    }
+
+    @Test
+    @DisplayName("a missing task is not cached: it is looked up again next time")
+    void missing_task_not_cached() {
+        when(readRepo.findAccess(taskId, userId)).thenReturn(Optional.empty());
+
+        assertThat(cache.resolve(taskId, userId)).isEmpty();
+        assertThat(cache.resolve(taskId, userId)).isEmpty();
+
+        verify(readRepo, times(2)).findAccess(taskId, userId);
+    }
+
+    @Test
+    @DisplayName("knownDenied only reports a cached none and never queries")
+    void known_denied_peeks() {
+        assertThat(cache.knownDenied(taskId, userId)).isFalse();
+        verifyNoInteractions(readRepo);
+
+        when(readRepo.findAccess(taskId, userId)).thenReturn(Optional.of(TaskAccess.none));
+        cache.resolve(taskId, userId);
+        assertThat(cache.knownDenied(taskId, userId)).isTrue();
+    }
+
+    @Test
+    @DisplayName("share events from other nodes drop the recipients' entries, deletes drop the whole task")
+    void change_events_invalidate() {
+        UUID otherTask = UUID.randomUUID();
+        when(readRepo.findAccess(any(), any())).thenReturn(Optional.of(TaskAccess.viewer));
+        cache.resolve(taskId, userId);
+        cache.resolve(taskId, ownerId);
+        cache.resolve(otherTask, userId);
+
+        cache.onChange(new TaskChangeEvent(taskId, TaskChangeEvent.Type.updated, 2, List.of(ownerId, userId)));
+        cache.onChange(new TaskChangeEvent(taskId, TaskChangeEvent.Type.unshared, null, List.of(userId)));
+        cache.resolve(taskId, userId);
+        cache.resolve(taskId, ownerId);
+        verify(readRepo, times(2)).findAccess(taskId, userId);
+        verify(readRepo, times(1)).findAccess(taskId, ownerId);
+
+        cache.onChange(new TaskChangeEvent(taskId, TaskChangeEvent.Type.deleted, 2, List.of()));
+        cache.resolve(taskId, ownerId);
+        cache.resolve(otherTask, userId);
+        verify(readRepo, times(2)).findAccess(taskId, ownerId);
+        verify(readRepo, times(1)).findAccess(otherTask, userId);
+
+        cache.onReconnected(new TaskChangeListener.Reconnected());
+        cache.resolve(otherTask, userId);
+        verify(readRepo, times(2)).findAccess(otherTask, userId);
+    }
+
+    @Test
+    @DisplayName("a task's entries are indexed: dropping them leaves no index behind")
+    void task_index_follows_entries() {
+        when(readRepo.findAccess(any(), any())).thenReturn(Optional.of(TaskAccess.viewer));
+        cache.resolve(taskId, userId);
+        cache.resolve(taskId, ownerId);
+        assertThat(cache.indexedTasks()).isEqualTo(1);
+
+        cache.invalidate(taskId, userId);
+        cache.invalidate(taskId, ownerId);
+        assertThat(cache.indexedTasks()).isZero();
+
+        cache.resolve(taskId, userId);
+        cache.invalidateTask(taskId);
+        assertThat(cache.indexedTasks()).isZero();
+        cache.resolve(taskId, userId);
+        verify(readRepo, times(3)).findAccess(taskId, userId);
+    }
+
+    @Test
+    @DisplayName("without the change listener nothing is cached: other nodes could not invalidate it")
+    void disabled_without_listener() {
+        var uncached = new TaskAccessCache(readRepo, Optional.empty(), 100, Duration.ofMinutes(5));
+        when(readRepo.findAccess(taskId, userId)).thenReturn(Optional.of(TaskAccess.none));
+
+        assertThat(uncached.resolve(taskId, userId)).contains(TaskAccess.none);
+        assertThat(uncached.resolve(taskId, userId)).contains(TaskAccess.none);
+        assertThat(uncached.knownDenied(taskId, userId)).isFalse();
+        verify(readRepo, times(2)).findAccess(taskId, userId);
+    }
+}
@@ -0,0 +1,88 @@
+// src/test/java/com/example/todo/service/TaskChangeListenerIT.java
+package com.example.todo.service;
+
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.event.EventListener;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * NOTIFY → LISTEN round trip through real Postgres: committed writes reach the listener
+ * (as an application event), rolled back ones never do.
+ */
+@DataJpaTest
+@Testcontainers
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({TaskChangePublisher.class, TaskChangeListener.class, TaskChangeListenerIT.Collector.class})
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class TaskChangeListenerIT {
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15")
+            .withDatabaseName("todo")
+            .withUsername("test")
+            .withPassword("test");
+
+    @DynamicPropertySource
+    static void props(DynamicPropertyRegistry r) {
+        r.add("spring.datasource.url", postgres::getJdbcUrl);
+        r.add("spring.datasource.username", postgres::getUsername);
+        r.add("spring.datasource.password", postgres::getPassword);
+    }
+
+    @Autowired TaskChangePublisher publisher;
+    @Autowired Collector collector;
+    @Autowired PlatformTransactionManager txManager;
+
+    @Test
+    void delivers_on_commit_only() throws Exception {
+        var tx = new TransactionTemplate(txManager);
+        UUID user = UUID.randomUUID();
+        UUID rolledBack = UUID.randomUUID();
+        UUID committed = UUID.randomUUID();
+
+        tx.executeWithoutResult(s -> {
+            publisher.publish(rolledBack, TaskChangeEvent.Type.created, 0, List.of(user));
+            s.setRollbackOnly();
+        });
+        tx.executeWithoutResult(s -> publisher.publish(committed, TaskChangeEvent.Type.updated, 2, List.of(user)));
+
+        TaskChangeEvent received = collector.events.poll(15, TimeUnit.SECONDS);
+        assertThat(received).isEqualTo(new TaskChangeEvent(committed, TaskChangeEvent.Type.updated, 2, List.of(user)));
+        assertThat(collector.events.poll(500, TimeUnit.MILLISECONDS)).isNull();
+    }
+
+    @TestConfiguration
+    static class Collector {
+        final BlockingQueue<TaskChangeEvent> events = new LinkedBlockingQueue<>();
+
+        @EventListener
+        public void on(TaskChangeEvent event) {
+            events.add(event);
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.todo.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementSetter;
+import org.springframework.jdbc.core.ResultSetExtractor;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class TaskChangePublisherTest {
+
+    JdbcTemplate jdbc = mock(JdbcTemplate.class);
+    ObjectMapper om = new ObjectMapper();
+    TaskChangePublisher publisher = new TaskChangePublisher(jdbc, om);
+
+    UUID taskId = UUID.randomUUID();
+
+    @Test
+    @DisplayName("one NOTIFY on the task channel with a JSON payload; duplicate recipients collapse")
+    void publishes_one_notification() throws Exception {
+        UUID owner = UUID.randomUUID();
+
+        publisher.publish(taskId, TaskChangeEvent.Type.updated, 3, List.of(owner, owner));
+
+        assertThat(sentPayloads()).singleElement()
+                .extracting(this::parse)
+                .isEqualTo(new TaskChangeEvent(taskId, TaskChangeEvent.Type.updated, 3, List.of(owner)));
+    }
+
+    @Test
+    @DisplayName("large audiences are split so every payload stays under the 8000-byte NOTIFY limit")
+    void splits_large_audiences() throws Exception {
+        List<UUID> users = new ArrayList<>();
+        for (int i = 0; i < 2 * TaskChangePublisher.MAX_USERS_PER_NOTIFY + 1; i++) users.add(UUID.randomUUID());
+
+        publisher.publish(taskId, TaskChangeEvent.Type.deleted, 9, users);
+
+        List<String> payloads = sentPayloads();
+        assertThat(payloads).hasSize(3)
+                .allSatisfy(p -> assertThat(p.getBytes(StandardCharsets.UTF_8).length).isLessThan(8000));
+        assertThat(payloads.stream().flatMap(p -> parse(p).users().stream()))
+                .containsExactlyElementsOf(users);
+    }
+
+    @Test
+    @DisplayName("a batch of changes is one statement; nothing to announce → no statement")
+    void publishes_a_batch_in_one_statement() throws Exception {
+        UUID owner = UUID.randomUUID();
+        List<TaskChangeEvent> events = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            events.add(new TaskChangeEvent(UUID.randomUUID(), TaskChangeEvent.Type.created, 0, List.of(owner)));
+        }
+
+        publisher.publishAll(events);
+
+        assertThat(sentPayloads()).extracting(this::parse).containsExactlyElementsOf(events);
+
+        publisher.publishAll(List.of());
+        verifyNoMoreInteractions(jdbc);
+    }
+
+    private TaskChangeEvent parse(String payload) {
+        try {
+            return om.readValue(payload, TaskChangeEvent.class);
+        } catch (JsonProcessingException e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    // the payloads of the single NOTIFY statement, as bound to its text[] parameter
+    private List<String> sentPayloads() throws Exception {
+        ArgumentCaptor<PreparedStatementSetter> setter = ArgumentCaptor.forClass(PreparedStatementSetter.class);
+        verify(jdbc).query(eq(TaskChangePublisher.NOTIFY_SQL), setter.capture(), any(ResultSetExtractor.class));
+
+        PreparedStatement ps = mock(PreparedStatement.class);
+        Connection con = mock(Connection.class);
+        when(ps.getConnection()).thenReturn(con);
+        when(con.createArrayOf(eq("text"), any())).thenReturn(mock(Array.class));
+        setter.getValue().setValues(ps);
+
+        verify(ps).setString(1, TaskChangePublisher.CHANNEL);
+        ArgumentCaptor<Object[]> elements = ArgumentCaptor.forClass(Object[].class);
+        verify(con).createArrayOf(eq("text"), elements.capture());
+        return Arrays.stream(elements.getValue()).map(String.class::cast).toList();
+    }
+}
@@ -0,0 +1,185 @@
+// src/test/java/com/example/todo/service/TaskChangesIT.java
+package com.example.todo.service;
+
+import com.example.todo.dto.TaskChangesDto;
+import com.example.todo.dto.TaskCreateDto;
+import com.example.todo.dto.TaskDto;
+import com.example.todo.dto.TaskPatchDto;
+import com.example.todo.entity.AppUser;
+import com.example.todo.entity.enums.ShareRole;
+import com.example.todo.mapper.TaskMapperImpl;
+import com.example.todo.repository.AppUserRepository;
+import com.example.todo.repository.TaskRepository;
+import com.example.todo.repository.impl.TaskBulkRepositoryImpl;
+import com.example.todo.repository.impl.TaskReadRepositoryImpl;
+import com.example.todo.repository.impl.TaskTombstoneRepositoryImpl;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Delta sync against real Postgres: every step commits on its own, so watermarks (snapshot xmin)
+ * and change stamps (writing transaction id) behave as in production.
+ */
+@DataJpaTest
+@Testcontainers
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({TaskSyncService.class, TaskService.class, TaskAccessCache.class, TaskChangePublisher.class, TaskReadRepositoryImpl.class,
+        TaskBulkRepositoryImpl.class, TaskTombstoneRepositoryImpl.class, TaskMapperImpl.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class TaskChangesIT {
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15")
+            .withDatabaseName("todo")
+            .withUsername("test")
+            .withPassword("test");
+
+    @DynamicPropertySource
+    static void props(DynamicPropertyRegistry r) {
+        r.add("spring.datasource.url", postgres::getJdbcUrl);
+        r.add("spring.datasource.username", postgres::getUsername);
+        r.add("spring.datasource.password", postgres::getPassword);
+    }
+
+    @Autowired TaskSyncService syncService;
+    @Autowired TaskService taskService;
+    @Autowired AppUserRepository userRepo;
+    @Autowired TaskRepository taskRepo;
+    @Autowired JdbcTemplate jdbc;
+
+    AppUser owner;
+    AppUser viewer;
+
+    @BeforeEach
+    void setUp() {
+        jdbc.update("DELETE FROM task_tombstone");
+        taskRepo.deleteAllInBatch();
+        userRepo.deleteAllInBatch();
+        owner = userRepo.save(user("owner@example.com"));
+        viewer = userRepo.save(user("viewer@example.com"));
+    }
+
+    @Test
+    void reports_creates_shares_deletes_and_unshares_since_the_watermark() {
+        UUID a = taskService.createTask(owner.getId(), create("A")).id;
+
+        TaskChangesDto initialOwner = syncService.changesSince(owner.getId(), null, null);
+        TaskChangesDto initialViewer = syncService.changesSince(viewer.getId(), null, null);
+        assertThat(initialOwner.changed).extracting(d -> d.id).containsExactly(a);
+        assertThat(initialViewer.changed).isEmpty();
+
+        // new task for the owner, newly shared task for the viewer
+        UUID b = taskService.createTask(owner.getId(), create("B")).id;
+        taskService.shareTask(a, owner.getId(), viewer.getEmail(), ShareRole.viewer);
+
+        TaskChangesDto ownerDelta = syncService.changesSince(owner.getId(), initialOwner.watermark, null);
+        TaskChangesDto viewerDelta = syncService.changesSince(viewer.getId(), initialViewer.watermark, null);
+        assertThat(ownerDelta.changed).extracting(d -> d.id).containsExactly(b);
+        assertThat(viewerDelta.changed).extracting(d -> d.id).containsExactly(a);
+        assertThat(viewerDelta.changed).extracting(d -> d.ownerEmail).containsExactly("owner@example.com");
+
+        // nothing happened in between → empty delta
+        TaskChangesDto quiet = syncService.changesSince(owner.getId(), ownerDelta.watermark, null);
+        assertThat(quiet.changed).isEmpty();
+        assertThat(quiet.removed).isEmpty();
+
+        // the owner edits the shared task: the viewer sees the new version
+        TaskDto before = viewerDelta.changed.get(0);
+        var patch = new TaskPatchDto();
+        patch.title = "A2";
+        taskService.patchTask(a, owner.getId(), before.version, patch);
+        TaskChangesDto edited = syncService.changesSince(viewer.getId(), viewerDelta.watermark, null);
+        assertThat(edited.changed).extracting(d -> d.title).containsExactly("A2");
+
+        // unshare and delete leave tombstones for everyone who lost the task
+        taskService.revokeShare(a, owner.getId(), viewer.getEmail());
+        taskService.deleteTask(b, owner.getId());
+
+        TaskChangesDto viewerGone = syncService.changesSince(viewer.getId(), edited.watermark, null);
+        TaskChangesDto ownerGone = syncService.changesSince(owner.getId(), quiet.watermark, null);
+        assertThat(viewerGone.removed).containsExactly(a);
+        assertThat(viewerGone.changed).isEmpty();
+        assertThat(ownerGone.removed).containsExactly(b);
+        assertThat(ownerGone.changed).extracting(d -> d.id).containsExactly(a);
+    }
+
+    @Test
+    void reshared_task_is_reported_as_changed_not_removed() {
+        UUID a = taskService.createTask(owner.getId(), create("A")).id;
+        taskService.shareTask(a, owner.getId(), viewer.getEmail(), ShareRole.viewer);
+        TaskChangesDto start = syncService.changesSince(viewer.getId(), null, null);
+
+        taskService.revokeShare(a, owner.getId(), viewer.getEmail());
+        taskService.shareTask(a, owner.getId(), viewer.getEmail(), ShareRole.editor);
+
+        TaskChangesDto delta = syncService.changesSince(viewer.getId(), start.watermark, null);
+        assertThat(delta.removed).isEmpty();
+        assertThat(delta.changed).extracting(d -> d.id).containsExactly(a);
+    }
+
+    @Test
+    void initial_sync_is_paged_and_resumes_after_the_last_task() {
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < 5; i++) ids.add(taskService.createTask(owner.getId(), create("T" + i)).id);
+
+        TaskChangesDto first = syncService.changesSince(owner.getId(), null, 2);
+        assertThat(first.more).isTrue();
+        assertThat(first.changed).hasSize(2);
+
+        // written between pages: may come with a later page, is delivered by the next poll in any case
+        UUID late = taskService.createTask(owner.getId(), create("late")).id;
+
+        List<UUID> seen = new ArrayList<>(first.changed.stream().map(d -> d.id).toList());
+        TaskChangesDto page = first;
+        while (page.more) {
+            page = syncService.changesSince(owner.getId(), page.watermark, 2);
+            page.changed.forEach(d -> seen.add(d.id));
+        }
+        assertThat(seen).containsAll(ids).doesNotHaveDuplicates();
+
+        TaskChangesDto next = syncService.changesSince(owner.getId(), page.watermark, null);
+        assertThat(next.more).isFalse();
+        // the final watermark is the horizon of the first page, which the late write is past
+        assertThat(next.changed).extracting(d -> d.id).contains(late);
+    }
+
+    @Test
+    void purge_drops_tombstones_past_retention() {
+        UUID a = taskService.createTask(owner.getId(), create("A")).id;
+        taskService.deleteTask(a, owner.getId());
+        jdbc.update("UPDATE task_tombstone SET removed_at = now() - interval '31 days'");
+
+        syncService.purgeTombstones();
+
+        assertThat(jdbc.queryForObject("SELECT count(*) FROM task_tombstone", Long.class)).isZero();
+    }
+
+    private static TaskCreateDto create(String title) {
+        TaskCreateDto dto = new TaskCreateDto();
+        dto.title = title;
+        return dto;
+    }
+
+    private static AppUser user(String email) {
+        AppUser u = new AppUser();
+        u.setEmail(email);
+        return u;
+    }
+}
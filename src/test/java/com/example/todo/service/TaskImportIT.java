@@ -0,0 +1,139 @@
+// src/test/java/com/example/todo/service/TaskImportIT.java
+package com.example.todo.service;
+
+import com.example.todo.dto.TaskImportEventDto;
+import com.example.todo.entity.AppUser;
+import com.example.todo.mapper.TaskMapperImpl;
+import com.example.todo.repository.AppUserRepository;
+import com.example.todo.repository.TaskRepository;
+import com.example.todo.repository.impl.TaskBulkRepositoryImpl;
+import com.example.todo.repository.impl.TaskReadRepositoryImpl;
+import com.example.todo.repository.impl.TaskTombstoneRepositoryImpl;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.autoconfigure.validation.ValidationAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Bulk import against real Postgres: a generated upload of {@value #ROWS} rows (never materialized
+ * in memory), committed chunk by chunk. Prints rows/s.
+ */
+@DataJpaTest
+@Testcontainers
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ImportAutoConfiguration({JacksonAutoConfiguration.class, ValidationAutoConfiguration.class})
+@Import({TaskImportService.class, TaskService.class, TaskAccessCache.class, TaskChangePublisher.class, TaskBulkRepositoryImpl.class,
+        TaskReadRepositoryImpl.class, TaskTombstoneRepositoryImpl.class, TaskMapperImpl.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED) // real per-chunk commits, like in production
+class TaskImportIT {
+
+    static final int ROWS = 100_000;
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15")
+            .withDatabaseName("todo")
+            .withUsername("test")
+            .withPassword("test");
+
+    @DynamicPropertySource
+    static void props(DynamicPropertyRegistry r) {
+        r.add("spring.datasource.url", postgres::getJdbcUrl);
+        r.add("spring.datasource.username", postgres::getUsername);
+        r.add("spring.datasource.password", postgres::getPassword);
+        r.add("spring.datasource.hikari.data-source-properties.reWriteBatchedInserts", () -> "true");
+    }
+
+    @Autowired TaskImportService importService;
+    @Autowired AppUserRepository userRepo;
+    @Autowired TaskRepository taskRepo;
+    @Autowired JdbcTemplate jdbc;
+
+    AppUser owner;
+
+    @BeforeEach
+    void setUp() {
+        taskRepo.deleteAllInBatch();
+        userRepo.deleteAllInBatch();
+        AppUser u = new AppUser();
+        u.setEmail("migration@example.com");
+        owner = userRepo.save(u);
+    }
+
+    @Test
+    void imports_ndjson_stream_in_chunks() throws Exception {
+        List<TaskImportEventDto> events = new ArrayList<>();
+        long started = System.nanoTime();
+
+        var done = importService.importTasks(owner.getId(), ndjson(ROWS), TaskImportService.Format.NDJSON, events::add);
+
+        double seconds = (System.nanoTime() - started) / 1e9;
+        System.out.printf("imported %d rows in %.1fs: %.0f rows/s%n", done.imported, seconds, done.imported / seconds);
+
+        assertThat(done.failed).isEqualTo(ROWS / 1000); // every 1000th row has a blank title
+        assertThat(done.imported).isEqualTo(ROWS - ROWS / 1000);
+        assertThat(events).filteredOn(e -> e.type.equals("progress")).isNotEmpty();
+        assertThat(jdbc.queryForObject("SELECT count(*) FROM task WHERE owner_id = ?", Long.class, owner.getId()))
+                .isEqualTo(done.imported);
+        assertThat(jdbc.queryForObject("SELECT count(*) FROM task_tags", Long.class)).isEqualTo(2 * done.imported);
+        assertThat(jdbc.queryForObject("SELECT count(*) FROM task WHERE metadata @> '{\"batch\":\"it\"}'", Long.class))
+                .isEqualTo(done.imported);
+    }
+
+    @Test
+    void imports_csv_export_layout() throws Exception {
+        String csv = """
+                id,title,description,priority,completed,tags,metadata\r
+                1,"Quarterly report, Q3","multi
+                line",High,true,work;q3,"{""k"":1}"\r
+                2,,missing title,Low,false,,\r
+                """;
+        var done = importService.importTasks(owner.getId(),
+                new java.io.ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), TaskImportService.Format.CSV, e -> {});
+
+        assertThat(done.imported).isEqualTo(1);
+        assertThat(done.failed).isEqualTo(1);
+        assertThat(jdbc.queryForObject("SELECT description FROM task WHERE title = 'Quarterly report, Q3'", String.class))
+                .isEqualTo("multi\nline");
+    }
+
+    // produces the upload line by line, as a client would stream it
+    private static InputStream ndjson(int rows) {
+        return new InputStream() {
+            private int row;
+            private byte[] buf = new byte[0];
+            private int pos;
+
+            @Override
+            public int read() {
+                if (pos == buf.length) {
+                    if (row == rows) return -1;
+                    String title = row % 1000 == 999 ? "" : "Imported task " + row;
+                    buf = ("{\"title\":\"" + title + "\",\"priority\":\"High\",\"tags\":[\"import\",\"t" + row % 10
+                            + "\"],\"metadata\":{\"batch\":\"it\",\"n\":" + row + "}}\n").getBytes(StandardCharsets.UTF_8);
+                    pos = 0;
+                    row++;
+                }
+                return buf[pos++] & 0xff;
+            }
+        };
+    }
+}
@@ -0,0 +1,136 @@
+// src/test/java/com/example/todo/service/TaskImportServiceTest.java
+package com.example.todo.service;
+
+import com.example.todo.dto.TaskCreateDto;
+import com.example.todo.dto.TaskImportEventDto;
+import com.example.todo.mapper.TaskMapper;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mapstruct.factory.Mappers;
+import org.mockito.ArgumentCaptor;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class TaskImportServiceTest {
+
+    TaskService taskService = mock(TaskService.class);
+    // like Spring Boot's mapper: exported rows carry id/ownerEmail/... which are not part of TaskCreateDto
+    ObjectMapper objectMapper = JsonMapper.builder()
+            .addModule(new JavaTimeModule())
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+            .build();
+    TaskImportService svc = new TaskImportService(taskService, Mappers.getMapper(TaskMapper.class), objectMapper,
+            Validation.buildDefaultValidatorFactory().getValidator());
+
+    UUID ownerId = UUID.randomUUID();
+    List<TaskImportEventDto> events = new ArrayList<>();
+
+    private TaskImportEventDto run(String body, TaskImportService.Format format) throws Exception {
+        when(taskService.importTasks(eq(ownerId), anyList())).thenAnswer(inv -> inv.getArgument(1, List.class).size());
+        return svc.importTasks(ownerId, new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)), format, events::add);
+    }
+
+    @Test
+    @DisplayName("NDJSON: valid rows imported, malformed and invalid rows reported with their line")
+    void ndjson_reports_row_errors() throws Exception {
+        var done = run("""
+                {"title":"One","tags":["a"],"dueDate":"2025-03-01T10:00:00Z","id":"ignored"}
+                {"title":
+                
+                {"title":""}
+                {"title":"Two","metadata":{"color":"red"}}
+                """, TaskImportService.Format.NDJSON);
+
+        assertThat(done.type).isEqualTo("done");
+        assertThat(done.processed).isEqualTo(4);
+        assertThat(done.imported).isEqualTo(2);
+        assertThat(done.failed).isEqualTo(2);
+        assertThat(events).extracting(e -> e.type).containsExactly("error", "error", "progress", "done");
+        assertThat(events.get(0).line).isEqualTo(2);
+        assertThat(events.get(0).message).startsWith("Malformed JSON");
+        assertThat(events.get(1).line).isEqualTo(4);
+        assertThat(events.get(1).message).isEqualTo("title: must not be blank");
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<TaskCreateDto>> cap = ArgumentCaptor.forClass(List.class);
+        verify(taskService).importTasks(eq(ownerId), cap.capture());
+        assertThat(cap.getValue()).extracting(d -> d.title).containsExactly("One", "Two");
+        assertThat(cap.getValue().get(1).metadata).isEqualTo(Map.of("color", "red"));
+    }
+
+    @Test
+    @DisplayName("CSV: export columns are understood, unknown ones ignored, bad values reported")
+    void csv_uses_export_columns() throws Exception {
+        var done = run("""
+                id,title,priority,completed,dueDate,tags,metadata\r
+                x,"Buy milk, eggs",High,true,2025-03-01T10:00:00Z,home;shop,"{""color"":""red""}"\r
+                y,Broken,Low,false,not-a-date,,\r
+                """, TaskImportService.Format.CSV);
+
+        assertThat(done.imported).isEqualTo(1);
+        assertThat(done.failed).isEqualTo(1);
+        assertThat(events.get(0).line).isEqualTo(3);
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<TaskCreateDto>> cap = ArgumentCaptor.forClass(List.class);
+        verify(taskService).importTasks(eq(ownerId), cap.capture());
+        TaskCreateDto row = cap.getValue().get(0);
+        assertThat(row.title).isEqualTo("Buy milk, eggs");
+        assertThat(row.priority).isEqualTo("High");
+        assertThat(row.completed).isTrue();
+        assertThat(row.tags).containsExactly("home", "shop");
+        assertThat(row.metadata).isEqualTo(Map.of("color", "red"));
+    }
+
+    @Test
+    @DisplayName("Rows are committed in chunks of BATCH_SIZE, one progress event each")
+    void commits_in_chunks() throws Exception {
+        StringBuilder body = new StringBuilder();
+        int rows = TaskImportService.BATCH_SIZE * 2 + 5;
+        for (int i = 0; i < rows; i++) body.append("{\"title\":\"T").append(i).append("\"}\n");
+
+        var done = run(body.toString(), TaskImportService.Format.NDJSON);
+
+        assertThat(done.imported).isEqualTo(rows);
+        verify(taskService, times(3)).importTasks(eq(ownerId), anyList());
+        assertThat(events).extracting(e -> e.type).containsExactly("progress", "progress", "progress", "done");
+        assertThat(events.get(0).imported).isEqualTo(TaskImportService.BATCH_SIZE);
+    }
+
+    @Test
+    @DisplayName("A failed chunk is reported with its line range and the import goes on")
+    void failed_chunk_is_reported() throws Exception {
+        when(taskService.importTasks(eq(ownerId), anyList())).thenThrow(new IllegalStateException("db down"));
+
+        var done = svc.importTasks(ownerId, new ByteArrayInputStream("{\"title\":\"A\"}\n{\"title\":\"B\"}\n".getBytes()),
+                TaskImportService.Format.NDJSON, events::add);
+
+        assertThat(done.imported).isZero();
+        assertThat(done.failed).isEqualTo(2);
+        assertThat(events.get(0).message).contains("lines 1-2").contains("db down");
+    }
+
+    @Test
+    @DisplayName("CSV without a title column is rejected up front")
+    void csv_requires_title_column() throws Exception {
+        var done = run("name,description\nx,y\n", TaskImportService.Format.CSV);
+
+        assertThat(done.processed).isZero();
+        assertThat(events.get(0).message).contains("title");
+        verifyNoInteractions(taskService);
+    }
+}
@@ -4,10 +4,9 @@ package com.example.todo.service;
 import com.example.todo.dto.TaskPatchDto;
 import com.example.todo.entity.AppUser;
 import com.example.todo.entity.Task;
-import com.example.todo.entity.TaskShare;
-import com.example.todo.entity.enums.ShareRole;
 import com.example.todo.mapper.TaskMapper;
 import com.example.todo.repository.AppUserRepository;
+import com.example.todo.repository.TaskAccess;
 import com.example.todo.repository.TaskRepository;
 import com.example.todo.repository.TaskShareRepository;
 import org.junit.jupiter.api.Test;
@@ -30,6 +29,8 @@ class TaskServiceIT {
     @Mock AppUserRepository userRepo;        // не используется в этих кейсах, но нужен для @InjectMocks
     @Mock TaskShareRepository shareRepo;
     @Mock TaskMapper mapper;
+    @Mock TaskChangePublisher changes;
+    @Mock TaskAccessCache access;
 
     @InjectMocks TaskService service;
 
@@ -40,30 +41,16 @@ class TaskServiceIT {
         UUID ownerId = UUID.randomUUID();
         UUID viewerId = UUID.randomUUID();
 
-        AppUser owner = new AppUser();
-        owner.setId(ownerId);
-
-        Task t = new Task();
-        t.setId(taskId);
-        t.setOwner(owner);
-        t.setVersion(3);
-
-        when(taskRepo.findById(taskId)).thenReturn(Optional.of(t));
-
         // Роль viewer → нет права на изменение
-        TaskShare ts = new TaskShare();
-        ts.setRole(ShareRole.viewer);
-        when(shareRepo.findByTask_IdAndUser_Id(taskId, viewerId))
-                .thenReturn(Optional.of(ts));
-
-        // mapper не должен вызываться, но на всякий случай — заглушка
-        doNothing().when(mapper).updateFromPatch(any(TaskPatchDto.class), any(Task.class));
+        when(access.resolve(taskId, viewerId)).thenReturn(Optional.of(TaskAccess.viewer));
 
         // act + assert
         assertThrows(SecurityException.class, () ->
-                service.patchTask(taskId, viewerId, t.getVersion(), new TaskPatchDto()));
+                service.patchTask(taskId, viewerId, 3, new TaskPatchDto()));
 
+        verify(taskRepo, never()).findById(any());
         verify(taskRepo, never()).save(any());
+        verify(mapper, never()).updateFromPatch(any(), any());
     }
 
     @Test
@@ -82,7 +69,7 @@ class TaskServiceIT {
 
         when(taskRepo.findById(taskId)).thenReturn(Optional.of(t));
         // Шаринг не важен — владелец сам редактирует
-        when(shareRepo.findByTask_IdAndUser_Id(any(), any())).thenReturn(Optional.empty());
+        when(access.resolve(taskId, ownerId)).thenReturn(Optional.of(TaskAccess.owner));
 
         // act + assert
         assertThrows(TaskService.PreconditionFailedException.class, () ->
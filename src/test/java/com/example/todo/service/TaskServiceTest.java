@@ -10,15 +10,30 @@ import com.example.todo.entity.enums.TaskPriority;
 import com.example.todo.entity.enums.TaskStatus;
 import com.example.todo.mapper.TaskMapper;
 import com.example.todo.repository.AppUserRepository;
+import com.example.todo.repository.TaskAccess;
+import com.example.todo.repository.TaskAccessState;
+import com.example.todo.repository.TaskBulkRepository;
+import com.example.todo.repository.TaskCollectionStamp;
+import com.example.todo.repository.TaskFilter;
+import com.example.todo.repository.TaskReadRepository;
 import com.example.todo.repository.TaskRepository;
+import com.example.todo.repository.TaskSearchMode;
 import com.example.todo.repository.TaskShareRepository;
+import com.example.todo.repository.TaskTombstoneRepository;
+import com.example.todo.repository.TaskUpdate;
+import com.example.todo.util.PageCursor;
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.persistence.OptimisticLockException;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
 
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -29,16 +44,31 @@ import static org.mockito.Mockito.*;
 class TaskServiceTest {
 
     TaskRepository taskRepo = mock(TaskRepository.class);
+    TaskReadRepository readRepo = mock(TaskReadRepository.class);
+    TaskBulkRepository bulkRepo = mock(TaskBulkRepository.class);
+    TaskTombstoneRepository tombstoneRepo = mock(TaskTombstoneRepository.class);
     AppUserRepository userRepo = mock(AppUserRepository.class);
     TaskShareRepository shareRepo = mock(TaskShareRepository.class);
     TaskMapper mapper = mock(TaskMapper.class);
+    TaskChangePublisher changes = mock(TaskChangePublisher.class);
 
-    TaskService svc = new TaskService(taskRepo, userRepo, shareRepo, mapper);
+    TaskAccessCache access = new TaskAccessCache(readRepo, true, 1_000, Duration.ofMinutes(5));
+
+    TaskService svc = new TaskService(taskRepo, readRepo, bulkRepo, tombstoneRepo, userRepo, shareRepo, mapper, changes, access);
 
     UUID ownerId = UUID.randomUUID();
     UUID editorId = UUID.randomUUID();
     UUID otherId = UUID.randomUUID();
     UUID taskId = UUID.randomUUID();
+    UUID missingTaskId = UUID.randomUUID();
+
+    @BeforeEach
+    void accessDecisions() {
+        when(readRepo.findAccess(taskId, ownerId)).thenReturn(Optional.of(TaskAccess.owner));
+        when(readRepo.findAccess(taskId, editorId)).thenReturn(Optional.of(TaskAccess.editor));
+        when(readRepo.findAccess(taskId, otherId)).thenReturn(Optional.of(TaskAccess.none));
+        when(readRepo.findAccess(eq(missingTaskId), any())).thenReturn(Optional.empty());
+    }
 
     Task entityOwned() {
         var t = new Task();
@@ -53,28 +83,138 @@ class TaskServiceTest {
 
     // ---------- listTasks ----------
 
+    TaskDto row(OffsetDateTime updatedAt, Float score) {
+        var d = new TaskDto();
+        d.id = UUID.randomUUID();
+        d.updatedAt = updatedAt;
+        d.score = score;
+        return d;
+    }
+
     @Test
-    @DisplayName("listTasks: builds q like-param and returns mapped DTOs (not empty)")
+    @DisplayName("listTasks: builds filter and returns projected DTOs (not empty)")
     void listTasks_maps_and_returns() {
-        var e = entityOwned();
-        when(taskRepo.findAllAccessibleNative(ownerId, null, null, null)).thenReturn(List.of(e));
-        var dto = new TaskDto();
-        when(mapper.toDto(e)).thenReturn(dto);
+        var dto = row(OffsetDateTime.parse("2024-05-02T10:00:00Z"), null);
+        var noFilter = new TaskFilter(null, null, null);
+        when(readRepo.findAccessiblePage(ownerId, noFilter, null, 101)).thenReturn(List.of(dto));
 
-        var result1 = svc.listTasks(ownerId, null, null, null);
+        var result1 = svc.listTasks(ownerId, null, null, null, null, null, null, null);
 
-        assertThat(result1).hasSize(1).containsExactly(dto); // kill EMPTY_RETURNS(mutant on return)
-        verify(taskRepo).findAllAccessibleNative(ownerId, null, null, null);
-        verify(mapper).toDto(e);
+        assertThat(result1.items).hasSize(1).containsExactly(dto); // kill EMPTY_RETURNS(mutant on return)
+        assertThat(result1.next).isNull();
+        verify(readRepo).findAccessiblePage(ownerId, noFilter, null, 101);
 
-        reset(taskRepo, mapper);
-        when(taskRepo.findAllAccessibleNative(eq(ownerId), eq("%bug%"), eq("DONE"), eq("LOW")))
-                .thenReturn(List.of(e));
-        when(mapper.toDto(e)).thenReturn(dto);
+        reset(readRepo);
+        var search = new TaskFilter("bug", TaskStatus.DONE, TaskPriority.LOW);
+        when(readRepo.findAccessiblePage(ownerId, search, null, 101)).thenReturn(List.of(dto));
+
+        var result2 = svc.listTasks(ownerId, "  bug ", null, TaskStatus.DONE, TaskPriority.LOW, null, null, null);
+        assertThat(result2.items).hasSize(1).containsExactly(dto);
+        verify(readRepo).findAccessiblePage(ownerId, search, null, 101);
+        // read path never touches managed entities
+        verifyNoInteractions(taskRepo, mapper);
+    }
+
+    @Test
+    @DisplayName("listTasks: fetches limit+1 rows, trims the page and returns cursor of the last item")
+    void listTasks_keyset_page_and_next_cursor() {
+        var t1 = row(OffsetDateTime.parse("2024-05-02T10:00:00.123456Z"), null);
+        var t2 = row(OffsetDateTime.parse("2024-05-01T10:00:00Z"), null);
+        var t3 = row(OffsetDateTime.parse("2024-04-01T10:00:00Z"), null);
+        var filter = new TaskFilter(null, null, null);
+        when(readRepo.findAccessiblePage(eq(ownerId), eq(filter), any(), eq(3))).thenReturn(List.of(t1, t2, t3));
+
+        var page = svc.listTasks(ownerId, null, null, null, null, null, null, 2);
+
+        assertThat(page.items).containsExactly(t1, t2);
+        var next = PageCursor.decode(page.next);
+        assertThat(next.id()).isEqualTo(t2.id);
+        assertThat(next.updatedAt()).isEqualTo(t2.updatedAt);
+        assertThat(next.score()).isNull();
+
+        // next page request continues after the decoded cursor
+        svc.listTasks(ownerId, null, null, null, null, null, page.next, 2);
+        verify(readRepo).findAccessiblePage(ownerId, filter, next, 3);
+    }
+
+    @Test
+    @DisplayName("listTasks: search pages carry the relevance score in the cursor")
+    void listTasks_search_cursor_has_score() {
+        var t1 = row(OffsetDateTime.parse("2024-05-02T10:00:00Z"), 0.25f);
+        var t2 = row(OffsetDateTime.parse("2024-05-01T10:00:00Z"), 0.1f);
+        when(readRepo.findAccessiblePage(eq(ownerId), any(), any(), eq(2))).thenReturn(List.of(t1, t2));
+
+        var page = svc.listTasks(ownerId, "report", null, null, null, null, null, 1);
+
+        assertThat(PageCursor.decode(page.next).score()).isEqualTo(0.25f);
+
+        // a plain-listing cursor cannot continue a search
+        var plainCursor = new PageCursor(t1.updatedAt, t1.id).encode();
+        assertThatThrownBy(() -> svc.listTasks(ownerId, "report", null, null, null, null, plainCursor, 1))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("listTasks: substring mode is unranked and keeps the plain (updated_at, id) cursor")
+    void listTasks_substring_mode() {
+        var t1 = row(OffsetDateTime.parse("2024-05-02T10:00:00Z"), null);
+        var filter = new TaskFilter("INV-20", TaskSearchMode.SUBSTRING, null, null);
+        when(readRepo.findAccessiblePage(eq(ownerId), eq(filter), any(), eq(2)))
+                .thenReturn(List.of(t1, row(OffsetDateTime.parse("2024-05-01T10:00:00Z"), null)));
+
+        var page = svc.listTasks(ownerId, "INV-20", TaskSearchMode.SUBSTRING, null, null, null, null, 1);
+
+        var next = PageCursor.decode(page.next);
+        assertThat(next.score()).isNull();
+        svc.listTasks(ownerId, "INV-20", TaskSearchMode.SUBSTRING, null, null, null, page.next, 1);
+        verify(readRepo).findAccessiblePage(ownerId, filter, next, 2);
+    }
+
+    @Test
+    @DisplayName("listTasks: page size is clamped to 1..MAX_PAGE_SIZE")
+    void listTasks_page_size_clamped() {
+        assertThat(TaskService.pageSize(null)).isEqualTo(TaskService.MAX_PAGE_SIZE);
+        assertThat(TaskService.pageSize(0)).isEqualTo(1);
+        assertThat(TaskService.pageSize(25)).isEqualTo(25);
+        assertThat(TaskService.pageSize(10_000)).isEqualTo(TaskService.MAX_PAGE_SIZE);
+    }
+
+    @Test
+    @DisplayName("listTasks: malformed cursor → IllegalArgumentException (400)")
+    void listTasks_bad_cursor() {
+        assertThatThrownBy(() -> svc.listTasks(ownerId, null, null, null, null, null, "%%%", null))
+                .isInstanceOf(IllegalArgumentException.class);
+        verifyNoInteractions(readRepo);
+    }
 
-        var result2 = svc.listTasks(ownerId, "bug", TaskStatus.DONE, TaskPriority.LOW);
-        assertThat(result2).hasSize(1).containsExactly(dto);
-        verify(taskRepo).findAllAccessibleNative(ownerId, "%bug%", "DONE", "LOW");
+    @Test
+    @DisplayName("exportTasks: trims q and streams through the read repository")
+    void exportTasks_streams_with_filter() {
+        java.util.function.Consumer<TaskDto> sink = dto -> {};
+
+        svc.exportTasks(ownerId, "  milk ", TaskSearchMode.SUBSTRING, TaskStatus.DONE, null, Map.of("color", "red"), sink);
+
+        verify(readRepo).streamAccessible(ownerId,
+                new TaskFilter("milk", TaskSearchMode.SUBSTRING, TaskStatus.DONE, null, Map.of("color", "red")), sink);
+    }
+
+    @Test
+    @DisplayName("listVersion: stable for the same stamp and filter, changes with either")
+    void listVersion_follows_stamp_and_filter() {
+        var stamp = new TaskCollectionStamp(3, OffsetDateTime.parse("2025-01-01T00:00:00Z"), java.math.BigDecimal.TEN);
+        when(readRepo.findCollectionStamp(eq(ownerId), any())).thenReturn(stamp);
+
+        String v1 = svc.listVersion(ownerId, " q ", null, null, null, Map.of("a", "1", "b", "2"));
+        String v2 = svc.listVersion(ownerId, "q", null, null, null, new java.util.LinkedHashMap<>(Map.of("b", "2", "a", "1")));
+        String otherFilter = svc.listVersion(ownerId, "q", null, TaskStatus.DONE, null, Map.of("a", "1", "b", "2"));
+
+        when(readRepo.findCollectionStamp(eq(ownerId), any()))
+                .thenReturn(new TaskCollectionStamp(3, stamp.lastUpdated(), java.math.BigDecimal.ONE));
+        String shareChanged = svc.listVersion(ownerId, "q", null, null, null, Map.of("a", "1", "b", "2"));
+
+        assertThat(v1).isEqualTo(v2).hasSize(24);
+        assertThat(otherFilter).isNotEqualTo(v1);
+        assertThat(shareChanged).isNotEqualTo(v1);
     }
 
     // ---------- createTask ----------
@@ -118,56 +258,259 @@ class TaskServiceTest {
                 .isInstanceOf(EntityNotFoundException.class);
     }
 
+    @Test
+    @DisplayName("createTasks: owner resolved once by reference, all entities saved and flushed together")
+    void createTasks_saves_all_with_owner_reference() {
+        var owner = new AppUser(); owner.setId(ownerId);
+        when(userRepo.getReferenceById(ownerId)).thenReturn(owner);
+        when(mapper.toEntity(any(TaskCreateDto.class))).thenAnswer(inv -> new Task());
+        when(mapper.toDto(any(Task.class))).thenAnswer(inv -> new TaskDto());
+
+        var result = svc.createTasks(ownerId, List.of(new TaskCreateDto(), new TaskCreateDto(), new TaskCreateDto()));
+
+        assertThat(result).hasSize(3);
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Task>> cap = ArgumentCaptor.forClass(List.class);
+        verify(taskRepo).saveAll(cap.capture());
+        assertThat(cap.getValue()).hasSize(3).allSatisfy(t -> assertThat(t.getOwner()).isSameAs(owner));
+        verify(taskRepo).flush();
+        verify(userRepo, never()).findById(any());
+        // all three creations go out in one publish
+        verify(changes).publishAll(argThat(events -> events.size() == 3));
+    }
+
+    @Test
+    @DisplayName("createTasks: empty or oversized batch → 400")
+    void createTasks_rejects_empty_and_oversized() {
+        assertThatThrownBy(() -> svc.createTasks(ownerId, List.of()))
+                .isInstanceOf(IllegalArgumentException.class);
+        var tooMany = java.util.Collections.nCopies(TaskService.MAX_BATCH_SIZE + 1, new TaskCreateDto());
+        assertThatThrownBy(() -> svc.createTasks(ownerId, tooMany))
+                .isInstanceOf(IllegalArgumentException.class);
+        verifyNoInteractions(taskRepo);
+    }
+
+    @Test
+    @DisplayName("importTasks: assigns ids and defaults, dedupes tags, inserts through the bulk repository, announces the chunk")
+    void importTasks_prepares_rows_for_bulk_insert() {
+        var dto = new TaskCreateDto();
+        when(mapper.toEntity(dto)).thenAnswer(inv -> {
+            var t = new Task();
+            t.setTitle("Imported");
+            t.setTags(new java.util.LinkedHashSet<>(List.of("a", " a ", "", "b")));
+            return t;
+        });
+
+        int n = svc.importTasks(ownerId, List.of(dto, dto));
+
+        assertThat(n).isEqualTo(2);
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Task>> cap = ArgumentCaptor.forClass(List.class);
+        verify(bulkRepo).insertAll(eq(ownerId), cap.capture());
+        assertThat(cap.getValue()).hasSize(2).allSatisfy(t -> {
+            assertThat(t.getId()).isNotNull();
+            assertThat(t.getSource()).isEqualTo("import");
+            assertThat(t.getStatus()).isEqualTo(TaskStatus.TODO);
+            assertThat(t.getVersion()).isZero();
+            assertThat(t.getCreatedAt()).isNotNull();
+            assertThat(t.getTags()).containsExactly("a", "b");
+        });
+        assertThat(cap.getValue().get(0).getId()).isNotEqualTo(cap.getValue().get(1).getId());
+        verify(changes).publishAll(cap.getValue().stream()
+                .map(t -> new TaskChangeEvent(t.getId(), TaskChangeEvent.Type.created, 0, List.of(ownerId)))
+                .toList());
+        verifyNoInteractions(taskRepo);
+    }
+
     // ---------- getTask ----------
 
+    @Test
+    @DisplayName("getTaskVersion: version of an accessible task, 404 otherwise")
+    void getTaskVersion_found_and_not_found() {
+        when(readRepo.findAuthorizedVersion(taskId, ownerId)).thenReturn(Optional.of(7));
+        when(readRepo.findAuthorizedVersion(taskId, otherId)).thenReturn(Optional.empty());
+
+        assertThat(svc.getTaskVersion(taskId, ownerId)).isEqualTo(7);
+        assertThatThrownBy(() -> svc.getTaskVersion(taskId, otherId)).isInstanceOf(EntityNotFoundException.class);
+        verify(readRepo, never()).findAuthorizedById(any(), any());
+    }
+
     @Test
     @DisplayName("getTask: returns mapped DTO and 404 when not authorized/not found")
     void getTask_found_and_not_found() {
-        var e = entityOwned();
-        when(taskRepo.findAuthorizedById(taskId, ownerId)).thenReturn(Optional.of(e));
         var expectedDto = new TaskDto();
-        when(mapper.toDto(e)).thenReturn(expectedDto);
+        when(readRepo.findAuthorizedById(taskId, ownerId)).thenReturn(Optional.of(expectedDto));
 
         var dto = svc.getTask(taskId, ownerId);
         assertThat(dto).isSameAs(expectedDto); // kill NULL_RETURNS on method
 
-        when(taskRepo.findAuthorizedById(taskId, ownerId)).thenReturn(Optional.empty());
+        when(readRepo.findAuthorizedById(taskId, ownerId)).thenReturn(Optional.empty());
         assertThatThrownBy(() -> svc.getTask(taskId, ownerId))
                 .isInstanceOf(EntityNotFoundException.class);
     }
 
+    @Test
+    @DisplayName("getTask: a cached \"none\" decision answers 404 without the authorized read")
+    void getTask_known_denied_skips_query() {
+        assertThatThrownBy(() -> svc.patchTask(taskId, otherId, 5, new TaskPatchDto()))
+                .isInstanceOf(SecurityException.class);
+
+        assertThatThrownBy(() -> svc.getTask(taskId, otherId)).isInstanceOf(EntityNotFoundException.class);
+        assertThatThrownBy(() -> svc.getTaskVersion(taskId, otherId)).isInstanceOf(EntityNotFoundException.class);
+        verify(readRepo, never()).findAuthorizedById(any(), any());
+        verify(readRepo, never()).findAuthorizedVersion(any(), any());
+    }
+
     // ---------- patchTask ----------
 
     @Test
     @DisplayName("patchTask: not owner and not editor → SecurityException")
     void patchTask_not_authorized() {
-        var e = entityOwned(); e.getOwner().setId(otherId);
-        when(taskRepo.findById(taskId)).thenReturn(Optional.of(e));
-        when(shareRepo.findByTask_IdAndUser_Id(taskId, ownerId)).thenReturn(Optional.empty());
+        UUID viewerId = UUID.randomUUID();
+        when(readRepo.findAccess(taskId, viewerId)).thenReturn(Optional.of(TaskAccess.viewer));
 
-        assertThatThrownBy(() -> svc.patchTask(taskId, ownerId, e.getVersion(), new TaskPatchDto()))
+        assertThatThrownBy(() -> svc.patchTask(taskId, otherId, 5, new TaskPatchDto()))
+                .isInstanceOf(SecurityException.class);
+        assertThatThrownBy(() -> svc.patchTask(taskId, viewerId, 5, new TaskPatchDto()))
                 .isInstanceOf(SecurityException.class);
+        assertThatThrownBy(() -> svc.patchTask(missingTaskId, ownerId, 5, new TaskPatchDto()))
+                .isInstanceOf(EntityNotFoundException.class);
+        // the decision alone rejects: no entity load, no share lookup
+        verifyNoInteractions(taskRepo, shareRepo);
+    }
+
+    @Test
+    @DisplayName("patchTask: repeated edits by the same user resolve access once")
+    void patchTask_access_is_cached() {
+        var e = entityOwned();
+        when(taskRepo.findById(taskId)).thenReturn(Optional.of(e));
+        when(taskRepo.save(e)).thenReturn(e);
+        when(mapper.toDto(e)).thenReturn(new TaskDto());
+
+        svc.patchTask(taskId, editorId, 5, new TaskPatchDto());
+        svc.patchTask(taskId, editorId, 5, new TaskPatchDto());
+
+        verify(readRepo, times(1)).findAccess(taskId, editorId);
+        verify(shareRepo, never()).findByTask_IdAndUser_Id(any(), any());
     }
 
     @Test
     @DisplayName("patchTask: editor (not owner) with correct version → updates and saves")
     void patchTask_editor_happy_path() {
-        var e = entityOwned(); e.getOwner().setId(otherId); // current user is not owner
+        var e = entityOwned();
         when(taskRepo.findById(taskId)).thenReturn(Optional.of(e));
-        // current user is editor
-        var share = new TaskShare(); share.setRole(ShareRole.editor);
-        when(shareRepo.findByTask_IdAndUser_Id(taskId, ownerId)).thenReturn(Optional.of(share));
         when(taskRepo.save(e)).thenReturn(e);
         var expectedDto = new TaskDto(); when(mapper.toDto(e)).thenReturn(expectedDto);
 
         var patch = new TaskPatchDto();
-        var dto = svc.patchTask(taskId, ownerId, e.getVersion(), patch);
+        var dto = svc.patchTask(taskId, editorId, e.getVersion(), patch);
 
         verify(mapper).updateFromPatch(patch, e);
         verify(taskRepo).save(e);
         assertThat(dto).isSameAs(expectedDto);
+    }
+
+    @Test
+    @DisplayName("patchTask: tags with metadataPatch are one conditional UPDATE (one version bump); metadata + metadataPatch → 400")
+    void patchTask_metadata_merge_patch() {
+        when(mapper.toUpdate(any(), anyInt(), any(), any())).thenCallRealMethod();
+        when(mapper.mapToJson(any())).thenCallRealMethod();
+        var written = new TaskDto(); written.id = taskId; written.version = 6; written.ownerId = ownerId;
+        when(bulkRepo.updateIfEditable(eq(ownerId), any())).thenReturn(Optional.of(written));
+
+        var patch = new TaskPatchDto();
+        patch.tags = List.of("kept", " kept");
+        patch.metadataPatch = new HashMap<>();
+        patch.metadataPatch.put("color", null);
+        var dto = svc.patchTask(taskId, ownerId, 5, patch);
+
+        assertThat(dto).isSameAs(written);
+        ArgumentCaptor<TaskUpdate> cap = ArgumentCaptor.forClass(TaskUpdate.class);
+        verify(bulkRepo).updateIfEditable(eq(ownerId), cap.capture());
+        assertThat(cap.getValue().metadataPatch()).isEqualTo("{\"color\":null}");
+        assertThat(cap.getValue().tags()).containsExactly("kept");
+        verifyNoInteractions(taskRepo);
+
+        // full replace and merge patch together are ambiguous
+        var e = entityOwned();
+        when(taskRepo.findById(taskId)).thenReturn(Optional.of(e));
+        patch.metadata = Map.of("a", 1);
+        assertThatThrownBy(() -> svc.patchTask(taskId, ownerId, e.getVersion(), patch))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("patchTask: column-only patch is one conditional UPDATE, no entity read")
+    void patchTask_column_fast_path() {
+        when(mapper.toUpdate(any(), anyInt(), any(), any())).thenCallRealMethod();
+        when(mapper.toDbPriority(any())).thenCallRealMethod();
+        var written = new TaskDto(); written.id = taskId; written.version = 6; written.ownerId = ownerId;
+        when(bulkRepo.updateIfEditable(eq(editorId), any())).thenReturn(Optional.of(written));
+
+        var patch = new TaskPatchDto();
+        patch.title = "New";
+        patch.priority = "High";
+        var dto = svc.patchTask(taskId, editorId, 5, patch);
+
+        assertThat(dto).isSameAs(written);
+        ArgumentCaptor<TaskUpdate> cap = ArgumentCaptor.forClass(TaskUpdate.class);
+        verify(bulkRepo).updateIfEditable(eq(editorId), cap.capture());
+        assertThat(cap.getValue().id()).isEqualTo(taskId);
+        assertThat(cap.getValue().expectedVersion()).isEqualTo(5);
+        assertThat(cap.getValue().title()).isEqualTo("New");
+        assertThat(cap.getValue().priority()).isEqualTo(TaskPriority.HIGH);
+        assertThat(cap.getValue().status()).isNull();
+        verify(changes).publish(taskId, TaskChangeEvent.Type.updated, 6, List.of(ownerId));
+        verifyNoInteractions(taskRepo);
+        verify(readRepo, never()).findAccess(any(), any());
+    }
+
+    @Test
+    @DisplayName("patchTask: fast path matched the stored row → returned at the same version, nothing published")
+    void patchTask_column_fast_path_no_change() {
+        when(mapper.toUpdate(any(), anyInt(), any(), any())).thenCallRealMethod();
+        var unchanged = new TaskDto(); unchanged.id = taskId; unchanged.version = 5; unchanged.ownerId = ownerId;
+        when(bulkRepo.updateIfEditable(eq(editorId), any())).thenReturn(Optional.of(unchanged));
+
+        var patch = new TaskPatchDto();
+        patch.title = "Same";
+        assertThat(svc.patchTask(taskId, editorId, 5, patch)).isSameAs(unchanged);
+        verifyNoInteractions(changes, taskRepo);
+    }
+
+    @Test
+    @DisplayName("patchTask: fast path wrote nothing → 404 / 403 / 412 decided after the fact")
+    void patchTask_column_fast_path_misses() {
+        when(mapper.toUpdate(any(), anyInt(), any(), any())).thenCallRealMethod();
+        when(bulkRepo.updateIfEditable(any(), any())).thenReturn(Optional.empty());
+        var patch = new TaskPatchDto();
+        patch.completed = true;
 
-        // covers lambda on .map(...) and editor==true branches
+        assertThatThrownBy(() -> svc.patchTask(missingTaskId, ownerId, 5, patch))
+                .isInstanceOf(EntityNotFoundException.class);
+        assertThatThrownBy(() -> svc.patchTask(taskId, otherId, 5, patch))
+                .isInstanceOf(SecurityException.class);
+        assertThatThrownBy(() -> svc.patchTask(taskId, editorId, 4, patch))
+                .isInstanceOf(TaskService.PreconditionFailedException.class);
+        verifyNoInteractions(changes, taskRepo);
+    }
+
+    @Test
+    @DisplayName("isColumnPatch: tags without metadataPatch, no fields, or metadata + metadataPatch take the entity path")
+    void isColumnPatch_decides_fast_path() {
+        var empty = new TaskPatchDto();
+        var title = new TaskPatchDto(); title.title = "T";
+        var tagged = new TaskPatchDto(); tagged.title = "T"; tagged.tags = List.of("a");
+        var merge = new TaskPatchDto(); merge.metadataPatch = Map.of("a", 1);
+        var taggedMerge = new TaskPatchDto(); taggedMerge.tags = List.of("a"); taggedMerge.metadataPatch = Map.of("a", 1);
+        var both = new TaskPatchDto(); both.metadata = Map.of("a", 1); both.metadataPatch = Map.of("b", 2);
+
+        assertThat(TaskService.isColumnPatch(empty)).isFalse();
+        assertThat(TaskService.isColumnPatch(title)).isTrue();
+        assertThat(TaskService.isColumnPatch(tagged)).isFalse();
+        assertThat(TaskService.isColumnPatch(merge)).isTrue();
+        assertThat(TaskService.isColumnPatch(taggedMerge)).isTrue();
+        assertThat(TaskService.isColumnPatch(both)).isFalse();
     }
 
     @Test
@@ -191,6 +534,69 @@ class TaskServiceTest {
                 .isInstanceOf(TaskService.PreconditionFailedException.class);
     }
 
+    // ---------- patchTasks ----------
+
+    @Test
+    @DisplayName("patchTasks: one access lookup, one batch; per-item 200 / 403 / 404 / 412 / 400 in request order")
+    void patchTasks_per_item_results() {
+        UUID viewed = UUID.randomUUID(), stale = UUID.randomUUID(), raced = UUID.randomUUID(), missing = UUID.randomUUID();
+        when(readRepo.findAccessStates(any(), eq(editorId))).thenReturn(Map.of(
+                taskId, new TaskAccessState(taskId, ownerId, 5, TaskAccess.editor),
+                viewed, new TaskAccessState(viewed, ownerId, 1, TaskAccess.viewer),
+                stale, new TaskAccessState(stale, ownerId, 3, TaskAccess.owner),
+                raced, new TaskAccessState(raced, ownerId, 7, TaskAccess.owner)));
+        when(mapper.toUpdate(any(), anyInt(), any(), any())).thenCallRealMethod();
+        when(mapper.toDbStatus(any())).thenCallRealMethod();
+        when(bulkRepo.updateAll(anyList())).thenReturn(new boolean[]{true, false});
+        when(shareRepo.findIdsByTaskIds(any())).thenReturn(List.of(new TaskShare.TaskShareId(taskId, editorId)));
+
+        var tagged = new TaskPatchDto(); tagged.completed = true; tagged.tags = List.of("a", " a", "", "b");
+        var both = new TaskPatchDto(); both.metadata = Map.of("a", 1); both.metadataPatch = Map.of("b", 2);
+        var results = svc.patchTasks(editorId, List.of(
+                new TaskBatchPatchDto(taskId, 5, tagged),
+                new TaskBatchPatchDto(viewed, 1, new TaskPatchDto()),
+                new TaskBatchPatchDto(missing, 1, new TaskPatchDto()),
+                new TaskBatchPatchDto(stale, 2, new TaskPatchDto()),
+                new TaskBatchPatchDto(raced, 7, new TaskPatchDto()),
+                new TaskBatchPatchDto(raced, 7, both),
+                new TaskBatchPatchDto(missing, null, new TaskPatchDto())), Map.of(6, "ifMatchVersion: must not be null"));
+
+        assertThat(results).extracting(r -> r.index).containsExactly(0, 1, 2, 3, 4, 5, 6);
+        assertThat(results).extracting(r -> r.status).containsExactly(200, 403, 404, 412, 412, 400, 400);
+        assertThat(results.get(6).message).isEqualTo("ifMatchVersion: must not be null");
+        assertThat(results.get(0).version).isEqualTo(6);
+        assertThat(results.get(4).version).isNull();
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<TaskUpdate>> cap = ArgumentCaptor.forClass(List.class);
+        verify(bulkRepo).updateAll(cap.capture());
+        assertThat(cap.getValue()).extracting(TaskUpdate::id).containsExactly(taskId, raced);
+        assertThat(cap.getValue().get(0).expectedVersion()).isEqualTo(5);
+        assertThat(cap.getValue().get(0).status()).isEqualTo(TaskStatus.DONE);
+        assertThat(cap.getValue().get(0).tags()).containsExactly("a", "b");
+        assertThat(cap.getValue().get(1).tags()).isNull();
+
+        verify(readRepo, times(1)).findAccessStates(any(), eq(editorId));
+        // only the written task is announced, to its owner and share holders
+        verify(changes).publishAll(argThat(events -> events.size() == 1
+                && events.iterator().next().taskId().equals(taskId)
+                && events.iterator().next().version() == 6
+                && events.iterator().next().users().containsAll(List.of(ownerId, editorId))));
+        verifyNoMoreInteractions(changes);
+        verifyNoInteractions(taskRepo);
+    }
+
+    @Test
+    @DisplayName("patchTasks: empty, oversized or malformed batch → 400")
+    void patchTasks_rejects_bad_batches() {
+        assertThatThrownBy(() -> svc.patchTasks(ownerId, List.of(), Map.of())).isInstanceOf(IllegalArgumentException.class);
+        var tooMany = java.util.Collections.nCopies(TaskService.MAX_BATCH_SIZE + 1, new TaskBatchPatchDto(taskId, 1, new TaskPatchDto()));
+        assertThatThrownBy(() -> svc.patchTasks(ownerId, tooMany, Map.of())).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> svc.patchTasks(ownerId, List.of(new TaskBatchPatchDto(taskId, 1, null)), Map.of()))
+                .isInstanceOf(IllegalArgumentException.class);
+        verifyNoInteractions(bulkRepo);
+    }
+
     // ---------- deleteTask ----------
 
     @Test
@@ -200,70 +606,143 @@ class TaskServiceTest {
         when(taskRepo.findById(taskId)).thenReturn(Optional.of(e));
 
         svc.deleteTask(taskId, ownerId);
-        verify(taskRepo).delete(e);
+        // tombstones for owner and share holders are written while the shares still exist
+        var order = inOrder(tombstoneRepo, taskRepo);
+        order.verify(tombstoneRepo).recordDeleted(taskId);
+        order.verify(taskRepo).delete(e);
 
-        e.getOwner().setId(otherId);
-        when(taskRepo.findById(taskId)).thenReturn(Optional.of(e));
-        assertThatThrownBy(() -> svc.deleteTask(taskId, ownerId))
+        assertThatThrownBy(() -> svc.deleteTask(taskId, editorId))
                 .isInstanceOf(SecurityException.class);
 
-        when(taskRepo.findById(taskId)).thenReturn(Optional.empty());
-        assertThatThrownBy(() -> svc.deleteTask(taskId, ownerId))
-                .isInstanceOf(EntityNotFoundException.class); // cover lambda orElseThrow
+        assertThatThrownBy(() -> svc.deleteTask(missingTaskId, ownerId))
+                .isInstanceOf(EntityNotFoundException.class);
     }
 
-    // ---------- shareTask ----------
+    @Test
+    @DisplayName("deleteTask: drops every cached decision about the task")
+    void deleteTask_invalidates_access() {
+        when(taskRepo.findById(taskId)).thenReturn(Optional.of(entityOwned()));
+        access.resolve(taskId, editorId);
+
+        svc.deleteTask(taskId, ownerId);
+        when(readRepo.findAccess(eq(taskId), any())).thenReturn(Optional.empty());
+
+        assertThat(access.resolve(taskId, editorId)).isEmpty();
+        assertThat(access.resolve(taskId, ownerId)).isEmpty();
+    }
+
+    // ---------- change notifications ----------
 
     @Test
-    @DisplayName("shareTask: only owner; creates user if absent; saves TaskShare with all fields")
-    void shareTask_owner_and_user_creation_and_fields() {
+    @DisplayName("writes notify the owner and share holders; delete notifies before the rows are gone")
+    void writes_publish_task_changes() {
         var e = entityOwned();
         when(taskRepo.findById(taskId)).thenReturn(Optional.of(e));
+        when(shareRepo.findUserIdsByTaskId(taskId)).thenReturn(List.of(editorId));
+        when(taskRepo.save(e)).thenReturn(e);
+        var dto = new TaskDto(); dto.id = taskId; dto.version = 6;
+        when(mapper.toDto(e)).thenReturn(dto);
 
-        // user not found -> create
-        when(userRepo.findByEmail("x@e.com")).thenReturn(Optional.empty());
-        when(userRepo.save(any(AppUser.class))).thenAnswer(inv -> {
-            AppUser u = inv.getArgument(0);
-            // ensure setEmail was called
-            assertThat(u.getEmail()).isEqualTo("x@e.com"); // kill removed setEmail mutant
-            u.setId(UUID.randomUUID());
-            return u;
-        });
+        svc.patchTask(taskId, ownerId, e.getVersion(), new TaskPatchDto());
+        verify(changes).publish(taskId, TaskChangeEvent.Type.updated, 6, List.of(editorId, ownerId));
 
-        svc.shareTask(taskId, ownerId, "x@e.com", ShareRole.editor);
+        svc.deleteTask(taskId, ownerId);
+        var order = inOrder(changes, taskRepo);
+        order.verify(changes).publish(taskId, TaskChangeEvent.Type.deleted, 5, List.of(editorId, ownerId));
+        order.verify(taskRepo).delete(e);
+    }
+
+    @Test
+    @DisplayName("patch without effective change keeps the version and publishes nothing")
+    void noop_patch_publishes_nothing() {
+        var e = entityOwned();
+        when(taskRepo.findById(taskId)).thenReturn(Optional.of(e));
+        when(taskRepo.save(e)).thenReturn(e);
+        var dto = new TaskDto(); dto.id = taskId; dto.version = 5;
+        when(mapper.toDto(e)).thenReturn(dto);
 
-        // capture TaskShare to ensure id/task/user/role are set (kill removed setters)
-        ArgumentCaptor<TaskShare> shareCap = ArgumentCaptor.forClass(TaskShare.class);
-        verify(shareRepo).save(shareCap.capture());
-        TaskShare savedShare = shareCap.getValue();
+        var patch = new TaskPatchDto();
+        patch.tags = List.of("same");
+        assertThat(svc.patchTask(taskId, ownerId, 5, patch).version).isEqualTo(5);
 
-        assertThat(savedShare.getTask()).isSameAs(e);
-        assertThat(savedShare.getUser()).isNotNull();
-        assertThat(savedShare.getRole()).isEqualTo(ShareRole.editor);
-        assertThat(savedShare.getId()).isNotNull();
-        assertThat(savedShare.getId().getTaskId()).isEqualTo(taskId);
-        assertThat(savedShare.getId().getUserId()).isEqualTo(savedShare.getUser().getId());
+        verify(taskRepo).flush();
+        verifyNoInteractions(changes);
+    }
 
-        // not owner -> forbidden
-        e.getOwner().setId(otherId);
-        when(taskRepo.findById(taskId)).thenReturn(Optional.of(e));
-        assertThatThrownBy(() -> svc.shareTask(taskId, ownerId, "x@e.com", ShareRole.viewer))
+    @Test
+    @DisplayName("failed write (version mismatch) publishes nothing")
+    void failed_write_publishes_nothing() {
+        when(taskRepo.findById(taskId)).thenReturn(Optional.of(entityOwned()));
+
+        assertThatThrownBy(() -> svc.patchTask(taskId, ownerId, 4, new TaskPatchDto()))
+                .isInstanceOf(TaskService.PreconditionFailedException.class);
+        verifyNoInteractions(changes);
+    }
+
+    // ---------- shareTask ----------
+
+    @Test
+    @DisplayName("shareTask: only owner; user and share are upserted; unchanged share announces nothing")
+    void shareTask_owner_and_upserts() {
+        UUID targetId = UUID.randomUUID();
+        when(userRepo.resolveOrCreate(List.of("x@e.com"))).thenReturn(Map.of("x@e.com", targetId));
+        when(bulkRepo.shareAll(List.of(taskId), List.of(targetId), ShareRole.editor))
+                .thenReturn(List.of(new TaskShare.TaskShareId(taskId, targetId)), List.of());
+
+        svc.shareTask(taskId, ownerId, "x@e.com", ShareRole.editor);
+        verify(changes).publishAll(List.of(new TaskChangeEvent(taskId, TaskChangeEvent.Type.shared, null, List.of(ownerId, targetId))));
+
+        // same role again: nothing written, nothing published
+        svc.shareTask(taskId, ownerId, "x@e.com", ShareRole.editor);
+        verify(changes, times(1)).publishAll(any());
+        // the owner check comes from the access decision: the task itself is never loaded
+        verifyNoInteractions(taskRepo, shareRepo);
+        verify(userRepo, never()).save(any());
+
+        // editor is not owner -> forbidden
+        assertThatThrownBy(() -> svc.shareTask(taskId, editorId, "x@e.com", ShareRole.viewer))
                 .isInstanceOf(SecurityException.class);
 
-        // not-found task -> 404 (cover lambda orElseThrow)
-        when(taskRepo.findById(taskId)).thenReturn(Optional.empty());
-        assertThatThrownBy(() -> svc.shareTask(taskId, ownerId, "x@e.com", ShareRole.viewer))
+        // not-found task -> 404
+        assertThatThrownBy(() -> svc.shareTask(missingTaskId, ownerId, "x@e.com", ShareRole.viewer))
                 .isInstanceOf(EntityNotFoundException.class);
     }
 
+    @Test
+    @DisplayName("shareTask: sharing with the owner's own email writes nothing, like shareTasks")
+    void shareTask_skips_owner() {
+        when(userRepo.resolveOrCreate(List.of("me@e.com"))).thenReturn(Map.of("me@e.com", ownerId));
+
+        svc.shareTask(taskId, ownerId, "me@e.com", ShareRole.editor);
+
+        verifyNoInteractions(bulkRepo, changes);
+    }
+
+    @Test
+    @DisplayName("shareTask / revokeShare: the target's cached decision is dropped")
+    void share_and_revoke_invalidate_target_access() {
+        var target = new AppUser(); target.setId(otherId); target.setEmail("o@e.com");
+        when(userRepo.findByEmail("o@e.com")).thenReturn(Optional.of(target));
+        when(userRepo.resolveOrCreate(List.of("o@e.com"))).thenReturn(Map.of("o@e.com", otherId));
+        when(bulkRepo.shareAll(List.of(taskId), List.of(otherId), ShareRole.viewer))
+                .thenReturn(List.of(new TaskShare.TaskShareId(taskId, otherId)));
+        assertThat(access.resolve(taskId, otherId)).contains(TaskAccess.none);
+
+        svc.shareTask(taskId, ownerId, "o@e.com", ShareRole.viewer);
+        when(readRepo.findAccess(taskId, otherId)).thenReturn(Optional.of(TaskAccess.viewer));
+        assertThat(access.resolve(taskId, otherId)).contains(TaskAccess.viewer);
+
+        when(shareRepo.deleteByTask_IdAndUser_Id(taskId, otherId)).thenReturn(1L);
+        svc.revokeShare(taskId, ownerId, "o@e.com");
+        when(readRepo.findAccess(taskId, otherId)).thenReturn(Optional.of(TaskAccess.none));
+        assertThat(access.resolve(taskId, otherId)).contains(TaskAccess.none);
+    }
+
     // ---------- listShares ----------
 
     @Test
-    @DisplayName("listShares: only owner can view; owner==null forbidden; not-found → 404")
+    @DisplayName("listShares: only owner can view; not-found → 404")
     void listShares_paths() {
-        var e = entityOwned();
-        when(taskRepo.findById(taskId)).thenReturn(Optional.of(e));
-
         var s = new TaskShare();
         var target = new AppUser(); target.setEmail("u@e.com");
         s.setUser(target); s.setRole(ShareRole.viewer);
@@ -275,22 +754,15 @@ class TaskServiceTest {
                 .containsExactly("u@e.com", ShareRole.viewer);
 
         // not owner
-        e.getOwner().setId(otherId);
-        when(taskRepo.findById(taskId)).thenReturn(Optional.of(e));
-        assertThatThrownBy(() -> svc.listShares(taskId, ownerId))
+        assertThatThrownBy(() -> svc.listShares(taskId, editorId))
                 .isInstanceOf(SecurityException.class);
-
-        // owner == null
-        var e2 = entityOwned();
-        e2.setOwner(null);
-        when(taskRepo.findById(taskId)).thenReturn(Optional.of(e2));
-        assertThatThrownBy(() -> svc.listShares(taskId, ownerId))
+        assertThatThrownBy(() -> svc.listShares(taskId, otherId))
                 .isInstanceOf(SecurityException.class);
 
-        // not-found task -> 404 (cover lambda orElseThrow)
-        when(taskRepo.findById(taskId)).thenReturn(Optional.empty());
-        assertThatThrownBy(() -> svc.listShares(taskId, ownerId))
+        // not-found task -> 404
+        assertThatThrownBy(() -> svc.listShares(missingTaskId, ownerId))
                 .isInstanceOf(EntityNotFoundException.class);
+        verifyNoInteractions(taskRepo);
     }
 
     // ---------- revokeShare ----------
@@ -298,31 +770,103 @@ class TaskServiceTest {
     @Test
     @DisplayName("revokeShare: only owner; requires existing target; not-found task → 404")
     void revokeShare_paths() {
-        var e = entityOwned();
-        when(taskRepo.findById(taskId)).thenReturn(Optional.of(e));
-
         var target = new AppUser(); target.setId(UUID.randomUUID()); target.setEmail("z@e.com");
         when(userRepo.findByEmail("z@e.com")).thenReturn(Optional.of(target));
 
+        // no share to revoke → no tombstone
         svc.revokeShare(taskId, ownerId, "z@e.com");
         verify(shareRepo).deleteByTask_IdAndUser_Id(taskId, target.getId());
+        verifyNoInteractions(tombstoneRepo);
+
+        when(shareRepo.deleteByTask_IdAndUser_Id(taskId, target.getId())).thenReturn(1L);
+        svc.revokeShare(taskId, ownerId, "z@e.com");
+        verify(tombstoneRepo).recordUnshared(taskId, target.getId());
+        verify(changes).publish(taskId, TaskChangeEvent.Type.unshared, null, List.of(ownerId, target.getId()));
 
         // not owner
-        e.getOwner().setId(otherId);
-        when(taskRepo.findById(taskId)).thenReturn(Optional.of(e));
-        assertThatThrownBy(() -> svc.revokeShare(taskId, ownerId, "z@e.com"))
+        assertThatThrownBy(() -> svc.revokeShare(taskId, editorId, "z@e.com"))
                 .isInstanceOf(SecurityException.class);
 
         // owner ok, target not found
-        e.getOwner().setId(ownerId);
-        when(taskRepo.findById(taskId)).thenReturn(Optional.of(e));
         when(userRepo.findByEmail("no@e.com")).thenReturn(Optional.empty());
         assertThatThrownBy(() -> svc.revokeShare(taskId, ownerId, "no@e.com"))
                 .isInstanceOf(EntityNotFoundException.class);
 
-        // task not found (cover lambda orElseThrow in revokeShare)
-        when(taskRepo.findById(taskId)).thenReturn(Optional.empty());
-        assertThatThrownBy(() -> svc.revokeShare(taskId, ownerId, "z@e.com"))
+        // task not found
+        assertThatThrownBy(() -> svc.revokeShare(missingTaskId, ownerId, "z@e.com"))
                 .isInstanceOf(EntityNotFoundException.class);
+        verifyNoInteractions(taskRepo);
+    }
+
+    // ---------- shareTasks / revokeShares ----------
+
+    @Test
+    @DisplayName("shareTasks: one upsert for users and one for shares; one event per task with the changed users")
+    void shareTasks_upserts_and_publishes_per_task() {
+        UUID second = UUID.randomUUID(), x = UUID.randomUUID(), y = UUID.randomUUID();
+        when(readRepo.findAccessStates(any(), eq(ownerId))).thenReturn(Map.of(
+                taskId, new TaskAccessState(taskId, ownerId, 5, TaskAccess.owner),
+                second, new TaskAccessState(second, ownerId, 1, TaskAccess.owner)));
+        when(userRepo.resolveOrCreate(List.of("x@e.com", "y@e.com", "me@e.com")))
+                .thenReturn(Map.of("x@e.com", x, "y@e.com", y, "me@e.com", ownerId));
+        when(bulkRepo.shareAll(any(), any(), eq(ShareRole.editor))).thenReturn(List.of(
+                new TaskShare.TaskShareId(taskId, x), new TaskShare.TaskShareId(taskId, y), new TaskShare.TaskShareId(second, y)));
+
+        int n = svc.shareTasks(ownerId, List.of(taskId, second), List.of("x@e.com", "y@e.com", "me@e.com"), ShareRole.editor);
+
+        assertThat(n).isEqualTo(3);
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<java.util.Collection<UUID>> users = ArgumentCaptor.forClass(java.util.Collection.class);
+        verify(bulkRepo).shareAll(eq(java.util.Set.of(taskId, second)), users.capture(), eq(ShareRole.editor));
+        assertThat(users.getValue()).containsExactlyInAnyOrder(x, y); // not the owner itself
+        // one publish for the whole batch, one event per task
+        verify(changes).publishAll(List.of(
+                new TaskChangeEvent(taskId, TaskChangeEvent.Type.shared, null, List.of(ownerId, x, y)),
+                new TaskChangeEvent(second, TaskChangeEvent.Type.shared, null, List.of(ownerId, y))));
+        verifyNoInteractions(taskRepo, shareRepo);
+    }
+
+    @Test
+    @DisplayName("shareTasks / revokeShares: a task not owned by the caller rejects the whole request")
+    void bulk_share_requires_owner_of_every_task() {
+        UUID shared = UUID.randomUUID();
+        when(readRepo.findAccessStates(any(), eq(ownerId))).thenReturn(Map.of(
+                taskId, new TaskAccessState(taskId, ownerId, 5, TaskAccess.owner),
+                shared, new TaskAccessState(shared, otherId, 2, TaskAccess.editor)));
+
+        assertThatThrownBy(() -> svc.shareTasks(ownerId, List.of(taskId, shared), List.of("x@e.com"), ShareRole.viewer))
+                .isInstanceOf(SecurityException.class);
+        assertThatThrownBy(() -> svc.revokeShares(ownerId, List.of(taskId, missingTaskId), List.of("x@e.com")))
+                .isInstanceOf(EntityNotFoundException.class);
+        verifyNoInteractions(bulkRepo, tombstoneRepo, changes);
+        verify(userRepo, never()).resolveOrCreate(any());
+    }
+
+    @Test
+    @DisplayName("shareTasks / revokeShares: more than MAX_BATCH_SIZE tasks x emails → 400 before any query")
+    void bulk_share_caps_tasks_times_emails() {
+        List<UUID> tasks = java.util.stream.Stream.generate(UUID::randomUUID).limit(101).toList();
+        List<String> emails = java.util.stream.IntStream.range(0, 10).mapToObj(i -> i + "@e.com").toList();
+
+        assertThatThrownBy(() -> svc.shareTasks(ownerId, tasks, emails, ShareRole.viewer))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> svc.revokeShares(ownerId, tasks, emails))
+                .isInstanceOf(IllegalArgumentException.class);
+        verifyNoInteractions(readRepo, userRepo, bulkRepo);
+    }
+
+    @Test
+    @DisplayName("revokeShares: one delete, tombstones for the revoked shares, one event per task")
+    void revokeShares_deletes_and_records_tombstones() {
+        UUID x = UUID.randomUUID();
+        when(readRepo.findAccessStates(any(), eq(ownerId))).thenReturn(Map.of(
+                taskId, new TaskAccessState(taskId, ownerId, 5, TaskAccess.owner)));
+        var revoked = List.of(new TaskShare.TaskShareId(taskId, x));
+        when(bulkRepo.revokeAll(any(), any())).thenReturn(revoked);
+
+        assertThat(svc.revokeShares(ownerId, List.of(taskId), List.of("x@e.com", "gone@e.com"))).isEqualTo(1);
+
+        verify(tombstoneRepo).recordUnshared(revoked);
+        verify(changes).publishAll(List.of(new TaskChangeEvent(taskId, TaskChangeEvent.Type.unshared, null, List.of(ownerId, x))));
     }
 }
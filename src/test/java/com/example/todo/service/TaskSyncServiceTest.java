@@ -0,0 +1,138 @@
+// src/test/java/com/example/todo/service/TaskSyncServiceTest.java
+package com.example.todo.service;
+
+import com.example.todo.dto.TaskDto;
+import com.example.todo.repository.TaskChange;
+import com.example.todo.repository.TaskReadRepository;
+import com.example.todo.repository.TaskTombstoneRepository;
+import com.example.todo.util.SyncWatermark;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class TaskSyncServiceTest {
+
+    static final Instant NOW = Instant.parse("2024-06-01T12:00:00Z");
+
+    TaskReadRepository readRepo = mock(TaskReadRepository.class);
+    TaskTombstoneRepository tombstoneRepo = mock(TaskTombstoneRepository.class);
+
+    TaskSyncService svc = new TaskSyncService(readRepo, tombstoneRepo, Duration.ofDays(30), Clock.fixed(NOW, ZoneOffset.UTC));
+
+    UUID userId = UUID.randomUUID();
+
+    @Test
+    @DisplayName("changesSince: no watermark → everything accessible, nothing removed, new watermark at the snapshot horizon")
+    void initial_sync() {
+        var dto = task();
+        when(readRepo.currentSnapshotXmin()).thenReturn(900L);
+        when(readRepo.findChangedSince(userId, 0, 0, null, TaskSyncService.MAX_PAGE_SIZE + 1))
+                .thenReturn(List.of(new TaskChange(dto, 850)));
+
+        var changes = svc.changesSince(userId, null, null);
+
+        assertThat(changes.changed).containsExactly(dto);
+        assertThat(changes.removed).isEmpty();
+        assertThat(changes.more).isFalse();
+        assertThat(SyncWatermark.decode(changes.watermark)).isEqualTo(new SyncWatermark(900, NOW));
+        verify(readRepo, never()).findRemovedSince(any(), anyLong());
+    }
+
+    @Test
+    @DisplayName("changesSince: reads changes and tombstones from the watermark's xmin, horizon taken first")
+    void delta_sync() {
+        var gone = UUID.randomUUID();
+        when(readRepo.currentSnapshotXmin()).thenReturn(1000L);
+        when(readRepo.findChangedSince(eq(userId), eq(900L), anyLong(), isNull(), anyInt())).thenReturn(List.of());
+        when(readRepo.findRemovedSince(userId, 900)).thenReturn(List.of(gone));
+
+        var since = new SyncWatermark(900, NOW.minus(Duration.ofDays(29))).encode();
+        var changes = svc.changesSince(userId, since, null);
+
+        assertThat(changes.removed).containsExactly(gone);
+        assertThat(SyncWatermark.decode(changes.watermark).xmin()).isEqualTo(1000);
+        var order = inOrder(readRepo);
+        order.verify(readRepo).currentSnapshotXmin();
+        order.verify(readRepo).findChangedSince(eq(userId), eq(900L), anyLong(), isNull(), anyInt());
+    }
+
+    @Test
+    @DisplayName("changesSince: a cut page says more and resumes after its last task with the first page's horizon")
+    void paged_sync() {
+        var a = task();
+        var b = task();
+        var c = task();
+        when(readRepo.currentSnapshotXmin()).thenReturn(1000L);
+        when(readRepo.findChangedSince(userId, 900, 0, null, 3))
+                .thenReturn(List.of(new TaskChange(a, 910), new TaskChange(b, 920), new TaskChange(c, 930)));
+
+        var issued = NOW.minus(Duration.ofDays(1));
+        var first = svc.changesSince(userId, new SyncWatermark(900, issued).encode(), 2);
+
+        assertThat(first.changed).containsExactly(a, b);
+        assertThat(first.more).isTrue();
+        assertThat(first.removed).isEmpty();
+        assertThat(SyncWatermark.decode(first.watermark))
+                .isEqualTo(new SyncWatermark(1000, NOW, new SyncWatermark.Resume(900, 920, b.id)));
+        verify(readRepo, never()).findRemovedSince(any(), anyLong());
+
+        // the next page neither takes a new horizon nor restarts from the old watermark
+        when(readRepo.findChangedSince(userId, 900, 920, b.id, 3)).thenReturn(List.of(new TaskChange(c, 930)));
+        var gone = UUID.randomUUID();
+        when(readRepo.findRemovedSince(userId, 900)).thenReturn(List.of(gone));
+
+        var last = svc.changesSince(userId, first.watermark, 2);
+
+        assertThat(last.changed).containsExactly(c);
+        assertThat(last.more).isFalse();
+        assertThat(last.removed).containsExactly(gone);
+        assertThat(SyncWatermark.decode(last.watermark)).isEqualTo(new SyncWatermark(1000, NOW));
+        verify(readRepo, times(1)).currentSnapshotXmin();
+    }
+
+    @Test
+    @DisplayName("page size: default and cap MAX_PAGE_SIZE, at least 1")
+    void page_size() {
+        assertThat(TaskSyncService.pageSize(null)).isEqualTo(TaskSyncService.MAX_PAGE_SIZE);
+        assertThat(TaskSyncService.pageSize(100_000)).isEqualTo(TaskSyncService.MAX_PAGE_SIZE);
+        assertThat(TaskSyncService.pageSize(0)).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("changesSince: watermark older than the tombstone retention → ResyncRequired; garbage → 400")
+    void stale_or_invalid_watermark() {
+        var stale = new SyncWatermark(900, NOW.minus(Duration.ofDays(31))).encode();
+
+        assertThatThrownBy(() -> svc.changesSince(userId, stale, null))
+                .isInstanceOf(TaskSyncService.ResyncRequiredException.class);
+        assertThatThrownBy(() -> svc.changesSince(userId, "not-a-watermark", null))
+                .isInstanceOf(IllegalArgumentException.class);
+        verifyNoInteractions(readRepo);
+    }
+
+    @Test
+    @DisplayName("purgeTombstones: cutoff is retention plus a safety margin")
+    void purge_cutoff() {
+        svc.purgeTombstones();
+
+        verify(tombstoneRepo).purgeRemovedBefore(
+                OffsetDateTime.ofInstant(NOW.minus(Duration.ofDays(30)).minus(TaskSyncService.PURGE_MARGIN), ZoneOffset.UTC));
+    }
+
+    private static TaskDto task() {
+        var dto = new TaskDto();
+        dto.id = UUID.randomUUID();
+        return dto;
+    }
+}
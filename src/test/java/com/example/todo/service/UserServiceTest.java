@@ -6,6 +6,7 @@ import com.example.todo.repository.AppUserRepository;
 import jakarta.persistence.EntityNotFoundException;
 import org.junit.jupiter.api.Test;
 
+import java.time.Duration;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -15,37 +16,58 @@ import static org.mockito.Mockito.*;
 class UserServiceTest {
 
     AppUserRepository repo = mock(AppUserRepository.class);
-    UserService svc = new UserService(repo);
+    UserService svc = new UserService(repo, 100, Duration.ofMinutes(10));
 
     @Test
-    void upsert_existing_same_name_no_save() {
-        var u = new AppUser(); u.setEmail("e@e.com"); u.setDisplayName("Name");
-        when(repo.findByEmail("e@e.com")).thenReturn(Optional.of(u));
+    void upsert_is_one_repository_call() {
+        var u = user("n@e.com", "Fresh");
+        when(repo.upsert("n@e.com", "Fresh")).thenReturn(u);
 
-        var res = svc.upsertGoogleUser("e@e.com", "Name");
-        assertThat(res).isSameAs(u);
+        assertThat(svc.upsertGoogleUser("n@e.com", "Fresh")).isSameAs(u);
+        verify(repo).upsert("n@e.com", "Fresh");
+        verify(repo, never()).findByEmail(any());
         verify(repo, never()).save(any());
     }
 
     @Test
-    void upsert_existing_new_name_updates_and_saves() {
-        var u = new AppUser(); u.setEmail("e@e.com"); u.setDisplayName("Old");
-        when(repo.findByEmail("e@e.com")).thenReturn(Optional.of(u));
+    void repeat_login_same_or_no_name_is_served_from_cache() {
+        var u = user("e@e.com", "Name");
+        when(repo.upsert("e@e.com", "Name")).thenReturn(u);
 
-        var res = svc.upsertGoogleUser("e@e.com", "New");
-        assertThat(res.getDisplayName()).isEqualTo("New");
-        verify(repo).save(u);
+        svc.upsertGoogleUser("e@e.com", "Name");
+        assertThat(svc.upsertGoogleUser("e@e.com", "Name"))
+                .extracting(AppUser::getId, AppUser::getEmail, AppUser::getDisplayName)
+                .containsExactly(u.getId(), "e@e.com", "Name");
+        assertThat(svc.upsertGoogleUser("e@e.com", null).getId()).isEqualTo(u.getId());
+        verify(repo, times(1)).upsert(any(), any());
     }
 
     @Test
-    void upsert_new_user_creates_and_saves() {
-        when(repo.findByEmail("n@e.com")).thenReturn(Optional.empty());
-        when(repo.save(any())).thenAnswer(inv -> inv.getArgument(0));
-
-        var res = svc.upsertGoogleUser("n@e.com", "Fresh");
-        assertThat(res.getEmail()).isEqualTo("n@e.com");
-        assertThat(res.getDisplayName()).isEqualTo("Fresh");
-        verify(repo).save(any(AppUser.class));
+    void cached_login_is_a_snapshot_callers_cannot_change() {
+        var u = user("e@e.com", "Name");
+        when(repo.upsert("e@e.com", "Name")).thenReturn(u);
+
+        svc.upsertGoogleUser("e@e.com", "Name").setDisplayName("Changed by caller");
+        u.setEmail("changed@e.com");
+        var cached = svc.upsertGoogleUser("e@e.com", null);
+        cached.setDisplayName("Changed again");
+
+        var next = svc.upsertGoogleUser("e@e.com", null);
+        assertThat(next).isNotSameAs(cached);
+        assertThat(next.getEmail()).isEqualTo("e@e.com");
+        assertThat(next.getDisplayName()).isEqualTo("Name");
+        verify(repo, times(1)).upsert(any(), any());
+    }
+
+    @Test
+    void repeat_login_with_new_name_writes_again() {
+        when(repo.upsert("e@e.com", "Old")).thenReturn(user("e@e.com", "Old"));
+        when(repo.upsert("e@e.com", "New")).thenReturn(user("e@e.com", "New"));
+
+        svc.upsertGoogleUser("e@e.com", "Old");
+        assertThat(svc.upsertGoogleUser("e@e.com", "New").getDisplayName()).isEqualTo("New");
+        assertThat(svc.upsertGoogleUser("e@e.com", "New").getDisplayName()).isEqualTo("New");
+        verify(repo).upsert("e@e.com", "New");
     }
 
     @Test
@@ -63,4 +85,9 @@ class UserServiceTest {
         when(repo.findById(id)).thenReturn(Optional.empty());
         assertThatThrownBy(() -> svc.getById(id)).isInstanceOf(EntityNotFoundException.class);
     }
+
+    private static AppUser user(String email, String displayName) {
+        var u = new AppUser(); u.setId(UUID.randomUUID()); u.setEmail(email); u.setDisplayName(displayName);
+        return u;
+    }
 }
@@ -0,0 +1,44 @@
+package com.example.todo.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CsvReaderTest {
+
+    @Test
+    void reads_quoted_fields_with_commas_quotes_and_newlines() throws Exception {
+        var csv = new CsvReader(new StringReader(
+                "title,description\r\n\"Buy milk, eggs\",\"say \"\"hi\"\"\nto the cashier\"\r\nplain,\r\n"));
+
+        assertEquals(List.of("title", "description"), csv.next());
+        assertEquals(1, csv.recordLine());
+        assertEquals(List.of("Buy milk, eggs", "say \"hi\"\nto the cashier"), csv.next());
+        assertEquals(2, csv.recordLine());
+        assertEquals(List.of("plain", ""), csv.next());
+        assertEquals(4, csv.recordLine());
+        assertNull(csv.next());
+    }
+
+    @Test
+    void last_record_without_line_break_and_blank_lines() throws Exception {
+        var csv = new CsvReader(new StringReader("a,b\n\nc,d"));
+
+        assertEquals(List.of("a", "b"), csv.next());
+        assertEquals(List.of(""), csv.next());
+        assertEquals(List.of("c", "d"), csv.next());
+        assertNull(csv.next());
+    }
+
+    @Test
+    void unterminated_quote_is_an_error() {
+        var csv = new CsvReader(new StringReader("\"open,\nnever closed"));
+
+        var e = assertThrows(IOException.class, csv::next);
+        assertTrue(e.getMessage().contains("line 1"));
+    }
+}
@@ -64,4 +64,30 @@ class ETagUtilTest {
     void parseIfMatch_strongUnbalanced_onlyRightQuote() {
         assertThrows(IllegalArgumentException.class, () -> ETagUtil.parseIfMatch("5\""));
     }
+
+    @Test
+    void matchesIfNoneMatch_weakComparisonListsAndWildcard() {
+        assertTrue(ETagUtil.matchesIfNoneMatch("W/\"5\"", 5));
+        assertTrue(ETagUtil.matchesIfNoneMatch("\"5\"", 5));
+        assertTrue(ETagUtil.matchesIfNoneMatch("W/\"3\", W/\"5\"", 5));
+        assertTrue(ETagUtil.matchesIfNoneMatch("*", 5));
+        assertFalse(ETagUtil.matchesIfNoneMatch("W/\"4\"", 5));
+        assertFalse(ETagUtil.matchesIfNoneMatch("\"abc\", W/", 5)); // foreign tags are ignored, not a 400
+        assertFalse(ETagUtil.matchesIfNoneMatch(null, 5));
+        assertFalse(ETagUtil.matchesIfNoneMatch("*", null));
+    }
+
+    @Test
+    void opaqueTags_formatAndMatchWeakly() {
+        assertEquals("W/\"c0ffee\"", ETagUtil.formatWeakTag("c0ffee"));
+        assertNull(ETagUtil.formatWeakTag(null));
+
+        String etag = ETagUtil.formatWeakTag("c0ffee");
+        assertTrue(ETagUtil.matchesIfNoneMatchTag("W/\"c0ffee\"", etag));
+        assertTrue(ETagUtil.matchesIfNoneMatchTag("\"c0ffee\"", etag));
+        assertTrue(ETagUtil.matchesIfNoneMatchTag("W/\"old\", W/\"c0ffee\"", etag));
+        assertTrue(ETagUtil.matchesIfNoneMatchTag("*", etag));
+        assertFalse(ETagUtil.matchesIfNoneMatchTag("W/\"old\"", etag));
+        assertFalse(ETagUtil.matchesIfNoneMatchTag(null, etag));
+    }
 }
@@ -0,0 +1,51 @@
+package com.example.todo.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PageCursorTest {
+
+    @Test
+    void encode_decode_roundtrip_keeps_microseconds() {
+        var c = new PageCursor(OffsetDateTime.parse("2024-05-01T10:15:30.123456+02:00"), UUID.randomUUID());
+
+        var back = PageCursor.decode(c.encode());
+
+        assertEquals(c.id(), back.id());
+        assertTrue(c.updatedAt().isEqual(back.updatedAt()));
+        assertEquals(123456000, back.updatedAt().getNano());
+    }
+
+    @Test
+    void encode_decode_roundtrip_keeps_score() {
+        var c = new PageCursor(OffsetDateTime.now(), UUID.randomUUID(), 0.0607927f);
+
+        var back = PageCursor.decode(c.encode());
+
+        assertEquals(0.0607927f, back.score());
+        assertNull(PageCursor.decode(new PageCursor(OffsetDateTime.now(), UUID.randomUUID()).encode()).score());
+    }
+
+    @Test
+    void encoded_token_is_url_safe() {
+        var token = new PageCursor(OffsetDateTime.now(), UUID.randomUUID()).encode();
+        assertTrue(token.matches("[A-Za-z0-9_-]+"));
+    }
+
+    @Test
+    void decode_returnsNullOnBlank() {
+        assertNull(PageCursor.decode(null));
+        assertNull(PageCursor.decode("  "));
+    }
+
+    @Test
+    void decode_rejectsGarbage() {
+        assertThrows(IllegalArgumentException.class, () -> PageCursor.decode("%%%"));
+        assertThrows(IllegalArgumentException.class, () -> PageCursor.decode("bm8tc2VwYXJhdG9y"));   // "no-separator"
+        assertThrows(IllegalArgumentException.class, () -> PageCursor.decode("YWJjOm5vdC1hLXV1aWQ")); // "abc:not-a-uuid"
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.todo.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SyncWatermarkTest {
+
+    @Test
+    void encode_decode_roundtrip() {
+        var w = new SyncWatermark(4_294_967_301L, Instant.parse("2024-05-01T10:15:30.123Z"));
+
+        var back = SyncWatermark.decode(w.encode());
+
+        assertEquals(w, back);
+        assertTrue(w.encode().matches("[A-Za-z0-9_-]+"));
+    }
+
+    @Test
+    void encode_decode_roundtrip_with_resume_position() {
+        var w = new SyncWatermark(1000, Instant.parse("2024-05-01T10:15:30Z"),
+                new SyncWatermark.Resume(900, 950, UUID.randomUUID()));
+
+        assertEquals(w, SyncWatermark.decode(w.encode()));
+    }
+
+    @Test
+    void decode_returnsNullOnBlank() {
+        assertNull(SyncWatermark.decode(null));
+        assertNull(SyncWatermark.decode("  "));
+    }
+
+    @Test
+    void decode_rejectsGarbage() {
+        assertThrows(IllegalArgumentException.class, () -> SyncWatermark.decode("%%%"));
+        assertThrows(IllegalArgumentException.class, () -> SyncWatermark.decode(b64("12")));
+        assertThrows(IllegalArgumentException.class, () -> SyncWatermark.decode(b64("x:1")));
+        assertThrows(IllegalArgumentException.class, () -> SyncWatermark.decode(b64("-1:1")));
+        assertThrows(IllegalArgumentException.class, () -> SyncWatermark.decode(b64("5:1:900:950:not-a-uuid")));
+        assertThrows(IllegalArgumentException.class, () -> SyncWatermark.decode(b64("5:1:900:800:" + UUID.randomUUID())));
+    }
+
+    private static String b64(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,200 @@
+// src/test/java/com/example/todo/web/TaskBatchControllerTest.java
+package com.example.todo.web;
+
+import com.example.todo.dto.TaskBatchPatchDto;
+import com.example.todo.dto.TaskBatchPatchResultDto;
+import com.example.todo.dto.TaskCreateDto;
+import com.example.todo.dto.TaskDto;
+import com.example.todo.dto.TaskImportEventDto;
+import com.example.todo.dto.TaskPatchDto;
+import com.example.todo.dto.TaskShareBatchDto;
+import com.example.todo.dto.TaskUnshareBatchDto;
+import com.example.todo.entity.enums.ShareRole;
+import com.example.todo.security.UserPrincipal;
+import com.example.todo.service.TaskImportService;
+import com.example.todo.service.TaskService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.io.InputStream;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+class TaskBatchControllerTest {
+
+    TaskService taskService = mock(TaskService.class);
+    TaskImportService importService = mock(TaskImportService.class);
+    MockMvc mvc;
+    ObjectMapper om = new ObjectMapper();
+
+    UserPrincipal principal;
+    TestingAuthenticationToken auth;
+
+    @BeforeEach
+    void setup() {
+        mvc = MockMvcBuilders.standaloneSetup(new TaskBatchController(taskService, importService,
+                Validation.buildDefaultValidatorFactory().getValidator(), om)).build();
+
+        principal = new UserPrincipal(UUID.randomUUID(), "user@example.com", "User");
+        auth = new TestingAuthenticationToken(principal, null, "ROLE_USER");
+        auth.setAuthenticated(true);
+    }
+
+    @Test
+    @DisplayName("POST /api/tasks:batch returns 201 with per-item id + ETag in request order")
+    void create_batch() throws Exception {
+        var a = new TaskCreateDto(); a.title = "A";
+        var b = new TaskCreateDto(); b.title = "B";
+        var createdA = new TaskDto(); createdA.id = UUID.randomUUID(); createdA.version = 0;
+        var createdB = new TaskDto(); createdB.id = UUID.randomUUID(); createdB.version = 0;
+        when(taskService.createTasks(eq(principal.getId()), anyList())).thenReturn(List.of(createdA, createdB));
+
+        mvc.perform(post("/api/tasks:batch")
+                        .contentType("application/json")
+                        .content(om.writeValueAsBytes(List.of(a, b)))
+                        .principal(auth))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].index").value(0))
+                .andExpect(jsonPath("$[0].id").value(createdA.id.toString()))
+                .andExpect(jsonPath("$[0].etag").value("W/\"0\""))
+                .andExpect(jsonPath("$[1].index").value(1))
+                .andExpect(jsonPath("$[1].id").value(createdB.id.toString()));
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<TaskCreateDto>> cap = ArgumentCaptor.forClass(List.class);
+        verify(taskService).createTasks(eq(principal.getId()), cap.capture());
+        assertThat(cap.getValue()).extracting(d -> d.title).containsExactly("A", "B");
+    }
+
+    @Test
+    @DisplayName("PATCH /api/tasks:batch returns 200 with per-item status; ETag only for applied items")
+    void patch_batch() throws Exception {
+        UUID a = UUID.randomUUID(), b = UUID.randomUUID();
+        var done = new TaskPatchDto(); done.completed = true;
+        when(taskService.patchTasks(eq(principal.getId()), anyList(), anyMap())).thenReturn(List.of(
+                new TaskBatchPatchResultDto(0, a, 200, 4, null),
+                new TaskBatchPatchResultDto(1, b, 412, null, "Version mismatch")));
+
+        mvc.perform(patch("/api/tasks:batch")
+                        .contentType("application/json")
+                        .content(om.writeValueAsBytes(List.of(new TaskBatchPatchDto(a, 3, done), new TaskBatchPatchDto(b, 1, done))))
+                        .principal(auth))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].status").value(200))
+                .andExpect(jsonPath("$[0].etag").value("W/\"4\""))
+                .andExpect(jsonPath("$[1].status").value(412))
+                .andExpect(jsonPath("$[1].etag").doesNotExist())
+                .andExpect(jsonPath("$[1].message").value("Version mismatch"));
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<TaskBatchPatchDto>> cap = ArgumentCaptor.forClass(List.class);
+        verify(taskService).patchTasks(eq(principal.getId()), cap.capture(), eq(Map.of()));
+        assertThat(cap.getValue()).extracting(i -> i.ifMatchVersion).containsExactly(3, 1);
+        assertThat(cap.getValue().get(0).patch.completed).isTrue();
+    }
+
+    @Test
+    @DisplayName("PATCH /api/tasks:batch validates every item on its own; violations reach the service as that item's 400")
+    void patch_batch_validates_items() throws Exception {
+        UUID a = UUID.randomUUID(), b = UUID.randomUUID();
+        var blank = new TaskPatchDto(); blank.title = "  ";
+        var done = new TaskPatchDto(); done.completed = true;
+        when(taskService.patchTasks(eq(principal.getId()), anyList(), anyMap())).thenReturn(List.of());
+
+        mvc.perform(patch("/api/tasks:batch")
+                        .contentType("application/json")
+                        .content(om.writeValueAsBytes(java.util.Arrays.asList(
+                                new TaskBatchPatchDto(a, 1, blank), new TaskBatchPatchDto(b, 2, done),
+                                new TaskBatchPatchDto(b, null, null), null)))
+                        .principal(auth))
+                .andExpect(status().isOk());
+
+        verify(taskService).patchTasks(eq(principal.getId()), anyList(), eq(Map.of(
+                0, "patch.title: must not be blank",
+                2, "ifMatchVersion: must not be null; patch: must not be null",
+                3, "Item must not be null")));
+    }
+
+    @Test
+    @DisplayName("POST /api/tasks:share and :unshare pass tasks x emails to the service; empty or oversized lists are 400")
+    void share_and_unshare_batch() throws Exception {
+        UUID a = UUID.randomUUID(), b = UUID.randomUUID();
+        var emails = List.of("x@example.com", "y@example.com");
+
+        mvc.perform(post("/api/tasks:share")
+                        .contentType("application/json")
+                        .content(om.writeValueAsBytes(new TaskShareBatchDto(List.of(a, b), emails, ShareRole.editor)))
+                        .principal(auth))
+                .andExpect(status().isNoContent());
+        verify(taskService).shareTasks(principal.getId(), List.of(a, b), emails, ShareRole.editor);
+
+        mvc.perform(post("/api/tasks:unshare")
+                        .contentType("application/json")
+                        .content(om.writeValueAsBytes(new TaskUnshareBatchDto(List.of(a), emails)))
+                        .principal(auth))
+                .andExpect(status().isNoContent());
+        verify(taskService).revokeShares(principal.getId(), List.of(a), emails);
+
+        mvc.perform(post("/api/tasks:share")
+                        .contentType("application/json")
+                        .content(om.writeValueAsBytes(new TaskShareBatchDto(List.of(), emails, ShareRole.viewer)))
+                        .principal(auth))
+                .andExpect(status().isBadRequest());
+        var tooMany = java.util.stream.IntStream.rangeClosed(0, TaskService.MAX_BATCH_SIZE).mapToObj(i -> i + "@example.com").toList();
+        mvc.perform(post("/api/tasks:share")
+                        .contentType("application/json")
+                        .content(om.writeValueAsBytes(new TaskShareBatchDto(List.of(a), tooMany, ShareRole.viewer)))
+                        .principal(auth))
+                .andExpect(status().isBadRequest());
+        verifyNoMoreInteractions(taskService);
+    }
+
+    @Test
+    @DisplayName("POST /api/tasks:import streams events; CSV body selects the CSV reader")
+    void import_streams_events() throws Exception {
+        when(importService.importTasks(eq(principal.getId()), any(InputStream.class), eq(TaskImportService.Format.CSV), any()))
+                .thenAnswer(inv -> {
+                    byte[] body = inv.getArgument(1, InputStream.class).readAllBytes();
+                    assertThat(new String(body)).startsWith("title");
+                    Consumer<TaskImportEventDto> events = inv.getArgument(3);
+                    events.accept(new TaskImportEventDto("error", 3L, "title: must not be blank", 2, 0, 1));
+                    var done = new TaskImportEventDto("done", null, null, 2, 1, 1);
+                    events.accept(done);
+                    return done;
+                });
+
+        var started = mvc.perform(post("/api/tasks:import")
+                        .contentType("text/csv")
+                        .content("title\nA\n\"\"\n")
+                        .principal(auth))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = mvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andReturn().getResponse().getContentAsString();
+
+        assertThat(body.split("\n")).containsExactly(
+                "{\"type\":\"error\",\"line\":3,\"message\":\"title: must not be blank\",\"processed\":2,\"imported\":0,\"failed\":1}",
+                "{\"type\":\"done\",\"processed\":2,\"imported\":1,\"failed\":1}");
+    }
+}
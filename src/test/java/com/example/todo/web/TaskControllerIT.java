@@ -29,6 +29,7 @@ import org.testcontainers.junit.jupiter.Testcontainers;
 
 import java.util.UUID;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.containsString;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.authentication;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -117,6 +118,28 @@ class TaskControllerIT {
                 .andExpect(status().isNoContent());
     }
 
+    @Test
+    @DisplayName("POST /api/tasks:batch creates all items or none")
+    void batch_create_is_all_or_nothing() throws Exception {
+        mvc.perform(post("/api/tasks:batch")
+                        .with(authAs(ownerId))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"title\":\"One\",\"tags\":[\"a\"]},{\"title\":\"Two\"}]"))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$[0].index").value(0))
+                .andExpect(jsonPath("$[0].etag").value("W/\"0\""))
+                .andExpect(jsonPath("$[1].id").exists());
+        assertThat(tasks.count()).isEqualTo(2);
+
+        // second item is invalid → 400 and nothing from this batch is stored
+        mvc.perform(post("/api/tasks:batch")
+                        .with(authAs(ownerId))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"title\":\"Three\"},{\"title\":\"\"}]"))
+                .andExpect(status().isBadRequest());
+        assertThat(tasks.count()).isEqualTo(2);
+    }
+
     @Test
     @DisplayName("PATCH with outdated ETag → 412 Precondition Failed")
     void patch_with_outdated_etag_returns_412() throws Exception {
@@ -184,6 +207,16 @@ class TaskControllerIT {
                 .andExpect(jsonPath("$[*].title").value(Matchers.not(Matchers.hasItem("Invisible"))));
     }
 
+    @Test
+    void metrics_are_not_open_to_end_users() throws Exception {
+        mvc.perform(get("/actuator/metrics").with(authAs(ownerId)))
+                .andExpect(status().isForbidden());
+        mvc.perform(get("/actuator/metrics/cache.gets").with(authAs(ownerId)))
+                .andExpect(status().isForbidden());
+        mvc.perform(get("/actuator/health"))
+                .andExpect(status().isOk());
+    }
+
     // ───────────────────────────────────────────────────────────────────────────────
     private RequestPostProcessor authAs(UUID userId) {
         var principal = new UserPrincipal(userId, "user+" + userId + "@example.com", "TestUser");
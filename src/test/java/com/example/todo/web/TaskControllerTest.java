@@ -5,14 +5,17 @@ import com.example.todo.dto.*;
 import com.example.todo.entity.enums.ShareRole;
 import com.example.todo.entity.enums.TaskPriority;
 import com.example.todo.entity.enums.TaskStatus;
+import com.example.todo.repository.TaskSearchMode;
 import com.example.todo.security.UserPrincipal;
 import com.example.todo.service.TaskService;
+import com.example.todo.service.TaskSyncService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
 import org.springframework.security.authentication.TestingAuthenticationToken;
 import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
 import org.springframework.test.web.servlet.MockMvc;
@@ -20,9 +23,11 @@ import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
 import jakarta.validation.Validation;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -32,6 +37,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 class TaskControllerTest {
 
     TaskService taskService = mock(TaskService.class);
+    TaskSyncService syncService = mock(TaskSyncService.class);
     MockMvc mvc;
     ObjectMapper om = new ObjectMapper();
 
@@ -40,7 +46,7 @@ class TaskControllerTest {
 
     @BeforeEach
     void setup() {
-        var controller = new TaskController(taskService);
+        var controller = new TaskController(taskService, syncService, Jackson2ObjectMapperBuilder.json().build());
 
         // Spring validator
         LocalValidatorFactoryBean validator = new LocalValidatorFactoryBean();
@@ -61,8 +67,8 @@ class TaskControllerTest {
         var dto = new TaskDto();
         dto.id = UUID.randomUUID();
         dto.version = 7;
-        when(taskService.listTasks(eq(principal.getId()), eq("search"), eq(TaskStatus.DONE), eq(TaskPriority.HIGH)))
-                .thenReturn(List.of(dto));
+        when(taskService.listTasks(eq(principal.getId()), eq("search"), isNull(), eq(TaskStatus.DONE), eq(TaskPriority.HIGH), eq(Map.of()), isNull(), isNull()))
+                .thenReturn(new TaskPageDto(List.of(dto), null));
 
         mvc.perform(get("/api/tasks")
                         .param("q", "search")
@@ -70,9 +76,167 @@ class TaskControllerTest {
                         .param("priority", "HIGH")
                         .principal(auth))
                 .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("X-Next-Cursor"))
                 .andExpect(jsonPath("$[0].id").value(dto.id.toString()));
 
-        verify(taskService).listTasks(principal.getId(), "search", TaskStatus.DONE, TaskPriority.HIGH);
+        verify(taskService).listTasks(principal.getId(), "search", null, TaskStatus.DONE, TaskPriority.HIGH, Map.of(), null, null);
+    }
+
+    @Test
+    @DisplayName("GET /api/tasks?cursor=..&limit=.. passes paging params and exposes next cursor header")
+    void list_tasks_next_cursor() throws Exception {
+        var dto = new TaskDto();
+        dto.id = UUID.randomUUID();
+        when(taskService.listTasks(eq(principal.getId()), isNull(), isNull(), isNull(), isNull(), eq(Map.of()), eq("abc"), eq(20)))
+                .thenReturn(new TaskPageDto(List.of(dto), "def"));
+
+        mvc.perform(get("/api/tasks")
+                        .param("cursor", "abc")
+                        .param("limit", "20")
+                        .principal(auth))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Next-Cursor", "def"))
+                .andExpect(jsonPath("$[0].id").value(dto.id.toString()));
+    }
+
+    @Test
+    @DisplayName("GET /api/tasks?match=SUBSTRING selects the substring search mode")
+    void list_tasks_substring_mode() throws Exception {
+        when(taskService.listTasks(any(), any(), any(), any(), any(), any(), any(), any()))
+                .thenReturn(new TaskPageDto(List.of(), null));
+
+        mvc.perform(get("/api/tasks")
+                        .param("q", "INV-2")
+                        .param("match", "SUBSTRING")
+                        .principal(auth))
+                .andExpect(status().isOk());
+
+        verify(taskService).listTasks(principal.getId(), "INV-2", TaskSearchMode.SUBSTRING, null, null, Map.of(), null, null);
+    }
+
+    @Test
+    @DisplayName("GET /api/tasks?metadata.<path>=value passes metadata filters to the service")
+    void list_tasks_metadata_filter() throws Exception {
+        when(taskService.listTasks(any(), any(), any(), any(), any(), any(), any(), any()))
+                .thenReturn(new TaskPageDto(List.of(), null));
+
+        mvc.perform(get("/api/tasks")
+                        .param("metadata.color", "red")
+                        .param("metadata.owner.team", "core")
+                        .param("status", "TODO")
+                        .principal(auth))
+                .andExpect(status().isOk());
+
+        verify(taskService).listTasks(principal.getId(), null, null, TaskStatus.TODO, null,
+                Map.of("color", "red", "owner.team", "core"), null, null);
+        assertThatThrownBy(() -> TaskController.metadataFilter(Map.of("metadata.a..b", "x")))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> TaskController.metadataFilter(Map.of("metadata.", "x")))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("GET /api/tasks/export streams NDJSON rows with the listing filters")
+    void export_streams_ndjson() throws Exception {
+        var a = new TaskDto(); a.id = UUID.randomUUID(); a.title = "A";
+        var b = new TaskDto(); b.id = UUID.randomUUID(); b.title = "B";
+        doAnswer(inv -> {
+            java.util.function.Consumer<TaskDto> sink = inv.getArgument(6);
+            sink.accept(a);
+            sink.accept(b);
+            return null;
+        }).when(taskService).exportTasks(eq(principal.getId()), eq("milk"), isNull(), eq(TaskStatus.TODO), isNull(),
+                eq(Map.of("color", "red")), any());
+
+        var started = mvc.perform(get("/api/tasks/export")
+                        .param("q", "milk")
+                        .param("status", "TODO")
+                        .param("metadata.color", "red")
+                        .principal(auth))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        var body = mvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_TYPE, "application/x-ndjson"))
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"tasks.ndjson\""))
+                .andReturn().getResponse().getContentAsString();
+
+        assertThat(body.split("\n"))
+                .hasSize(2)
+                .satisfies(lines -> assertThat(lines[0]).contains("\"title\":\"A\""))
+                .satisfies(lines -> assertThat(lines[1]).contains("\"title\":\"B\""));
+    }
+
+    @Test
+    @DisplayName("GET /api/tasks/export?format=csv writes a header row; unknown format → 400")
+    void export_csv_and_unknown_format() throws Exception {
+        var started = mvc.perform(get("/api/tasks/export").param("format", "csv").principal(auth))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        var body = mvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_TYPE, "text/csv"))
+                .andReturn().getResponse().getContentAsString();
+        assertThat(body).startsWith("id,title,");
+
+        assertThatThrownBy(() -> mvc.perform(get("/api/tasks/export").param("format", "xml").principal(auth)))
+                .hasCauseInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("GET /api/tasks/changes passes the watermark through; stale watermark → 410")
+    void changes_since_watermark() throws Exception {
+        var dto = new TaskDto();
+        dto.id = UUID.randomUUID();
+        var gone = UUID.randomUUID();
+        when(syncService.changesSince(principal.getId(), "wm1", null))
+                .thenReturn(new TaskChangesDto(List.of(dto), List.of(gone), "wm2"));
+
+        mvc.perform(get("/api/tasks/changes").param("since", "wm1").principal(auth))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.changed[0].id").value(dto.id.toString()))
+                .andExpect(jsonPath("$.removed[0]").value(gone.toString()))
+                .andExpect(jsonPath("$.watermark").value("wm2"));
+
+        when(syncService.changesSince(principal.getId(), "old", null))
+                .thenThrow(new TaskSyncService.ResyncRequiredException("too old"));
+        assertThatThrownBy(() -> mvc.perform(get("/api/tasks/changes").param("since", "old").principal(auth)))
+                .hasCauseInstanceOf(TaskSyncService.ResyncRequiredException.class);
+    }
+
+    @Test
+    @DisplayName("GET /api/tasks carries a collection ETag; matching If-None-Match → 304 without paging")
+    void list_tasks_collection_etag() throws Exception {
+        when(taskService.listVersion(eq(principal.getId()), isNull(), isNull(), eq(TaskStatus.TODO), isNull(), eq(Map.of())))
+                .thenReturn("abc123");
+        when(taskService.listTasks(any(), any(), any(), any(), any(), any(), any(), any()))
+                .thenReturn(new TaskPageDto(List.of(), null));
+
+        mvc.perform(get("/api/tasks").param("status", "TODO").principal(auth))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "W/\"abc123\""));
+
+        mvc.perform(get("/api/tasks").param("status", "TODO")
+                        .header(HttpHeaders.IF_NONE_MATCH, "W/\"abc123\"")
+                        .principal(auth))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "W/\"abc123\""));
+
+        verify(taskService, times(1)).listTasks(any(), any(), any(), any(), any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("GET /api/tasks: an unconditional request for a later page skips the collection stamp")
+    void list_tasks_later_page_skips_stamp() throws Exception {
+        when(taskService.listTasks(any(), any(), any(), any(), any(), any(), any(), any()))
+                .thenReturn(new TaskPageDto(List.of(), null));
+
+        mvc.perform(get("/api/tasks").param("cursor", "c2").principal(auth))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.ETAG));
+
+        verify(taskService, never()).listVersion(any(), any(), any(), any(), any(), any());
     }
 
     @Test
@@ -114,6 +278,55 @@ class TaskControllerTest {
                 .andExpect(jsonPath("$.id").value(t.id.toString()));
     }
 
+    @Test
+    @DisplayName("GET /api/tasks/{id} with matching If-None-Match → 304 from the version alone")
+    void get_task_not_modified() throws Exception {
+        UUID id = UUID.randomUUID();
+        when(taskService.getTaskVersion(id, principal.getId())).thenReturn(9);
+
+        mvc.perform(get("/api/tasks/{id}", id).header(HttpHeaders.IF_NONE_MATCH, "W/\"8\", W/\"9\"").principal(auth))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "W/\"9\""))
+                .andExpect(content().string(""));
+
+        verify(taskService, never()).getTask(any(), any());
+    }
+
+    @Test
+    @DisplayName("GET /api/tasks/{id} with stale If-None-Match → full 200 response")
+    void get_task_modified_since_etag() throws Exception {
+        var t = new TaskDto();
+        t.id = UUID.randomUUID();
+        t.version = 10;
+        when(taskService.getTaskVersion(t.id, principal.getId())).thenReturn(10);
+        when(taskService.getTask(t.id, principal.getId())).thenReturn(t);
+
+        mvc.perform(get("/api/tasks/{id}", t.id).header(HttpHeaders.IF_NONE_MATCH, "W/\"9\"").principal(auth))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "W/\"10\""))
+                .andExpect(jsonPath("$.id").value(t.id.toString()));
+    }
+
+    @Test
+    @DisplayName("GET /api/tasks/{id}: metadata is written as raw JSON, metadataKeys narrows it")
+    void get_task_metadata_raw_and_filtered() throws Exception {
+        var t = new TaskDto();
+        t.id = UUID.randomUUID();
+        t.version = 1;
+        t.metadata = "{\"color\":\"red\",\"size\":3}";
+        when(taskService.getTask(t.id, principal.getId())).thenReturn(t);
+
+        mvc.perform(get("/api/tasks/{id}", t.id).principal(auth))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.metadata.color").value("red"))
+                .andExpect(jsonPath("$.metadata.size").value(3));
+
+        mvc.perform(get("/api/tasks/{id}", t.id).param("metadataKeys", "size").principal(auth))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.metadata.size").value(3))
+                .andExpect(jsonPath("$.metadata.color").doesNotExist());
+    }
+
     @Test
     @DisplayName("PATCH /api/tasks/{id} parses If-Match and returns updated + ETag")
     void patch_task() throws Exception {
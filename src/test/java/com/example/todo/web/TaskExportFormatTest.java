@@ -0,0 +1,80 @@
+// src/test/java/com/example/todo/web/TaskExportFormatTest.java
+package com.example.todo.web;
+
+import com.example.todo.dto.TaskDto;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.StringWriter;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TaskExportFormatTest {
+
+    // the application mapper as Spring Boot configures it: JavaTimeModule, ISO-8601 dates
+    private static final ObjectWriter JSON = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build()
+            .writerFor(TaskDto.class);
+
+    private static TaskDto dto() {
+        TaskDto dto = new TaskDto();
+        dto.id = UUID.fromString("00000000-0000-0000-0000-000000000001");
+        dto.title = "Buy milk, eggs";
+        dto.description = "say \"hi\"\nto the cashier";
+        dto.priority = "High";
+        dto.status = "TODO";
+        dto.completed = false;
+        dto.tags = List.of("home", "shop");
+        dto.metadata = "{\"color\":\"red\"}";
+        dto.version = 2;
+        dto.updatedAt = OffsetDateTime.of(2025, 1, 2, 3, 4, 5, 0, ZoneOffset.UTC);
+        return dto;
+    }
+
+    @Test
+    @DisplayName("NDJSON: one JSON object per line, raw metadata, ISO dates")
+    void ndjson_row() throws Exception {
+        StringWriter out = new StringWriter();
+        TaskExportFormat.NDJSON.writeHeader(out);
+        TaskExportFormat.NDJSON.writeRow(out, JSON, dto());
+        TaskExportFormat.NDJSON.writeRow(out, JSON, dto());
+
+        String[] lines = out.toString().split("\n");
+        assertThat(lines).hasSize(2);
+        assertThat(lines[0])
+                .startsWith("{\"id\":\"00000000-0000-0000-0000-000000000001\"")
+                .contains("\"metadata\":{\"color\":\"red\"}")
+                .contains("\"updatedAt\":\"2025-01-02T03:04:05Z\"")
+                .doesNotContain("score");
+    }
+
+    @Test
+    @DisplayName("CSV: header row, RFC 4180 quoting, empty cells for nulls")
+    void csv_rows() throws Exception {
+        StringWriter out = new StringWriter();
+        TaskExportFormat.CSV.writeHeader(out);
+        TaskExportFormat.CSV.writeRow(out, JSON, dto());
+
+        assertThat(out.toString()).isEqualTo(
+                String.join(",", TaskExportFormat.CSV_COLUMNS) + "\r\n"
+                        + "00000000-0000-0000-0000-000000000001,\"Buy milk, eggs\",\"say \"\"hi\"\"\nto the cashier\","
+                        + ",High,TODO,false,,home;shop,,,2,,2025-01-02T03:04:05Z,\"{\"\"color\"\":\"\"red\"\"}\"\r\n");
+    }
+
+    @Test
+    @DisplayName("Format names are case-insensitive, unknown ones are a 400")
+    void parse_format() {
+        assertThat(TaskExportFormat.parse("csv")).isEqualTo(TaskExportFormat.CSV);
+        assertThat(TaskExportFormat.parse(" NDJSON ")).isEqualTo(TaskExportFormat.NDJSON);
+        assertThatThrownBy(() -> TaskExportFormat.parse("xml")).isInstanceOf(IllegalArgumentException.class);
+    }
+}
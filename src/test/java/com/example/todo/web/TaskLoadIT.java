@@ -0,0 +1,197 @@
+// src/test/java/com/example/todo/web/TaskLoadIT.java
+package com.example.todo.web;
+
+import com.example.todo.entity.AppUser;
+import com.example.todo.entity.Task;
+import com.example.todo.entity.enums.TaskPriority;
+import com.example.todo.entity.enums.TaskStatus;
+import com.example.todo.repository.AppUserRepository;
+import com.example.todo.repository.TaskRepository;
+import com.example.todo.repository.TaskShareRepository;
+import com.example.todo.security.JwtService;
+import org.junit.jupiter.api.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.TestPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Load comparison for GET /api/tasks with the default 5-connection pool:
+ * platform threads without admission control vs virtual threads + DbAdmissionLimiter.
+ * Logs throughput and p50/p99 for both; asserts that every request got an answer and that nothing fails
+ * with anything but a 503 + Retry-After. Not part of the default build: {@code mvn test -Pload}.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@Tag("load")
+class TaskLoadIT {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskLoadIT.class);
+
+    static final int REQUESTS = 2_000;
+    static final int CONCURRENCY = 200;
+
+    @Container
+    static final PostgreSQLContainer<?> DB =
+            new PostgreSQLContainer<>("postgres:16-alpine")
+                    .withDatabaseName("todo")
+                    .withUsername("test")
+                    .withPassword("test");
+
+    @DynamicPropertySource
+    static void dbProps(DynamicPropertyRegistry r) {
+        r.add("spring.datasource.url", DB::getJdbcUrl);
+        r.add("spring.datasource.username", DB::getUsername);
+        r.add("spring.datasource.password", DB::getPassword);
+        r.add("spring.datasource.hikari.maximum-pool-size", () -> "5");
+        r.add("jwt.secret", () -> "load-test-secret-load-test-secret-0123456789");
+    }
+
+    @Nested
+    @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+    @ActiveProfiles("test")
+    @AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+    @TestPropertySource(properties = {"spring.threads.virtual.enabled=false", "todo.db-limiter.enabled=false"})
+    class Before extends Scenario {
+        @Test
+        void platform_threads_without_limiter() throws Exception {
+            var result = run();
+            result.log("before (platform threads, no limiter)");
+            assertThat(result.ok() + result.rejected() + result.unexpected()).isEqualTo(REQUESTS);
+            assertThat(result.unexpected()).isZero();
+        }
+    }
+
+    @Nested
+    @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+    @ActiveProfiles("test")
+    @AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+    @TestPropertySource(properties = {"spring.threads.virtual.enabled=true", "todo.db-limiter.enabled=true"})
+    class After extends Scenario {
+        @Test
+        void virtual_threads_with_limiter() throws Exception {
+            var result = run();
+            result.log("after (virtual threads + limiter)");
+            assertThat(result.ok() + result.rejected() + result.unexpected()).isEqualTo(REQUESTS);
+            assertThat(result.ok()).isPositive();
+            assertThat(result.unexpected()).isZero();
+            assertThat(result.rejectedWithoutRetryAfter()).isZero();
+        }
+    }
+
+    abstract static class Scenario {
+
+        @LocalServerPort int port;
+        @Autowired AppUserRepository users;
+        @Autowired TaskRepository tasks;
+        @Autowired TaskShareRepository shares;
+        @Autowired JwtService jwt;
+
+        String token;
+
+        @BeforeEach
+        void seed() {
+            shares.deleteAll();
+            tasks.deleteAll();
+            users.deleteAll();
+            var owner = new AppUser();
+            owner.setEmail("load@example.com");
+            owner = users.save(owner);
+            List<Task> batch = new ArrayList<>();
+            for (int i = 0; i < 200; i++) {
+                Task t = new Task();
+                t.setOwner(owner);
+                t.setTitle("Load task " + i);
+                t.setStatus(TaskStatus.TODO);
+                t.setPriority(TaskPriority.MED);
+                batch.add(t);
+            }
+            tasks.saveAll(batch);
+            token = jwt.issueToken(owner.getId(), owner.getEmail(), "Load");
+        }
+
+        Result run() throws Exception {
+            HttpClient client = HttpClient.newBuilder()
+                    .executor(Executors.newVirtualThreadPerTaskExecutor())
+                    .connectTimeout(Duration.ofSeconds(5))
+                    .build();
+            HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/tasks?limit=50"))
+                    .header("Authorization", "Bearer " + token)
+                    .timeout(Duration.ofSeconds(60))
+                    .build();
+            Semaphore inFlight = new Semaphore(CONCURRENCY);
+            List<Long> latencies = Collections.synchronizedList(new ArrayList<>());
+            List<Future<HttpResponse<Void>>> responses = new ArrayList<>();
+
+            long started = System.nanoTime();
+            try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+                for (int i = 0; i < REQUESTS; i++) {
+                    responses.add(executor.submit(() -> {
+                        inFlight.acquire();
+                        long t0 = System.nanoTime();
+                        try {
+                            return client.send(request, HttpResponse.BodyHandlers.discarding());
+                        } finally {
+                            latencies.add(System.nanoTime() - t0);
+                            inFlight.release();
+                        }
+                    }));
+                }
+            }
+            long elapsed = System.nanoTime() - started;
+
+            int ok = 0, rejected = 0, rejectedWithoutRetryAfter = 0, unexpected = 0;
+            for (var f : responses) {
+                HttpResponse<Void> r = f.get();
+                if (r.statusCode() == 200) ok++;
+                else if (r.statusCode() == 503) {
+                    rejected++;
+                    if (r.headers().firstValue("Retry-After").isEmpty()) rejectedWithoutRetryAfter++;
+                } else unexpected++;
+            }
+            List<Long> sorted = new ArrayList<>(latencies);
+            Collections.sort(sorted);
+            return new Result(ok, rejected, rejectedWithoutRetryAfter, unexpected, elapsed, sorted);
+        }
+    }
+
+    record Result(int ok, int rejected, int rejectedWithoutRetryAfter, int unexpected, long elapsedNanos, List<Long> latencies) {
+
+        double throughput() {
+            return ok / (elapsedNanos / 1e9);
+        }
+
+        long percentileMillis(double p) {
+            int idx = (int) Math.ceil(p * latencies.size()) - 1;
+            return latencies.get(Math.max(idx, 0)) / 1_000_000;
+        }
+
+        void log(String label) {
+            log.info("{}: ok={} 503={} other={} {} req/s p50={}ms p99={}ms max={}ms",
+                    label, ok, rejected, unexpected, String.format("%.1f", throughput()),
+                    percentileMillis(0.50), percentileMillis(0.99), percentileMillis(1.0));
+        }
+    }
+}
@@ -0,0 +1,112 @@
+// src/test/java/com/example/todo/web/TaskStreamControllerTest.java
+package com.example.todo.web;
+
+import com.example.todo.security.UserPrincipal;
+import com.example.todo.service.TaskChangeEvent;
+import com.example.todo.service.TaskChangeListener;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+class TaskStreamControllerTest {
+
+    // senders run inline: what a stream is sent is in the response as soon as onChange returns
+    TaskStreamHub hub = new TaskStreamHub(Duration.ofMinutes(5), 100, Runnable::run);
+    MockMvc mvc;
+
+    UserPrincipal principal;
+    TestingAuthenticationToken auth;
+
+    @BeforeEach
+    void setup() {
+        mvc = MockMvcBuilders.standaloneSetup(new TaskStreamController(hub)).build();
+        principal = new UserPrincipal(UUID.randomUUID(), "user@example.com", "User");
+        auth = new TestingAuthenticationToken(principal, null, "ROLE_USER");
+        auth.setAuthenticated(true);
+    }
+
+    @Test
+    @DisplayName("GET /api/tasks/stream receives the changes addressed to the caller only")
+    void stream_delivers_own_changes() throws Exception {
+        MvcResult stream = open();
+        UUID mine = UUID.randomUUID();
+
+        hub.onChange(new TaskChangeEvent(mine, TaskChangeEvent.Type.updated, 4, List.of(UUID.randomUUID(), principal.getId())));
+        hub.onChange(new TaskChangeEvent(UUID.randomUUID(), TaskChangeEvent.Type.created, 0, List.of(UUID.randomUUID())));
+
+        String body = stream.getResponse().getContentAsString();
+        assertThat(body).contains("event:updated");
+        assertThat(body).contains("\"taskId\":\"" + mine + "\"").contains("\"version\":4");
+        assertThat(body).doesNotContain("event:created");
+        assertThat(hub.subscriberCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("every stream of a change gets the same event: no builder is shared between streams")
+    void each_stream_gets_its_own_event() throws Exception {
+        MvcResult first = open();
+        MvcResult second = open();
+
+        hub.onChange(new TaskChangeEvent(UUID.randomUUID(), TaskChangeEvent.Type.updated, 1, List.of(principal.getId())));
+        hub.heartbeat();
+
+        String body = first.getResponse().getContentAsString();
+        assertThat(body).isEqualTo(second.getResponse().getContentAsString());
+        assertThat(body).doesNotContain("\n\n\n");
+    }
+
+    @Test
+    @DisplayName("listener reconnect tells every open stream to resync; heartbeat is a comment")
+    void resync_and_heartbeat() throws Exception {
+        MvcResult stream = open();
+
+        hub.onReconnected(new TaskChangeListener.Reconnected());
+        hub.heartbeat();
+
+        String body = stream.getResponse().getContentAsString();
+        assertThat(body).contains("event:" + TaskStreamHub.RESYNC_EVENT);
+        assertThat(body).contains(":heartbeat");
+    }
+
+    @Test
+    @DisplayName("a stream whose sender is stuck is dropped after max-pending events; others are unaffected")
+    void stuck_stream_overflows_and_is_closed() throws Exception {
+        List<Runnable> stuck = new ArrayList<>();
+        hub = new TaskStreamHub(Duration.ofMinutes(5), 3, stuck::add);
+        mvc = MockMvcBuilders.standaloneSetup(new TaskStreamController(hub)).build();
+        MvcResult stream = open();
+
+        for (int i = 0; i < 4; i++) {
+            // returns at once although nothing has been written to the client yet
+            hub.onChange(new TaskChangeEvent(UUID.randomUUID(), TaskChangeEvent.Type.updated, i, List.of(principal.getId())));
+        }
+
+        assertThat(stuck).hasSize(1); // one sender per stream, not one per event
+        assertThat(hub.subscriberCount()).isZero();
+        assertThat(hub.overflowCount()).isEqualTo(1);
+
+        // the sender finally runs: buffered events are dropped and the stream is completed
+        stuck.get(0).run();
+        assertThat(stream.getResponse().getContentAsString()).doesNotContain("event:updated");
+        assertThat(stream.getAsyncResult()).isNull();
+    }
+
+    private MvcResult open() throws Exception {
+        return mvc.perform(get("/api/tasks/stream").principal(auth))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+    }
+}